@@ -0,0 +1,21 @@
+package model;
+
+// Represents the objective of coming to campus on as few days as possible:
+// the cost is the number of days that have at least one block
+public class CampusDaysObjective implements ScheduleObjective {
+
+    @Override
+    public double cost(int[] blocks, int count, int credits) {
+        int days = 0;
+        for (int i = 0; i < count; i++) {
+            days |= 1 << TimeBlock.dayIndexOfPacked(blocks[i]);
+        }
+        return Integer.bitCount(days);
+    }
+
+    // EFFECTS: returns the cost so far, since more blocks never mean fewer days
+    @Override
+    public double lowerBound(int[] blocks, int count, int credits) {
+        return cost(blocks, count, credits);
+    }
+}
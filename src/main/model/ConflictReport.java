@@ -0,0 +1,72 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+// Represents the outcome of adding a batch of courses to a TimeTable: the courses that were
+// accepted, the courses that were rejected (in batch order), the rejected courses whose code was
+// already taken, and every pair of courses whose time blocks collide.
+public class ConflictReport {
+    private final List<Course> accepted;
+    private final List<Course> rejected;
+    private final List<Course> duplicates;
+    private final List<Collision> collisions;
+
+    // EFFECTS: creates a report with the given (read-only) lists
+    public ConflictReport(List<Course> accepted, List<Course> rejected, List<Course> duplicates,
+                          List<Collision> collisions) {
+        this.accepted = Collections.unmodifiableList(accepted);
+        this.rejected = Collections.unmodifiableList(rejected);
+        this.duplicates = Collections.unmodifiableList(duplicates);
+        this.collisions = Collections.unmodifiableList(collisions);
+    }
+
+    // EFFECTS: returns true if every course of the batch was accepted
+    public boolean isClean() {
+        return rejected.isEmpty();
+    }
+
+    // getter
+    public List<Course> getAccepted() {
+        return accepted;
+    }
+
+    public List<Course> getRejected() {
+        return rejected;
+    }
+
+    public List<Course> getDuplicates() {
+        return duplicates;
+    }
+
+    public List<Collision> getCollisions() {
+        return collisions;
+    }
+
+    // Represents two courses with overlapping time blocks; first was in the timetable already or
+    // comes earlier in the batch than second
+    public static class Collision {
+        private final Course first;
+        private final Course second;
+
+        // EFFECTS: creates a collision between first and second
+        public Collision(Course first, Course second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        // getter
+        public Course getFirst() {
+            return first;
+        }
+
+        public Course getSecond() {
+            return second;
+        }
+
+        @Override
+        public String toString() {
+            return first.getCourseCode() + " / " + second.getCourseCode();
+        }
+    }
+}
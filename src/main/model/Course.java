@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.json.JSONArray;
@@ -21,6 +22,8 @@ public class Course implements Writable {
     private TimeBlock discussionTime;
     // private List<TimeBlock> allTimes;
 
+    private TimeTable owner;
+
     // EFFECTS: Creates a Course with the given courseCode.
     // Initializes an empty list for lecture times.
     // Lab and Discussion times are set to empty
@@ -39,55 +42,183 @@ public class Course implements Writable {
     // EFFECTS: add a new lecture timeblock to the list of 'lectureTimes'
     // (since a course can have more than one lectures)
     public void addLectureTime(TimeBlock timeBlock) {
+        recordLecture(lectureTimes.size(), null, timeBlock);
+        beforeTimeChange();
         lectureTimes.add(timeBlock);
+        afterTimeChange();
+    }
+
+    // REQUIRES: 0 <= index < getLectureTimes().size()
+    // MODIFIES: this
+    // EFFECTS: replace the lecture time block at the given index
+    public void setLectureTime(int index, TimeBlock timeBlock) {
+        recordLecture(index, lectureTimes.get(index), timeBlock);
+        beforeTimeChange();
+        lectureTimes.set(index, timeBlock);
+        afterTimeChange();
+    }
+
+    // REQUIRES: 0 <= index <= getLectureTimes().size()
+    // MODIFIES: this
+    // EFFECTS: insert a lecture time block at the given index
+    void insertLectureTime(int index, TimeBlock timeBlock) {
+        recordLecture(index, null, timeBlock);
+        beforeTimeChange();
+        lectureTimes.add(index, timeBlock);
+        afterTimeChange();
+    }
+
+    // REQUIRES: 0 <= index < getLectureTimes().size()
+    // MODIFIES: this
+    // EFFECTS: remove the lecture time block at the given index
+    void removeLectureTimeAt(int index) {
+        recordLecture(index, lectureTimes.get(index), null);
+        beforeTimeChange();
+        lectureTimes.remove(index);
+        afterTimeChange();
     }
 
     public void setLabTime(TimeBlock timeBlock) {
+        recordField(UndoHistory.Field.LAB, labTime, timeBlock);
+        beforeTimeChange();
         this.labTime = timeBlock;
+        afterTimeChange();
     }
 
     public void setDiscussionTime(TimeBlock timeBlock) {
+        recordField(UndoHistory.Field.DISCUSSION, discussionTime, timeBlock);
+        beforeTimeChange();
         this.discussionTime = timeBlock;
+        afterTimeChange();
     }
 
     // REQUIRES: timeBlock must not be null.
     // MODIFIES: this
     // EFFECTS: remove a specific time block from 'lectureTimes'
     public void removeLectureTime(TimeBlock timeBlock) {
-        lectureTimes.remove(timeBlock);
+        int index = lectureTimes.indexOf(timeBlock);
+        if (index >= 0) {
+            removeLectureTimeAt(index);
+        }
     }
 
     // MODIFIES: this
     // EFFECTS: remove a specific time of LAB
     public void removeLab() {
-        this.labTime = null;
+        setLabTime(null);
     }
 
     // MODIFIES: this
     // EFFECTS: remove a specific time of DISCUSSION
     public void removeDiscussion() {
-        this.discussionTime = null;
+        setDiscussionTime(null);
     }
 
     // MODIFIES: this
     // EFFECTS: remove whole course
     public void removeCourse() {
+        if (owner != null) {
+            owner.recordEdit(clearingEdit());
+        }
+        beforeTimeChange();
         lectureTimes.clear();
         labTime = null;
         discussionTime = null;
+        afterTimeChange();
+    }
+
+    // EFFECTS: returns a new course with the same code, details and time blocks as this one,
+    // not in any timetable
+    public Course copy() {
+        Course copy = new Course(courseCode);
+        copy.instructor = instructor;
+        copy.credits = credits;
+        copy.location = location;
+        copy.lectureTimes.addAll(lectureTimes);
+        copy.labTime = labTime;
+        copy.discussionTime = discussionTime;
+        return copy;
+    }
+
+    // EFFECTS: returns the undo entry for clearing every time block of this course: the lectures
+    // removed from the last one down, then the lab and the discussion
+    private UndoHistory.Edit clearingEdit() {
+        List<UndoHistory.Edit> parts = new ArrayList<>(lectureTimes.size() + 2);
+        for (int i = lectureTimes.size() - 1; i >= 0; i--) {
+            parts.add(new UndoHistory.LectureEdit(this, i, lectureTimes.get(i), null));
+        }
+        parts.add(new UndoHistory.FieldEdit(this, UndoHistory.Field.LAB, labTime, null));
+        parts.add(new UndoHistory.FieldEdit(this, UndoHistory.Field.DISCUSSION, discussionTime, null));
+        return new UndoHistory.CompoundEdit(parts);
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: records in the owning timetable's history, if any, that the lecture slot at index
+    // goes from oldBlock to newBlock (null meaning the slot is added or removed)
+    private void recordLecture(int index, TimeBlock oldBlock, TimeBlock newBlock) {
+        if (owner != null && UndoHistory.changes(oldBlock, newBlock)) {
+            owner.recordEdit(new UndoHistory.LectureEdit(this, index, oldBlock, newBlock));
+        }
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: records in the owning timetable's history, if any, that field goes from oldValue
+    // to newValue
+    private void recordField(UndoHistory.Field field, Object oldValue, Object newValue) {
+        if (owner != null && UndoHistory.changes(oldValue, newValue)) {
+            owner.recordEdit(new UndoHistory.FieldEdit(this, field, oldValue, newValue));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the timetable this course has been added to (null once removed),
+    //          so that the timetable's index follows later changes to the time blocks
+    void setOwner(TimeTable owner) {
+        this.owner = owner;
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: takes this course's current time blocks out of the owning timetable's index
+    private void beforeTimeChange() {
+        if (owner != null) {
+            owner.unindexCourse(this);
+        }
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: puts this course's updated time blocks back into the owning timetable's index
+    //          and tells the timetable that this course changed
+    private void afterTimeChange() {
+        if (owner != null) {
+            owner.indexCourse(this);
+            owner.courseChanged(this);
+        }
+    }
+
+    // EFFECTS: tells the owning timetable, if any, that a detail of this course changed
+    private void afterDetailChange() {
+        if (owner != null) {
+            owner.courseChanged(this);
+        }
     }
 
     // setter
     public void setInstructor(String instructor) {
+        recordField(UndoHistory.Field.INSTRUCTOR, this.instructor, instructor);
         this.instructor = instructor;
+        afterDetailChange();
     }
 
     public void setCredits(int credits) {
+        recordField(UndoHistory.Field.CREDITS, this.credits, credits);
         this.credits = credits;
+        afterDetailChange();
     }
 
     public void setLocation(String location) {
+        recordField(UndoHistory.Field.LOCATION, this.location, location);
         this.location = location;
+        afterDetailChange();
     }
 
     // getter
@@ -96,7 +227,7 @@ public class Course implements Writable {
     }
 
     public List<TimeBlock> getLectureTimes() {
-        return lectureTimes;
+        return Collections.unmodifiableList(lectureTimes);
     }
 
     public TimeBlock getLabTime() {
@@ -144,6 +275,9 @@ public class Course implements Writable {
         }
 
         json.put("courseCode", courseCode);
+        json.put("instructor", instructor);
+        json.put("credits", credits);
+        json.put("location", location);
         json.put("lectureTimes", lecturesArray);
         if (labTime != null) {
             json.put("labTime", labTime.toJson());
@@ -0,0 +1,109 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Represents a course on a student's wish list together with every section it is offered in:
+// the lecture sections (each a group of lecture time blocks taken together), the lab options and
+// the discussion options. A course with no lab or discussion options has no lab or discussion.
+public class CourseOptions {
+    private final String courseCode;
+    private String instructor;
+    private int credits;
+    private String location;
+    private final List<List<TimeBlock>> lectureSections;
+    private final List<TimeBlock> labOptions;
+    private final List<TimeBlock> discussionOptions;
+
+    // EFFECTS: creates options for the course with the given code, with no sections yet;
+    // instructor, credits, and location are set to default values (empty or 0)
+    public CourseOptions(String courseCode) {
+        this.courseCode = courseCode;
+        this.instructor = "";
+        this.credits = 0;
+        this.location = "";
+        this.lectureSections = new ArrayList<>();
+        this.labOptions = new ArrayList<>();
+        this.discussionOptions = new ArrayList<>();
+    }
+
+    // REQUIRES: lectureTimes is not empty
+    // MODIFIES: this
+    // EFFECTS: adds a lecture section made up of the given lecture time blocks
+    public void addLectureSection(List<TimeBlock> lectureTimes) {
+        lectureSections.add(Collections.unmodifiableList(new ArrayList<>(lectureTimes)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a lab the student could take
+    public void addLabOption(TimeBlock timeBlock) {
+        labOptions.add(timeBlock);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a discussion the student could take
+    public void addDiscussionOption(TimeBlock timeBlock) {
+        discussionOptions.add(timeBlock);
+    }
+
+    public void setInstructor(String instructor) {
+        this.instructor = instructor;
+    }
+
+    public void setCredits(int credits) {
+        this.credits = credits;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    // EFFECTS: returns the course taken in the given lecture section with the given lab and
+    // discussion options (-1 for none)
+    public Course toCourse(int section, int lab, int discussion) {
+        Course course = new Course(courseCode);
+        course.setInstructor(instructor);
+        course.setCredits(credits);
+        course.setLocation(location);
+        for (TimeBlock t : lectureSections.get(section)) {
+            course.addLectureTime(t);
+        }
+        if (lab >= 0) {
+            course.setLabTime(labOptions.get(lab));
+        }
+        if (discussion >= 0) {
+            course.setDiscussionTime(discussionOptions.get(discussion));
+        }
+        return course;
+    }
+
+    // getter
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public String getInstructor() {
+        return instructor;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public List<List<TimeBlock>> getLectureSections() {
+        return Collections.unmodifiableList(lectureSections);
+    }
+
+    public List<TimeBlock> getLabOptions() {
+        return Collections.unmodifiableList(labOptions);
+    }
+
+    public List<TimeBlock> getDiscussionOptions() {
+        return Collections.unmodifiableList(discussionOptions);
+    }
+}
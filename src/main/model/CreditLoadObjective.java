@@ -0,0 +1,23 @@
+package model;
+
+// Represents the objective of taking a target number of credits:
+// the cost is how far the total credits of the timetable are from the target
+public class CreditLoadObjective implements ScheduleObjective {
+    private final int targetCredits;
+
+    // EFFECTS: creates the objective with the given target
+    public CreditLoadObjective(int targetCredits) {
+        this.targetCredits = targetCredits;
+    }
+
+    @Override
+    public double cost(int[] blocks, int count, int credits) {
+        return Math.abs(credits - targetCredits);
+    }
+
+    // EFFECTS: returns how far credits already exceed the target, since adding courses only adds credits
+    @Override
+    public double lowerBound(int[] blocks, int count, int credits) {
+        return Math.max(0, credits - targetCredits);
+    }
+}
@@ -0,0 +1,175 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents the time blocks scheduled on a single day, kept in parallel arrays sorted by start time.
+// Alongside each end time it stores the running maximum end time, which lets an overlap query find
+// a conflicting block with two binary searches instead of scanning every course in the timetable.
+class DayIntervalIndex {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int size;
+    private int[] starts;
+    private int[] ends;
+    private int[] maxEnds;
+    private Course[] owners;
+
+    // EFFECTS: creates an empty index
+    DayIntervalIndex() {
+        starts = new int[INITIAL_CAPACITY];
+        ends = new int[INITIAL_CAPACITY];
+        maxEnds = new int[INITIAL_CAPACITY];
+        owners = new Course[INITIAL_CAPACITY];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts the block [start, end) owned by the given course, keeping the arrays sorted by start
+    void add(int start, int end, Course owner) {
+        ensureCapacity(size + 1);
+        int pos = firstStartAtOrAfter(start + 1);
+        System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+        System.arraycopy(ends, pos, ends, pos + 1, size - pos);
+        System.arraycopy(owners, pos, owners, pos + 1, size - pos);
+        starts[pos] = start;
+        ends[pos] = end;
+        owners[pos] = owner;
+        size++;
+        refreshMaxEnds(pos);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the block [start, end) owned by the given course without keeping the arrays
+    //          sorted; sort must be called before the index is queried or changed again
+    void append(int start, int end, Course owner) {
+        ensureCapacity(size + 1);
+        starts[size] = start;
+        ends[size] = end;
+        owners[size] = owner;
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: restores the order by start time after a series of appends (blocks with equal starts
+    //          keep their relative order) and recomputes the running maximum ends
+    void sort() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) starts[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] sortedStarts = new int[starts.length];
+        int[] sortedEnds = new int[ends.length];
+        Course[] sortedOwners = new Course[owners.length];
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            sortedStarts[i] = starts[from];
+            sortedEnds[i] = ends[from];
+            sortedOwners[i] = owners[from];
+        }
+        starts = sortedStarts;
+        ends = sortedEnds;
+        owners = sortedOwners;
+        refreshMaxEnds(0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the block [start, end) owned by the given course, if present
+    void remove(int start, int end, Course owner) {
+        for (int i = firstStartAtOrAfter(start); i < size && starts[i] == start; i++) {
+            if (ends[i] == end && owners[i] == owner) {
+                System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+                System.arraycopy(ends, i + 1, ends, i, size - i - 1);
+                System.arraycopy(owners, i + 1, owners, i, size - i - 1);
+                size--;
+                owners[size] = null;
+                refreshMaxEnds(i);
+                return;
+            }
+        }
+    }
+
+    // EFFECTS: returns the course owning a block that overlaps [start, end), or null if there is none
+    Course findOverlap(int start, int end) {
+        int limit = firstStartAtOrAfter(end);
+        if (limit == 0 || maxEnds[limit - 1] <= start) {
+            return null;
+        }
+        return owners[firstMaxEndAfter(start)];
+    }
+
+    // EFFECTS: returns a course other than ignored owning a block that overlaps [start, end), or null
+    //          if there is none; only the blocks starting before end whose running maximum end is
+    //          after start are looked at
+    Course findOverlapExcept(int start, int end, Course ignored) {
+        int limit = firstStartAtOrAfter(end);
+        if (limit == 0 || maxEnds[limit - 1] <= start) {
+            return null;
+        }
+        for (int i = firstMaxEndAfter(start); i < limit; i++) {
+            if (ends[i] > start && owners[i] != ignored) {
+                return owners[i];
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the number of blocks in this index
+    int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the index of the first block whose start is >= time (size if there is none)
+    private int firstStartAtOrAfter(int time) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // REQUIRES: maxEnds[size - 1] > time
+    // EFFECTS: returns the index of the first block whose running maximum end is > time;
+    //          that block's own end is the running maximum, so it ends after time
+    private int firstMaxEndAfter(int time) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes the running maximum end from position pos onwards
+    private void refreshMaxEnds(int pos) {
+        int max = (pos == 0) ? Integer.MIN_VALUE : maxEnds[pos - 1];
+        for (int i = pos; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the backing arrays so that they can hold at least capacity blocks
+    private void ensureCapacity(int capacity) {
+        if (capacity <= starts.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, starts.length * 2);
+        starts = Arrays.copyOf(starts, newLength);
+        ends = Arrays.copyOf(ends, newLength);
+        maxEnds = Arrays.copyOf(maxEnds, newLength);
+        owners = Arrays.copyOf(owners, newLength);
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import java.time.LocalTime;
+
+// Represents the objective of not having classes early in the day:
+// the cost is the total number of minutes of class before a cutoff time (9:00 by default)
+public class EarlyClassObjective implements ScheduleObjective {
+    private final int cutoffMinute;
+
+    // EFFECTS: creates the objective with a 9:00 cutoff
+    public EarlyClassObjective() {
+        this(LocalTime.of(9, 0));
+    }
+
+    // EFFECTS: creates the objective with the given cutoff
+    public EarlyClassObjective(LocalTime cutoff) {
+        this.cutoffMinute = cutoff.getHour() * 60 + cutoff.getMinute();
+    }
+
+    @Override
+    public double cost(int[] blocks, int count, int credits) {
+        int minutes = 0;
+        for (int i = 0; i < count; i++) {
+            int dayStart = TimeBlock.dayIndexOfPacked(blocks[i]) * TimeBlock.MINUTES_PER_DAY;
+            int start = (blocks[i] >>> 16) - dayStart;
+            int end = (blocks[i] & 0xFFFF) - dayStart;
+            minutes += Math.max(0, Math.min(end, cutoffMinute) - start);
+        }
+        return minutes;
+    }
+
+    // EFFECTS: returns the cost so far, since more blocks never mean fewer early minutes
+    @Override
+    public double lowerBound(int[] blocks, int count, int credits) {
+        return cost(blocks, count, credits);
+    }
+}
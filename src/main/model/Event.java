@@ -1,6 +1,6 @@
 package model;
 
-import java.util.Calendar;
+import java.time.Instant;
 import java.util.Date;
 
 /**
@@ -8,39 +8,100 @@ import java.util.Date;
  * CITATION: This class is based on the Event class from the Alarm System
  * project
  * provided in the CPSC 210 course.
+ *
+ * An event records its time as a single long (nanoseconds since the epoch,
+ * taken from a monotonic clock anchored to the wall clock when the class is
+ * loaded) together with its type and subject, e.g. COURSE_ADDED and a course
+ * code. The Date and the description text are only built when asked for.
  */
 public class Event {
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
-    private String description;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long BASE_EPOCH_NANOS = epochNanos(Instant.now());
+    private static final long BASE_NANO_TIME = System.nanoTime();
+
+    private final long epochNanos;
+    private final EventType type;
+    private final String subject;
 
     /**
      * Creates an event with the given description
      * and the current date/time stamp.
-     * 
+     *
      * @param description a description of the event
      */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
-        this.description = description;
+        this(EventType.MESSAGE, description);
+    }
+
+    /**
+     * Creates an event of the given type about the given subject
+     * and the current date/time stamp.
+     *
+     * @param type    the kind of event
+     * @param subject what the event is about (e.g. a course code), or
+     *                "" if the type needs none
+     */
+    public Event(EventType type, String subject) {
+        this.epochNanos = BASE_EPOCH_NANOS + (System.nanoTime() - BASE_NANO_TIME);
+        this.type = type;
+        this.subject = subject;
     }
 
     /**
      * Gets the date of this event (includes time).
-     * 
+     *
      * @return the date of the event
      */
     public Date getDate() {
-        return dateLogged;
+        return new Date(getEpochMillis());
+    }
+
+    /**
+     * Gets the time of this event with nanosecond resolution.
+     *
+     * @return the instant of the event
+     */
+    public Instant getInstant() {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    /**
+     * Gets the time of this event in nanoseconds since the epoch.
+     *
+     * @return the timestamp of the event
+     */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    /**
+     * Gets the kind of this event.
+     *
+     * @return the type of the event
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets what this event is about, e.g. a course code.
+     *
+     * @return the subject of the event
+     */
+    public String getSubject() {
+        return subject;
     }
 
     /**
      * Gets the description of this event.
-     * 
+     *
      * @return the description of the event
      */
     public String getDescription() {
-        return description;
+        return type.getPrefix().concat(subject);
     }
 
     @Override
@@ -55,17 +116,37 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.getEpochMillis() == otherEvent.getEpochMillis()
+                && this.getDescription().equals(otherEvent.getDescription()));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(getEpochMillis()) + getDescription().hashCode());
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + getDescription();
+    }
+
+    /**
+     * Gets the time of this event in milliseconds since the epoch,
+     * the resolution the date, equals and hashCode work at.
+     *
+     * @return the timestamp of the event in milliseconds
+     */
+    private long getEpochMillis() {
+        return Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+    }
+
+    /**
+     * Converts an instant to nanoseconds since the epoch.
+     *
+     * @param instant the instant to convert
+     * @return the nanoseconds since the epoch
+     */
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
     }
 }
@@ -1,67 +1,278 @@
 package model;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a log of CourseFlow events.
- * 
+ *
  * CITATION: This class is based on the Event class from the Alarm System
  * project
  * provided in the CPSC 210 course.
- * 
+ *
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ *
+ * Events are kept in a preallocated ring buffer whose capacity is a power
+ * of two; once it is full, each new event overwrites the oldest one, so
+ * memory stays flat however many events are logged. Any number of threads
+ * may log events at once without locking, and iterating over the log works
+ * on a snapshot, so it never throws ConcurrentModificationException.
+ *
+ * EventSinks can be attached to persist the log. Logging an event then only
+ * puts it on a bounded queue; a background thread drains the queue and hands
+ * the events to the sinks in batches, so the thread that logged the event
+ * never waits for disk I/O. If the queue is full the event is still kept in
+ * the in-memory log but is not passed to the sinks.
  */
 public class EventLog implements Iterable<Event> {
+    /** the number of events kept by default */
+    public static final int DEFAULT_CAPACITY = 1 << 13;
+
+    private static final int QUEUE_CAPACITY = 1 << 14;
+    private static final int MAX_BATCH = 512;
+
     /** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    private static final EventLog theLog = new EventLog();
+    private volatile Ring ring;
+
+    private final List<EventSink> sinks = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Event> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong queued = new AtomicLong();
+    private final Object drainLock = new Object();
+    private long delivered;
+    private Thread drainer;
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<Event>();
+        ring = new Ring(DEFAULT_CAPACITY);
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog.
      * (Singleton Design Pattern)
-     * 
+     *
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
-
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
-     * 
+     * Adds an event to the event log, overwriting the oldest event
+     * if the log is full.
+     *
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        ring.add(e);
+        if (!sinks.isEmpty() && pending.offer(e)) {
+            queued.incrementAndGet();
+        }
+    }
+
+    /**
+     * Attaches a sink that every event logged from now on is passed to,
+     * starting the background drain thread if it is not running yet.
+     *
+     * @param sink the sink to add
+     */
+    public synchronized void addSink(EventSink sink) {
+        sinks.add(sink);
+        if (drainer == null) {
+            drainer = new Thread(this::drain, "event-log-drain");
+            drainer.setDaemon(true);
+            drainer.start();
+        }
+    }
+
+    /**
+     * Detaches a sink. Events already queued may still be passed to it;
+     * call flush first to make sure they have been.
+     *
+     * @param sink the sink to remove
+     */
+    public void removeSink(EventSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Waits until every event queued so far has been passed to the sinks.
+     *
+     * @param timeoutMillis the longest time to wait, in milliseconds
+     * @return true if the queue was drained, false if the time ran out
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        long target = queued.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (drainLock) {
+            while (delivered < target) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                drainLock.wait(remaining);
+            }
+        }
+        return true;
     }
 
     /**
      * Clears the event log and logs the event.
      */
-    public void clear() {
-        events.clear();
-        logEvent(new Event("Event log cleared."));
+    public synchronized void clear() {
+        ring = new Ring(ring.capacity());
+        logEvent(new Event(EventType.LOG_CLEARED, ""));
+    }
+
+    /**
+     * Gets the number of events the log can hold before it starts
+     * overwriting the oldest ones.
+     *
+     * @return the capacity of the log
+     */
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    /**
+     * Changes the number of events the log can hold, keeping the most
+     * recent events that still fit. Events logged by other threads while
+     * the capacity is being changed may be dropped.
+     *
+     * @param capacity the requested capacity (at least 1); it is rounded
+     *                 up to the next power of two
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        Ring resized = new Ring(capacity);
+        for (Event e : ring.snapshot()) {
+            resized.add(e);
+        }
+        ring = resized;
+    }
+
+    /**
+     * Gets the events currently in the log, oldest first.
+     *
+     * @return a snapshot of the events that later logging does not change
+     */
+    public List<Event> snapshot() {
+        return ring.snapshot();
     }
 
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        return snapshot().iterator();
+    }
+
+    /**
+     * Body of the background drain thread: takes queued events in batches
+     * and passes each batch to every sink. A sink that fails only loses
+     * that batch; the other sinks still get it.
+     */
+    private void drain() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+            for (EventSink sink : sinks) {
+                try {
+                    sink.write(Collections.unmodifiableList(batch));
+                } catch (IOException | RuntimeException e) {
+                    // the events are still in the in-memory log
+                }
+            }
+            synchronized (drainLock) {
+                delivered += batch.size();
+                drainLock.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * A fixed-size ring of events. Each logged event claims the next
+     * sequence number and is stored, paired with that number, in the slot
+     * the number maps to; a slot only ever moves forward to a newer
+     * sequence number, so concurrent writers that wrap around onto the
+     * same slot cannot let an older event replace a newer one.
+     */
+    private static final class Ring {
+        private final AtomicReferenceArray<Entry> slots;
+        private final AtomicLong next = new AtomicLong();
+        private final int mask;
+
+        Ring(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(requestedCapacity);
+            if (capacity < requestedCapacity) {
+                capacity <<= 1;
+            }
+            slots = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        void add(Event e) {
+            long seq = next.getAndIncrement();
+            int index = (int) (seq & mask);
+            Entry entry = new Entry(seq, e);
+            Entry current = slots.get(index);
+            while (current == null || current.seq < seq) {
+                if (slots.compareAndSet(index, current, entry)) {
+                    return;
+                }
+                current = slots.get(index);
+            }
+        }
+
+        List<Event> snapshot() {
+            long end = next.get();
+            long start = Math.max(0, end - capacity());
+            List<Event> events = new ArrayList<>((int) (end - start));
+            for (long seq = start; seq < end; seq++) {
+                Entry entry = slots.get((int) (seq & mask));
+                if (entry != null && entry.seq == seq) {
+                    events.add(entry.event);
+                }
+            }
+            return Collections.unmodifiableList(events);
+        }
+    }
+
+    /**
+     * An event paired with the sequence number it was logged under.
+     */
+    private static final class Entry {
+        private final long seq;
+        private final Event event;
+
+        Entry(long seq, Event event) {
+            this.seq = seq;
+            this.event = event;
+        }
     }
 }
@@ -0,0 +1,28 @@
+package model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Represents a destination that EventLog hands logged events to, such as a file.
+ *
+ * Sinks are called on the EventLog's background drain thread, never on the
+ * thread that logged the event, with the events in the order they were logged.
+ */
+public interface EventSink {
+
+    /**
+     * Writes a batch of events.
+     *
+     * @param events the events, oldest first
+     * @throws IOException if the events cannot be written
+     */
+    void write(List<Event> events) throws IOException;
+
+    /**
+     * Releases any resources held by this sink.
+     *
+     * @throws IOException if buffered events cannot be written
+     */
+    void close() throws IOException;
+}
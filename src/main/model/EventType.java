@@ -0,0 +1,27 @@
+package model;
+
+/**
+ * Represents the kinds of CourseFlow events, each with the text that
+ * starts its human-readable description.
+ */
+public enum EventType {
+    COURSE_ADDED("Added course: "),
+    COURSE_REMOVED("Removed course: "),
+    LOG_CLEARED("Event log cleared."),
+    MESSAGE("");
+
+    private final String prefix;
+
+    EventType(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Gets the text that starts the description of events of this type.
+     *
+     * @return the description prefix
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+}
@@ -0,0 +1,24 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents the objective of keeping each day compact:
+// the cost is the total number of minutes between consecutive blocks on the same day
+public class GapObjective implements ScheduleObjective {
+
+    @Override
+    public double cost(int[] blocks, int count, int credits) {
+        int[] sorted = Arrays.copyOf(blocks, count);
+        Arrays.sort(sorted);
+        int gaps = 0;
+        for (int i = 1; i < count; i++) {
+            int previousEnd = sorted[i - 1] & 0xFFFF;
+            int start = sorted[i] >>> 16;
+            boolean sameDay = TimeBlock.dayIndexOfPacked(sorted[i - 1]) == TimeBlock.dayIndexOfPacked(sorted[i]);
+            if (sameDay && start > previousEnd) {
+                gaps += start - previousEnd;
+            }
+        }
+        return gaps;
+    }
+}
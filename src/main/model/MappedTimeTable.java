@@ -0,0 +1,191 @@
+package model;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import persistence.MappedCatalog;
+
+// Represents a TimeTable read lazily from a memory-mapped binary timetable (see MappedCatalog), so
+// opening one takes the same time however many courses it holds. Until something changes it, every
+// query is answered from the mapping: a course is decoded the first time it is asked for (and the
+// same object is handed out after that), lookups by code go through the file's hash table, and
+// conflict queries through its per-day block index.
+// The first change (adding or removing a course, editing one that was handed out, taking a
+// snapshot, or checking a course's new blocks against the others) decodes the rest and turns this
+// into an ordinary TimeTable holding the same course objects, so nothing done to the courses
+// already handed out is lost.
+public class MappedTimeTable extends TimeTable {
+    private final MappedCatalog catalog;
+    private final Map<Integer, Course> decoded;
+    private volatile boolean materialized;
+
+    private MappedTimeTable(MappedCatalog catalog) {
+        this.catalog = catalog;
+        this.decoded = new ConcurrentHashMap<>();
+    }
+
+    // EFFECTS: maps the binary timetable in source and returns it as a lazily read timetable;
+    // throws IOException if it cannot be mapped or was written without an index (files older than
+    // version 3, which BinaryReader can still read whole)
+    public static MappedTimeTable open(String source) throws IOException {
+        MappedCatalog catalog = new MappedCatalog(source);
+        catalog.open();
+        return new MappedTimeTable(catalog);
+    }
+
+    // EFFECTS: returns true until the first change has decoded every course of the mapping
+    public boolean isLazy() {
+        return !materialized;
+    }
+
+    @Override
+    public boolean addCourse(Course newCourse) {
+        materialize();
+        return super.addCourse(newCourse);
+    }
+
+    @Override
+    public ConflictReport addCourses(Collection<Course> newCourses, boolean oneUndoStep) {
+        materialize();
+        return super.addCourses(newCourses, oneUndoStep);
+    }
+
+    @Override
+    public void removeCourse(Course course) {
+        materialize();
+        super.removeCourse(course);
+    }
+
+    @Override
+    void restoreCourse(Course course, long position) {
+        materialize();
+        super.restoreCourse(course, position);
+    }
+
+    @Override
+    public TimeTableSnapshot snapshot() {
+        materialize();
+        return super.snapshot();
+    }
+
+    @Override
+    void recordEdit(UndoHistory.Edit edit) {
+        materialize();
+        super.recordEdit(edit);
+    }
+
+    @Override
+    void indexCourse(Course course) {
+        materialize();
+        super.indexCourse(course);
+    }
+
+    @Override
+    void unindexCourse(Course course) {
+        materialize();
+        super.unindexCourse(course);
+    }
+
+    @Override
+    void courseChanged(Course course) {
+        materialize();
+        super.courseChanged(course);
+    }
+
+    // EFFECTS: returns the courses in the order they were saved, each decoded when first accessed;
+    // the list is read-only
+    @Override
+    public List<Course> getAllCourses() {
+        if (materialized) {
+            return super.getAllCourses();
+        }
+        return new AbstractList<Course>() {
+            @Override
+            public Course get(int index) {
+                return course(index);
+            }
+
+            @Override
+            public int size() {
+                return catalog.size();
+            }
+        };
+    }
+
+    @Override
+    public Course getCourseByName(String courseCode) {
+        if (materialized) {
+            return super.getCourseByName(courseCode);
+        }
+        int index = catalog.indexOf(courseCode);
+        return (index < 0) ? null : course(index);
+    }
+
+    @Override
+    public Course findConflictingCourse(TimeBlock timeBlock) {
+        if (materialized || timeBlock == null) {
+            return super.findConflictingCourse(timeBlock);
+        }
+        int index = catalog.findConflictingIndex(timeBlock);
+        return (index < 0) ? null : course(index);
+    }
+
+    @Override
+    public Course findConflictingCourse(TimeBlock timeBlock, Course ignored) {
+        materialize();
+        return super.findConflictingCourse(timeBlock, ignored);
+    }
+
+    @Override
+    public boolean isFree(TimeBlock timeBlock) {
+        if (materialized || timeBlock == null) {
+            return super.isFree(timeBlock);
+        }
+        return catalog.isFree(timeBlock);
+    }
+
+    @Override
+    public JSONObject toJson() {
+        if (materialized) {
+            return super.toJson();
+        }
+        JSONArray coursesArray = new JSONArray();
+        for (Course c : getAllCourses()) {
+            coursesArray.put(c.toJson());
+        }
+        return new JSONObject().put("courses", coursesArray);
+    }
+
+    // EFFECTS: returns the course at the given position of the mapping, decoding it (owned by this
+    // timetable, so that editing it turns this into an ordinary timetable first) the first time
+    private Course course(int index) {
+        return decoded.computeIfAbsent(index, i -> {
+            Course c = catalog.getCourse(i);
+            c.setOwner(this);
+            return c;
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: decodes every course not decoded yet and fills the indexes of this timetable with
+    // them, once; after that this behaves as an ordinary TimeTable
+    private synchronized void materialize() {
+        if (materialized) {
+            return;
+        }
+        List<Course> all = new ArrayList<>(catalog.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            all.add(course(i));
+        }
+        adopt(all);
+        materialized = true;
+    }
+}
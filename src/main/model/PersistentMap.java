@@ -0,0 +1,222 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents an immutable map from strings to values, stored as a hash array mapped trie (HAMT).
+// Every node covers 5 bits of the key's hash and holds a 32-bit bitmap of which of its 32 slots are
+// used plus a packed array of just those slots, each either a leaf or a child node. put and remove
+// return a new map that copies only the nodes on the path to the key (at most 7 of them) and shares
+// everything else with this map, so keeping many versions costs memory in proportion to the
+// differences between them.
+final class PersistentMap<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?> EMPTY = new PersistentMap<>(new Node(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    // EFFECTS: returns the empty map
+    @SuppressWarnings("unchecked")
+    static <V> PersistentMap<V> empty() {
+        return (PersistentMap<V>) EMPTY;
+    }
+
+    // EFFECTS: returns the number of keys in this map
+    int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the value of key, or null if this map has no such key
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        int hash = key.hashCode();
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Leaf) {
+                return (V) ((Leaf) slot).get(hash, key);
+            }
+            node = (Node) slot;
+        }
+    }
+
+    // REQUIRES: value is not null
+    // EFFECTS: returns a map with the same entries as this one except that key maps to value
+    PersistentMap<V> put(String key, V value) {
+        int newSize = (get(key) == null) ? size + 1 : size;
+        return new PersistentMap<>(put(root, key.hashCode(), key, value, 0), newSize);
+    }
+
+    // EFFECTS: returns a map with the same entries as this one except key; this map itself if key
+    // is not in it
+    PersistentMap<V> remove(String key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Node newRoot = remove(root, key.hashCode(), key, 0);
+        return new PersistentMap<>(newRoot == null ? new Node(0, new Object[0]) : newRoot, size - 1);
+    }
+
+    // EFFECTS: returns all values of this map, in no particular order
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<Object> values = new ArrayList<>(size);
+        collect(root, values);
+        return (List<V>) values;
+    }
+
+    // EFFECTS: returns node with key mapped to value, copying node and the nodes below it on the path
+    private static Node put(Node node, int hash, String key, Object value, int shift) {
+        int bit = 1 << ((hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            slots[index] = new Leaf(hash, key, value);
+            System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+            return new Node(node.bitmap | bit, slots);
+        }
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Node) {
+            replacement = put((Node) slot, hash, key, value, shift + BITS);
+        } else if (((Leaf) slot).hash == hash) {
+            replacement = ((Leaf) slot).with(key, value);
+        } else {
+            Leaf leaf = (Leaf) slot;
+            replacement = put(singleton(leaf, shift + BITS), hash, key, value, shift + BITS);
+        }
+        return node.withSlot(index, replacement);
+    }
+
+    // EFFECTS: returns a node at the given depth holding only leaf
+    private static Node singleton(Leaf leaf, int shift) {
+        int bit = 1 << ((leaf.hash >>> shift) & MASK);
+        return new Node(bit, new Object[] { leaf });
+    }
+
+    // EFFECTS: returns node without key, or null if that leaves it empty
+    private static Node remove(Node node, int hash, String key, int shift) {
+        int bit = 1 << ((hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object slot = node.slots[index];
+        Object replacement = (slot instanceof Node)
+                ? remove((Node) slot, hash, key, shift + BITS)
+                : ((Leaf) slot).without(key);
+        if (replacement != null) {
+            return node.withSlot(index, replacement);
+        }
+        if (node.slots.length == 1) {
+            return null;
+        }
+        Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+        return new Node(node.bitmap & ~bit, slots);
+    }
+
+    // MODIFIES: values
+    // EFFECTS: adds every value below node to values
+    private static void collect(Node node, List<Object> values) {
+        for (Object slot : node.slots) {
+            if (slot instanceof Node) {
+                collect((Node) slot, values);
+            } else {
+                values.addAll(Arrays.asList(((Leaf) slot).values));
+            }
+        }
+    }
+
+    // Represents an inner node: the used slots of its 32, in order of their 5-bit hash digit
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        // EFFECTS: returns a copy of this node with slots[index] replaced
+        Node withSlot(int index, Object slot) {
+            Object[] copy = slots.clone();
+            copy[index] = slot;
+            return new Node(bitmap, copy);
+        }
+    }
+
+    // Represents the keys that share one full hash code (almost always exactly one) and their values
+    private static final class Leaf {
+        private final int hash;
+        private final String[] keys;
+        private final Object[] values;
+
+        Leaf(int hash, String key, Object value) {
+            this(hash, new String[] { key }, new Object[] { value });
+        }
+
+        private Leaf(int hash, String[] keys, Object[] values) {
+            this.hash = hash;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        // EFFECTS: returns the value of key, or null if this leaf does not hold it
+        Object get(int hash, String key) {
+            if (hash == this.hash) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i].equals(key)) {
+                        return values[i];
+                    }
+                }
+            }
+            return null;
+        }
+
+        // REQUIRES: key.hashCode() == hash
+        // EFFECTS: returns a leaf with key mapped to value
+        Leaf with(String key, Object value) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    Object[] newValues = values.clone();
+                    newValues[i] = value;
+                    return new Leaf(hash, keys, newValues);
+                }
+            }
+            String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            Object[] newValues = Arrays.copyOf(values, values.length + 1);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            return new Leaf(hash, newKeys, newValues);
+        }
+
+        // EFFECTS: returns a leaf without key, or null if that leaves it empty
+        Leaf without(String key) {
+            if (keys.length == 1) {
+                return keys[0].equals(key) ? null : this;
+            }
+            String[] newKeys = new String[keys.length - 1];
+            Object[] newValues = new Object[values.length - 1];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (!keys[i].equals(key) && n < newKeys.length) {
+                    newKeys[n] = keys[i];
+                    newValues[n++] = values[i];
+                }
+            }
+            return new Leaf(hash, newKeys, newValues);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Represents a scheduling engine that enumerates every conflict-free timetable for a wish list
+// of courses, choosing one lecture section, lab and discussion for each course.
+// Each combination of sections of a course (a "choice") is precomputed as its packed time blocks,
+// choices that clash with themselves or with fixed commitments are dropped, and for every pair of
+// choices of different courses it is recorded whether they can be taken together. The search then
+// picks a choice per course (courses with fewest choices first) by backtracking, keeping for each
+// later course a bit set of the choices still compatible with everything picked so far; a branch is
+// abandoned as soon as one of those sets becomes empty. The top levels of the search tree are split
+// into fork/join tasks so the branches are explored on all cores.
+public class ScheduleGenerator {
+    public static final int DEFAULT_LIMIT = 10_000;
+
+    private static final int TASKS_PER_CORE = 8;
+
+    private final List<CourseOptions> wishList;
+    private final int[] order;
+    private final Choice[][] choices;
+    private final long[][][][] compatible;
+    private final int forkDepth;
+
+    // EFFECTS: creates a generator for the given wish list with no fixed commitments
+    public ScheduleGenerator(List<CourseOptions> wishList) {
+        this(wishList, new TimeTable());
+    }
+
+    // EFFECTS: creates a generator for the given wish list; sections that clash with a course
+    // already in fixed are never chosen
+    public ScheduleGenerator(List<CourseOptions> wishList, TimeTable fixed) {
+        this.wishList = new ArrayList<>(wishList);
+        Choice[][] byCourse = new Choice[wishList.size()][];
+        for (int i = 0; i < byCourse.length; i++) {
+            byCourse[i] = enumerateChoices(wishList.get(i), fixed);
+        }
+        Integer[] sorted = new Integer[byCourse.length];
+        Arrays.setAll(sorted, i -> i);
+        Arrays.sort(sorted, Comparator.comparingInt(i -> byCourse[i].length));
+        order = new int[sorted.length];
+        choices = new Choice[sorted.length][];
+        for (int d = 0; d < sorted.length; d++) {
+            order[d] = sorted[d];
+            choices[d] = byCourse[sorted[d]];
+        }
+        compatible = buildCompatibility();
+        forkDepth = chooseForkDepth();
+    }
+
+    // EFFECTS: returns up to DEFAULT_LIMIT conflict-free timetables (see generate(int))
+    public List<List<Course>> generate() {
+        return generate(DEFAULT_LIMIT);
+    }
+
+    // REQUIRES: limit > 0
+    // EFFECTS: returns conflict-free timetables, each a list with one Course per wish-list entry in
+    // wish-list order. If there are more than limit of them, limit are returned (which ones is not
+    // specified); otherwise all of them are returned, in the same order on every call.
+    public List<List<Course>> generate(int limit) {
+        if (wishList.isEmpty()) {
+            return List.of(List.of());
+        }
+        AtomicInteger found = new AtomicInteger();
+        List<int[]> picks = ForkJoinPool.commonPool().invoke(
+                new SearchTask(0, new int[choices.length], initialAllowed(), found, limit));
+        List<List<Course>> schedules = new ArrayList<>(Math.min(limit, picks.size()));
+        for (int i = 0; i < picks.size() && i < limit; i++) {
+            schedules.add(materialize(picks.get(i)));
+        }
+        return schedules;
+    }
+
+    // EFFECTS: returns the number of courses on the wish list
+    int courseCount() {
+        return choices.length;
+    }
+
+    // EFFECTS: returns the choices of the course searched at the given depth
+    Choice[] choicesAt(int depth) {
+        return choices[depth];
+    }
+
+    // EFFECTS: returns the credits of the course searched at the given depth
+    int creditsAt(int depth) {
+        return wishList.get(order[depth]).getCredits();
+    }
+
+    // EFFECTS: returns, for each depth, the bit set of all choices of that course
+    long[][] initialAllowed() {
+        long[][] allowed = new long[choices.length][];
+        for (int d = 0; d < choices.length; d++) {
+            allowed[d] = new long[words(choices[d].length)];
+            for (int a = 0; a < choices[d].length; a++) {
+                allowed[d][a >>> 6] |= 1L << a;
+            }
+        }
+        return allowed;
+    }
+
+    // EFFECTS: returns allowed narrowed to the choices compatible with choice a at depth, or null if
+    // that leaves some later course with no choice; entries up to depth are shared with allowed
+    long[][] narrow(int depth, int a, long[][] allowed) {
+        long[][] next = allowed.clone();
+        for (int j = depth + 1; j < choices.length; j++) {
+            long[] mask = compatible[depth][a][j];
+            long[] narrowed = new long[mask.length];
+            boolean any = false;
+            for (int w = 0; w < mask.length; w++) {
+                narrowed[w] = allowed[j][w] & mask[w];
+                any |= narrowed[w] != 0;
+            }
+            if (!any) {
+                return null;
+            }
+            next[j] = narrowed;
+        }
+        return next;
+    }
+
+    // EFFECTS: returns the timetable given by one choice index per depth, in wish-list order
+    List<Course> materialize(int[] picks) {
+        Course[] courses = new Course[picks.length];
+        for (int d = 0; d < picks.length; d++) {
+            Choice c = choices[d][picks[d]];
+            courses[order[d]] = wishList.get(order[d]).toCourse(c.section, c.lab, c.discussion);
+        }
+        return Collections.unmodifiableList(Arrays.asList(courses));
+    }
+
+    // EFFECTS: returns every combination of sections of options whose blocks neither clash with
+    // each other nor with fixed
+    private static Choice[] enumerateChoices(CourseOptions options, TimeTable fixed) {
+        List<Choice> result = new ArrayList<>();
+        int labs = Math.max(1, options.getLabOptions().size());
+        int discussions = Math.max(1, options.getDiscussionOptions().size());
+        for (int s = 0; s < options.getLectureSections().size(); s++) {
+            for (int l = 0; l < labs; l++) {
+                for (int d = 0; d < discussions; d++) {
+                    Choice c = Choice.of(options, s, options.getLabOptions().isEmpty() ? -1 : l,
+                            options.getDiscussionOptions().isEmpty() ? -1 : d);
+                    if (c.isSelfConsistent() && c.isFreeIn(fixed)) {
+                        result.add(c);
+                    }
+                }
+            }
+        }
+        return result.toArray(new Choice[0]);
+    }
+
+    // EFFECTS: returns compatible[i][a][j], the bit set of choices of depth j > i that do not clash
+    // with choice a of depth i
+    private long[][][][] buildCompatibility() {
+        long[][][][] result = new long[choices.length][][][];
+        for (int i = 0; i < choices.length; i++) {
+            result[i] = new long[choices[i].length][choices.length][];
+            for (int a = 0; a < choices[i].length; a++) {
+                for (int j = i + 1; j < choices.length; j++) {
+                    long[] mask = new long[words(choices[j].length)];
+                    for (int b = 0; b < choices[j].length; b++) {
+                        if (!choices[i][a].conflictsWith(choices[j][b])) {
+                            mask[b >>> 6] |= 1L << b;
+                        }
+                    }
+                    result[i][a][j] = mask;
+                }
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the number of levels of the search tree to split into separate tasks: enough
+    // that there are several tasks per core, but never the last level
+    private int chooseForkDepth() {
+        long target = (long) TASKS_PER_CORE * ForkJoinPool.getCommonPoolParallelism();
+        long tasks = 1;
+        int depth = 0;
+        while (depth < choices.length - 1 && tasks < target) {
+            tasks *= Math.max(1, choices[depth].length);
+            depth++;
+        }
+        return depth;
+    }
+
+    // EFFECTS: returns the number of longs needed for a bit set of n bits
+    private static int words(int n) {
+        return Math.max(1, (n + 63) >>> 6);
+    }
+
+    // Represents one way of taking a course: a lecture section, a lab and a discussion
+    // (-1 when the course has none), with all of their blocks in packed form
+    static final class Choice {
+        final int section;
+        final int lab;
+        final int discussion;
+        final int[] blocks;
+
+        private Choice(int section, int lab, int discussion, int[] blocks) {
+            this.section = section;
+            this.lab = lab;
+            this.discussion = discussion;
+            this.blocks = blocks;
+        }
+
+        // EFFECTS: returns the choice of the given section, lab and discussion of options
+        static Choice of(CourseOptions options, int section, int lab, int discussion) {
+            List<TimeBlock> lectures = options.getLectureSections().get(section);
+            int[] blocks = new int[lectures.size() + (lab >= 0 ? 1 : 0) + (discussion >= 0 ? 1 : 0)];
+            int n = 0;
+            for (TimeBlock t : lectures) {
+                blocks[n++] = t.getPacked();
+            }
+            if (lab >= 0) {
+                blocks[n++] = options.getLabOptions().get(lab).getPacked();
+            }
+            if (discussion >= 0) {
+                blocks[n] = options.getDiscussionOptions().get(discussion).getPacked();
+            }
+            return new Choice(section, lab, discussion, blocks);
+        }
+
+        // EFFECTS: returns true if no two blocks of this choice overlap
+        boolean isSelfConsistent() {
+            for (int i = 0; i < blocks.length; i++) {
+                for (int j = i + 1; j < blocks.length; j++) {
+                    if (overlaps(blocks[i], blocks[j])) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        // EFFECTS: returns true if no block of this choice clashes with a course in timeTable
+        boolean isFreeIn(TimeTable timeTable) {
+            for (int packed : blocks) {
+                if (!timeTable.isFree(TimeBlock.fromPacked(packed))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // EFFECTS: returns true if a block of this choice overlaps a block of other
+        boolean conflictsWith(Choice other) {
+            for (int p : blocks) {
+                for (int q : other.blocks) {
+                    if (overlaps(p, q)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // EFFECTS: returns true if the two packed blocks overlap
+        private static boolean overlaps(int p, int q) {
+            return (p >>> 16) < (q & 0xFFFF) && (q >>> 16) < (p & 0xFFFF);
+        }
+    }
+
+    // Represents the search below a partial timetable: picks[0..depth) are chosen and allowed holds
+    // the choices still open for every later course. Levels above forkDepth fork one subtask per
+    // open choice; deeper levels are searched sequentially. Results are concatenated in choice order.
+    private final class SearchTask extends RecursiveTask<List<int[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int depth;
+        private final int[] picks;
+        private final long[][] allowed;
+        private final AtomicInteger found;
+        private final int limit;
+
+        SearchTask(int depth, int[] picks, long[][] allowed, AtomicInteger found, int limit) {
+            this.depth = depth;
+            this.picks = picks;
+            this.allowed = allowed;
+            this.found = found;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<int[]> compute() {
+            List<int[]> out = new ArrayList<>();
+            if (depth >= forkDepth) {
+                search(depth, picks, allowed, out);
+                return out;
+            }
+            List<SearchTask> subtasks = new ArrayList<>();
+            for (int a = nextBit(allowed[depth], 0); a >= 0; a = nextBit(allowed[depth], a + 1)) {
+                long[][] next = narrow(depth, a, allowed);
+                if (next != null) {
+                    int[] nextPicks = picks.clone();
+                    nextPicks[depth] = a;
+                    subtasks.add(new SearchTask(depth + 1, nextPicks, next, found, limit));
+                }
+            }
+            for (SearchTask t : invokeAll(subtasks)) {
+                out.addAll(t.join());
+            }
+            return out;
+        }
+
+        // MODIFIES: picks, out
+        // EFFECTS: appends to out every completion of picks[0..d) allowed by allowed, stopping once
+        // limit timetables have been found in total
+        private void search(int d, int[] picks, long[][] allowed, List<int[]> out) {
+            if (d == choices.length) {
+                out.add(picks.clone());
+                found.incrementAndGet();
+                return;
+            }
+            for (int a = nextBit(allowed[d], 0); a >= 0 && found.get() < limit; a = nextBit(allowed[d], a + 1)) {
+                long[][] next = (d == choices.length - 1) ? allowed : narrow(d, a, allowed);
+                if (next != null) {
+                    picks[d] = a;
+                    search(d + 1, picks, next, out);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns the index of the first set bit of bits at or after from, or -1 if there is none
+    static int nextBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -0,0 +1,20 @@
+package model;
+
+// Represents a way of rating a timetable, where lower costs are better and no cost is negative.
+// A timetable is described by its time blocks in packed form (see TimeBlock.getPacked), in no
+// particular order, and the total credits of its courses.
+public interface ScheduleObjective {
+
+    // REQUIRES: 0 <= count <= blocks.length
+    // EFFECTS: returns the cost (at least 0) of the timetable made of blocks[0..count) with the given credits
+    double cost(int[] blocks, int count, int credits);
+
+    // REQUIRES: 0 <= count <= blocks.length
+    // EFFECTS: returns a value no greater than the cost of any timetable that contains blocks[0..count)
+    // and possibly more blocks and credits; used to skip timetables that cannot rank well.
+    // The default, 0, holds for any objective, so an objective without a tighter bound does not
+    // stop the bounds of the others from skipping.
+    default double lowerBound(int[] blocks, int count, int credits) {
+        return 0;
+    }
+}
@@ -0,0 +1,145 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Represents an optimizer that finds the best conflict-free timetables for a wish list of courses,
+// rated by a weighted sum of ScheduleObjectives (lower is better).
+// It walks the same pruned search tree as ScheduleGenerator, but keeps only the best k timetables
+// seen so far in a bounded heap, as choice indexes rather than Course objects. Once the heap is
+// full, a branch is skipped when the objectives' lower bound for it is no better than the worst
+// timetable in the heap (branch and bound), so the full set of timetables is never built and
+// only the k winners are turned into Courses.
+public class ScheduleOptimizer {
+    private final ScheduleGenerator generator;
+    private final List<ScheduleObjective> objectives;
+    private final List<Double> weights;
+
+    private int k;
+    private PriorityQueue<Candidate> best;
+    private long sequence;
+
+    // EFFECTS: creates an optimizer for the given wish list with no fixed commitments and no objectives
+    public ScheduleOptimizer(List<CourseOptions> wishList) {
+        this(wishList, new TimeTable());
+    }
+
+    // EFFECTS: creates an optimizer for the given wish list, never choosing sections that clash with
+    // a course already in fixed; it has no objectives yet
+    public ScheduleOptimizer(List<CourseOptions> wishList, TimeTable fixed) {
+        this.generator = new ScheduleGenerator(wishList, fixed);
+        this.objectives = new ArrayList<>();
+        this.weights = new ArrayList<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds objective to the rating with the given weight;
+    // throws IllegalArgumentException if weight is negative
+    public void addObjective(ScheduleObjective objective, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Objective weight must not be negative: " + weight);
+        }
+        objectives.add(objective);
+        weights.add(weight);
+    }
+
+    // REQUIRES: k > 0
+    // EFFECTS: returns the k lowest-cost conflict-free timetables (fewer if there are not that many),
+    // best first; timetables with equal cost are in the order ScheduleGenerator would list them
+    public List<ScoredSchedule> optimize(int k) {
+        this.k = k;
+        this.best = new PriorityQueue<>(k + 1, Comparator.comparingDouble((Candidate c) -> c.cost)
+                .thenComparingLong(c -> c.sequence).reversed());
+        this.sequence = 0;
+        int n = generator.courseCount();
+        int maxBlocks = 0;
+        for (int d = 0; d < n; d++) {
+            for (ScheduleGenerator.Choice c : generator.choicesAt(d)) {
+                maxBlocks = Math.max(maxBlocks, c.blocks.length);
+            }
+        }
+        search(0, new int[n], generator.initialAllowed(), new int[maxBlocks * n], 0, 0);
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(best.comparator().reversed());
+        List<ScoredSchedule> result = new ArrayList<>(ranked.size());
+        for (Candidate c : ranked) {
+            result.add(new ScoredSchedule(generator.materialize(c.picks), c.cost));
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the weighted cost of the timetable made of blocks[0..count)
+    public double cost(int[] blocks, int count, int credits) {
+        double total = 0;
+        for (int i = 0; i < objectives.size(); i++) {
+            total += weights.get(i) * objectives.get(i).cost(blocks, count, credits);
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the weighted lower bound of every timetable containing blocks[0..count)
+    private double lowerBound(int[] blocks, int count, int credits) {
+        double total = 0;
+        for (int i = 0; i < objectives.size(); i++) {
+            if (weights.get(i) > 0) {
+                total += weights.get(i) * objectives.get(i).lowerBound(blocks, count, credits);
+            }
+        }
+        return total;
+    }
+
+    // MODIFIES: this, picks, blocks
+    // EFFECTS: offers every completion of picks[0..d) allowed by allowed to the heap, where
+    // blocks[0..count) and credits describe the courses picked so far
+    private void search(int d, int[] picks, long[][] allowed, int[] blocks, int count, int credits) {
+        if (d == picks.length) {
+            offer(picks, cost(blocks, count, credits));
+            return;
+        }
+        ScheduleGenerator.Choice[] choices = generator.choicesAt(d);
+        int nextCredits = credits + generator.creditsAt(d);
+        for (int a = ScheduleGenerator.nextBit(allowed[d], 0); a >= 0;
+                a = ScheduleGenerator.nextBit(allowed[d], a + 1)) {
+            long[][] next = (d == picks.length - 1) ? allowed : generator.narrow(d, a, allowed);
+            int[] chosen = choices[a].blocks;
+            System.arraycopy(chosen, 0, blocks, count, chosen.length);
+            if (next != null && !canSkip(blocks, count + chosen.length, nextCredits)) {
+                picks[d] = a;
+                search(d + 1, picks, next, blocks, count + chosen.length, nextCredits);
+            }
+        }
+    }
+
+    // EFFECTS: returns true if no timetable containing blocks[0..count) can enter the heap
+    private boolean canSkip(int[] blocks, int count, int credits) {
+        return best.size() == k && lowerBound(blocks, count, credits) >= best.peek().cost;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the timetable given by picks to the heap, dropping the worst one if it holds
+    // more than k
+    private void offer(int[] picks, double cost) {
+        if (best.size() == k && cost >= best.peek().cost) {
+            return;
+        }
+        best.add(new Candidate(picks.clone(), cost, sequence++));
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+
+    // Represents a timetable in the heap as one choice index per search depth
+    private static final class Candidate {
+        private final int[] picks;
+        private final double cost;
+        private final long sequence;
+
+        Candidate(int[] picks, double cost, long sequence) {
+            this.picks = picks;
+            this.cost = cost;
+            this.sequence = sequence;
+        }
+    }
+}
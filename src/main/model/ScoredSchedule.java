@@ -0,0 +1,24 @@
+package model;
+
+import java.util.List;
+
+// Represents a timetable found by ScheduleOptimizer together with its cost (lower is better)
+public class ScoredSchedule {
+    private final List<Course> courses;
+    private final double cost;
+
+    // EFFECTS: creates a scored timetable of the given courses
+    public ScoredSchedule(List<Course> courses, double cost) {
+        this.courses = courses;
+        this.cost = cost;
+    }
+
+    // getter
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+}
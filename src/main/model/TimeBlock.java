@@ -1,43 +1,121 @@
 package model;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 
 import org.json.JSONObject;
 
 import persistence.Writable;
 
 // Represents a specific time block in the schedule, including day and time range.
+// The day and times are stored packed into a single int as two minute-of-week values
+// (start in the high 16 bits, end in the low 16 bits), so overlap checks are plain integer
+// comparisons and LocalTime objects are only produced when a getter asks for them.
 public class TimeBlock implements Writable {
-    private String day;
-    private LocalTime startTime;
-    private LocalTime endTime;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int MINUTES_PER_DAY = 24 * 60;
 
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+    private static final String[] TITLE_CASE_DAYS = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+    private static final LocalTime[] MINUTE_TIMES = new LocalTime[MINUTES_PER_DAY];
+
+    static {
+        for (int i = 0; i < MINUTES_PER_DAY; i++) {
+            MINUTE_TIMES[i] = LocalTime.of(i / 60, i % 60);
+        }
+    }
+
+    private final String day;
+    private final int packed;
+
+    // REQUIRES: day names a day of the week (full name or three-letter abbreviation, any case)
     // EFFECTS: Creates a TimeBlock with given day of the week, startTime, and
-    // endTime
+    // endTime; seconds are dropped. Throws IllegalArgumentException if day is not a day of the week.
     public TimeBlock(String day, LocalTime startTime, LocalTime endTime) {
+        int dayIndex = dayIndexOf(day);
+        if (dayIndex < 0) {
+            throw new IllegalArgumentException("Unknown day: " + day);
+        }
+        this.day = canonicalLabel(day, dayIndex);
+        this.packed = pack(dayIndex, minuteOf(startTime), minuteOf(endTime));
+    }
+
+    // REQUIRES: packed was produced by pack or getPacked, and day names the day stored in it
+    // EFFECTS: Creates a TimeBlock from its day label and packed form
+    private TimeBlock(String day, int packed) {
         this.day = day;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this.packed = packed;
+    }
+
+    // REQUIRES: packed was produced by pack or getPacked
+    // EFFECTS: returns the TimeBlock described by the packed value, labelled with the upper-case day name
+    public static TimeBlock fromPacked(int packed) {
+        return new TimeBlock(DAYS[dayIndexOfPacked(packed)].name(), packed);
+    }
+
+    // EFFECTS: returns the TimeBlock described by the packed value, labelled with the given day name.
+    // Throws IllegalArgumentException if day does not name the day stored in packed, or if the
+    // block does not start and end within that day with its start no later than its end (e.g. a
+    // packed value read from a corrupt file).
+    public static TimeBlock fromPacked(String day, int packed) {
+        int dayIndex = dayIndexOfPacked(packed);
+        if (dayIndexOf(day) != dayIndex) {
+            throw new IllegalArgumentException("Day " + day + " does not match packed time block");
+        }
+        int dayStart = dayIndex * MINUTES_PER_DAY;
+        int start = packed >>> 16;
+        int end = packed & 0xFFFF;
+        if (start > end || end > dayStart + MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Packed time block " + packed + " is out of range");
+        }
+        return new TimeBlock(canonicalLabel(day, dayIndex), packed);
+    }
+
+    // REQUIRES: 0 <= dayIndex < DAYS_PER_WEEK, 0 <= startMinute, endMinute <= MINUTES_PER_DAY
+    // EFFECTS: returns the packed form of a block on the given day (0 = Monday) between the given
+    //          minutes of the day
+    public static int pack(int dayIndex, int startMinute, int endMinute) {
+        int dayOffset = dayIndex * MINUTES_PER_DAY;
+        return ((dayOffset + startMinute) << 16) | (dayOffset + endMinute);
+    }
+
+    // EFFECTS: returns the day index (0 = Monday ... 6 = Sunday) stored in a packed value
+    public static int dayIndexOfPacked(int packed) {
+        return (packed >>> 16) / MINUTES_PER_DAY;
+    }
+
+    // EFFECTS: returns the day index (0 = Monday ... 6 = Sunday) named by day,
+    //          or -1 if day is not a day of the week
+    public static int dayIndexOf(String day) {
+        if (day == null) {
+            return -1;
+        }
+        for (int i = 0; i < DAYS.length; i++) {
+            String name = DAYS[i].name();
+            if (name.equalsIgnoreCase(day) || (day.length() == 3 && name.regionMatches(true, 0, day, 0, 3))) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     // EFFECTS: Checks if this TimeBlock overlaps with another TimeBlock
     public boolean isConflictsWith(TimeBlock timeBlock) {
-        if (!this.day.equals(timeBlock.day)) {
-            return false;
-        } else if (this.startTime.isBefore(timeBlock.endTime) && this.endTime.isAfter(timeBlock.startTime)) {
-            return true;
-        } else {
-            return false;
-        }
+        return getWeekStart() < timeBlock.getWeekEnd() && getWeekEnd() > timeBlock.getWeekStart();
     }
 
     // EFFECTS: Returns a formatted string representation of the TimeBlock.
     // e.g., Monday 09:00-10:30
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-        return day + " " + startTime.format(formatter) + "-" + endTime.format(formatter);
+        StringBuilder sb = new StringBuilder(day.length() + 12);
+        sb.append(day).append(' ');
+        appendTime(sb, getStartMinute());
+        sb.append('-');
+        appendTime(sb, getEndMinute());
+        return sb.toString();
     }
 
     // getter
@@ -46,19 +124,72 @@ public class TimeBlock implements Writable {
     }
 
     public LocalTime getStartTime() {
-        return this.startTime;
+        return MINUTE_TIMES[getStartMinute()];
     }
 
     public LocalTime getEndTime() {
-        return this.endTime;
+        return MINUTE_TIMES[getEndMinute() % MINUTES_PER_DAY];
+    }
+
+    public int getPacked() {
+        return packed;
+    }
+
+    public int getDayIndex() {
+        return dayIndexOfPacked(packed);
+    }
+
+    // EFFECTS: returns the start of this block in minutes since Monday 00:00
+    public int getWeekStart() {
+        return packed >>> 16;
+    }
+
+    // EFFECTS: returns the end of this block in minutes since Monday 00:00
+    public int getWeekEnd() {
+        return packed & 0xFFFF;
+    }
+
+    // EFFECTS: returns the start of this block in minutes since midnight
+    public int getStartMinute() {
+        return getWeekStart() - getDayIndex() * MINUTES_PER_DAY;
+    }
+
+    // EFFECTS: returns the end of this block in minutes since midnight
+    public int getEndMinute() {
+        return getWeekEnd() - getDayIndex() * MINUTES_PER_DAY;
     }
 
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("day", day);
-        json.put("startTime", startTime.toString());
-        json.put("endTime", endTime.toString());
+        json.put("startTime", getStartTime().toString());
+        json.put("endTime", getEndTime().toString());
         return json;
     }
+
+    // EFFECTS: returns the minute of the day of the given time
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // EFFECTS: returns a shared constant for the common spellings of a day name so that blocks
+    //          parsed from files do not each hold their own copy of the string
+    private static String canonicalLabel(String day, int dayIndex) {
+        if (day.equals(DAYS[dayIndex].name())) {
+            return DAYS[dayIndex].name();
+        } else if (day.equals(TITLE_CASE_DAYS[dayIndex])) {
+            return TITLE_CASE_DAYS[dayIndex];
+        }
+        return day;
+    }
+
+    // MODIFIES: sb
+    // EFFECTS: appends minute of the day to sb in HH:mm format
+    private static void appendTime(StringBuilder sb, int minute) {
+        int hour = minute / 60;
+        int min = minute % 60;
+        sb.append((char) ('0' + hour / 10)).append((char) ('0' + hour % 10)).append(':')
+                .append((char) ('0' + min / 10)).append((char) ('0' + min % 10));
+    }
 }
@@ -1,7 +1,17 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -10,44 +20,457 @@ import persistence.Writable;
 
 // Represents a timetable that manages multiple courses and their scheduled time blocks.
 public class TimeTable implements Writable {
-    private List<Course> courses;
+    private Map<String, Course> courses;
+    private Map<String, Long> positions;
+    private NavigableMap<Long, Course> order;
+    private long nextPosition;
+    private List<Course> courseList;
+    private DayIntervalIndex[] dayIndexes;
+    private WeekOccupancy occupancy;
+    private List<TimeTableListener> listeners;
+    private TimeTableSnapshot snapshot;
+    private Set<String> staleKeys;
+    private UndoHistory history;
 
     // EFFECTS: creates an empty TimeTable with no courses
     public TimeTable() {
-        this.courses = new ArrayList<>();
+        this.courses = new HashMap<>();
+        this.positions = new HashMap<>();
+        this.order = new TreeMap<>();
+        this.dayIndexes = new DayIntervalIndex[TimeBlock.DAYS_PER_WEEK];
+        for (int i = 0; i < dayIndexes.length; i++) {
+            dayIndexes[i] = new DayIntervalIndex();
+        }
+        this.occupancy = new WeekOccupancy();
+        this.listeners = new ArrayList<>();
+        this.snapshot = TimeTableSnapshot.empty();
+        this.staleKeys = new HashSet<>();
+        this.history = new UndoHistory(this);
     }
 
     // MODIFIES: this
-    // EFFECTS: adds a course to the timetable if it does not conflict with existing courses.
+    // EFFECTS: adds a course to the timetable if it does not conflict with existing courses
+    // and no course with the same code (ignoring case) is already in the timetable.
     // Logs the addition as an event if successful.
     // Returns true if the course was added successfully, otherwise false.
     public boolean addCourse(Course newCourse) {
-        for (Course c : courses) {
-            for (TimeBlock existingTime : c.getAllTimeBlock()) {
-                for (TimeBlock newTime : newCourse.getAllTimeBlock()) {
-                    if (existingTime.isConflictsWith(newTime)) {
-                        return false;
-                    }
-                }
+        return insert(newCourse, nextPosition);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds newCourse at the given position of the course order, as addCourse describes;
+    // returns true if it was added
+    private boolean insert(Course newCourse, long position) {
+        String key = keyOf(newCourse.getCourseCode());
+        if (courses.containsKey(key) || hasConflict(newCourse)) {
+            return false;
+        }
+        place(key, newCourse, position);
+        newCourse.setOwner(this);
+        indexCourse(newCourse);
+        if (history.isRecording()) {
+            history.record(new UndoHistory.MembershipEdit(newCourse, true, position));
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.COURSE_ADDED, newCourse.getCourseCode()));
+        for (TimeTableListener l : listeners) {
+            l.courseAdded(newCourse);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts course in the course map under key and at the given position of the course order,
+    // and marks it for the next snapshot
+    private void place(String key, Course course, long position) {
+        staleKeys.add(key);
+        courses.put(key, course);
+        positions.put(key, position);
+        order.put(position, course);
+        nextPosition = Math.max(nextPosition, position + 1);
+        courseList = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given courses in order, as addCourse would, and reports on the whole batch.
+    // All blocks of the timetable and the batch are sorted once by start time and a single sweep
+    // finds every pair of courses that collide. A course is then rejected if its code is already
+    // taken (in the timetable or by a course accepted earlier in the batch) or if it collides with
+    // a course in the timetable or one accepted earlier in the batch; rejections do not stop the
+    // batch. The per-day indexes are built once at the end. Logs an event for every course added.
+    // The whole batch is one undo step.
+    public ConflictReport addCourses(Collection<Course> newCourses) {
+        return addCourses(newCourses, true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given courses as addCourses(newCourses) does; if oneUndoStep is false, each
+    // course added is its own undo step, as if it had been added with addCourse
+    public ConflictReport addCourses(Collection<Course> newCourses, boolean oneUndoStep) {
+        int existingCount = courses.size();
+        Course[] owners = new Course[existingCount + newCourses.size()];
+        int n = 0;
+        for (Course c : order.values()) {
+            owners[n++] = c;
+        }
+        for (Course c : newCourses) {
+            owners[n++] = c;
+        }
+        long[] pairs = sweepForCollisions(owners, existingCount);
+        ConflictReport report = admit(owners, existingCount, pairs);
+        buildIndexes(report.getAccepted());
+        announceAdded(report.getAccepted(), oneUndoStep);
+        return report;
+    }
+
+    // REQUIRES: no two of the given courses have the same code (ignoring case)
+    // EFFECTS: returns a timetable holding exactly the given courses, in order, without checking
+    // them for conflicts again; for reading back a timetable's own saved state, which keeps any
+    // clash that editing a course's times let through
+    public static TimeTable restore(List<Course> saved) {
+        TimeTable timeTable = new TimeTable();
+        timeTable.adopt(saved);
+        return timeTable;
+    }
+
+    // REQUIRES: this timetable is empty
+    // MODIFIES: this
+    // EFFECTS: takes in all the given courses, in order, without checking them for conflicts,
+    // recording undo entries, logging events or notifying listeners; for filling a timetable with
+    // courses that were already checked when they were saved
+    void adopt(List<Course> all) {
+        for (Course c : all) {
+            place(keyOf(c.getCourseCode()), c, nextPosition);
+            c.setOwner(this);
+            occupyCourse(c);
+        }
+        buildIndexes(all);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: takes ownership of the courses just added by addCourses, records them as one undo
+    // entry (or one each if oneUndoStep is false), logs them and notifies the listeners
+    private void announceAdded(List<Course> added, boolean oneUndoStep) {
+        List<UndoHistory.Edit> edits = new ArrayList<>(added.size());
+        for (Course c : added) {
+            c.setOwner(this);
+            edits.add(new UndoHistory.MembershipEdit(c, true, positions.get(keyOf(c.getCourseCode()))));
+            EventLog.getInstance().logEvent(new Event(EventType.COURSE_ADDED, c.getCourseCode()));
+            for (TimeTableListener l : listeners) {
+                l.courseAdded(c);
+            }
+        }
+        if (!oneUndoStep) {
+            edits.forEach(history::record);
+        } else if (!edits.isEmpty()) {
+            history.record(new UndoHistory.CompoundEdit(edits));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: decides, in batch order, which of owners[existingCount..] to accept given the colliding
+    // pairs (see sweepForCollisions), puts the accepted ones in the course map and week occupancy
+    // map, and returns the report
+    private ConflictReport admit(Course[] owners, int existingCount, long[] pairs) {
+        boolean[] accepted = new boolean[owners.length];
+        Arrays.fill(accepted, 0, existingCount, true);
+        List<Course> acceptedCourses = new ArrayList<>();
+        List<Course> rejected = new ArrayList<>();
+        List<Course> duplicates = new ArrayList<>();
+        int p = 0;
+        for (int i = existingCount; i < owners.length; i++) {
+            boolean clash = false;
+            for (; p < pairs.length && (int) (pairs[p] >>> 32) == i; p++) {
+                clash |= accepted[(int) pairs[p]];
             }
+            accepted[i] = admitOne(owners[i], clash, acceptedCourses, rejected, duplicates);
+        }
+        return new ConflictReport(acceptedCourses, rejected, duplicates, toCollisions(owners, pairs));
+    }
+
+    // MODIFIES: this, accepted, rejected, duplicates
+    // EFFECTS: rejects course if its code is already taken (also listing it in duplicates) or if clash
+    // is true, otherwise puts it in the course map and week occupancy map and lists it in accepted;
+    // returns true if it was accepted
+    private boolean admitOne(Course course, boolean clash, List<Course> accepted, List<Course> rejected,
+                             List<Course> duplicates) {
+        String key = keyOf(course.getCourseCode());
+        if (courses.containsKey(key)) {
+            duplicates.add(course);
+            rejected.add(course);
+            return false;
+        }
+        if (clash) {
+            rejected.add(course);
+            return false;
         }
-        courses.add(newCourse);
-        EventLog.getInstance().logEvent(new Event("Added course: " + newCourse.getCourseCode()));
+        place(key, course, nextPosition);
+        occupyCourse(course);
+        accepted.add(course);
         return true;
     }
 
+    // EFFECTS: returns the collisions described by pairs (see sweepForCollisions)
+    private static List<ConflictReport.Collision> toCollisions(Course[] owners, long[] pairs) {
+        List<ConflictReport.Collision> collisions = new ArrayList<>(pairs.length);
+        for (long pair : pairs) {
+            collisions.add(new ConflictReport.Collision(owners[(int) pair], owners[(int) (pair >>> 32)]));
+        }
+        return collisions;
+    }
+
+    // EFFECTS: returns every pair of owners with overlapping blocks, other than pairs of two courses
+    // below existingCount, as (later index << 32 | earlier index) in ascending order.
+    // All blocks are sorted once by start minute of the week; a sweep keeps the blocks that are
+    // still running and pairs each new block with them.
+    private static long[] sweepForCollisions(Course[] owners, int existingCount) {
+        List<int[]> blocks = collectBlocks(owners);
+        long[] order = new long[blocks.size()];
+        for (int b = 0; b < order.length; b++) {
+            order[b] = ((long) blocks.get(b)[0] << 32) | b;
+        }
+        Arrays.sort(order);
+        Set<Long> pairs = new HashSet<>();
+        int[] active = new int[order.length];
+        int activeCount = 0;
+        for (long key : order) {
+            int[] block = blocks.get((int) key);
+            int kept = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int[] other = blocks.get(active[a]);
+                if (other[1] > block[0]) {
+                    active[kept++] = active[a];
+                    addPair(pairs, other[2], block[2], existingCount);
+                }
+            }
+            active[kept] = (int) key;
+            activeCount = kept + 1;
+        }
+        return pairs.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    // EFFECTS: returns every block of owners as { week start, week end, index of its owner }
+    private static List<int[]> collectBlocks(Course[] owners) {
+        List<int[]> blocks = new ArrayList<>();
+        for (int id = 0; id < owners.length; id++) {
+            for (TimeBlock t : owners[id].getAllTimeBlock()) {
+                blocks.add(new int[] { t.getWeekStart(), t.getWeekEnd(), id });
+            }
+        }
+        return blocks;
+    }
+
+    // MODIFIES: pairs
+    // EFFECTS: adds the pair of owners x and y to pairs unless they are the same course or both
+    // were in the timetable before the batch
+    private static void addPair(Set<Long> pairs, int x, int y, int existingCount) {
+        int later = Math.max(x, y);
+        if (x != y && later >= existingCount) {
+            pairs.add(((long) later << 32) | Math.min(x, y));
+        }
+    }
+
     // REQUIRES: course is existed
     // MODIFIES: this
     // EFFECTS: remove the course from the timetable
     //          Logs the removal as an event if successful.
     public void removeCourse(Course course) {
-        courses.remove(course);
-        EventLog.getInstance().logEvent(new Event("Removed course: " + course.getCourseCode()));
+        String key = keyOf(course.getCourseCode());
+        if (courses.get(key) == course) {
+            long position = positions.remove(key);
+            if (history.isRecording()) {
+                history.record(new UndoHistory.MembershipEdit(course, false, position));
+            }
+            courses.remove(key);
+            order.remove(position);
+            courseList = null;
+            unindexCourse(course);
+            course.setOwner(null);
+            staleKeys.add(key);
+            for (TimeTableListener l : listeners) {
+                l.courseRemoved(course);
+            }
+            EventLog.getInstance().logEvent(new Event(EventType.COURSE_REMOVED, course.getCourseCode()));
+        }
+    }
+
+    // REQUIRES: course does not collide with any course in this timetable
+    // MODIFIES: this
+    // EFFECTS: adds course back, as addCourse would, at the given position of the course order
+    // (shared with the snapshot order), where it was before it was removed
+    void restoreCourse(Course course, long position) {
+        insert(course, position);
+    }
+
+    // EFFECTS: returns the undo/redo history of the changes made to this timetable and its courses
+    public UndoHistory getHistory() {
+        return history;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records edit, made to a course of this timetable, in the undo history
+    void recordEdit(UndoHistory.Edit edit) {
+        history.record(edit);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers listener to be notified of every later change to the courses of this timetable
+    public void addListener(TimeTableListener listener) {
+        listeners.add(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops notifying listener of changes
+    public void removeListener(TimeTableListener listener) {
+        listeners.remove(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks course for the next snapshot and notifies the listeners that course, which is
+    // in this timetable, has changed
+    void courseChanged(Course course) {
+        staleKeys.add(keyOf(course.getCourseCode()));
+        for (TimeTableListener l : listeners) {
+            l.courseChanged(course);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns an immutable version of this timetable as it is now; later changes to this
+    // timetable do not affect it, and it shares its unchanged parts with other versions. Changes are
+    // only noted as they are made, so this copies just the courses added or edited since the last
+    // snapshot (each once, however often it changed) and costs O(1) if nothing has changed.
+    // Safe to call from several threads while nothing changes this timetable.
+    public synchronized TimeTableSnapshot snapshot() {
+        for (String key : staleKeys) {
+            Course course = courses.get(key);
+            snapshot = (course == null) ? snapshot.without(key) : snapshot.with(course, positions.get(key));
+        }
+        staleKeys.clear();
+        return snapshot;
+    }
+
+    // REQUIRES: snapshot holds exactly the courses of this timetable, in the same order
+    // MODIFIES: this
+    // EFFECTS: makes snapshot the current version of this timetable, so that it is shared rather
+    // than rebuilt from copies, and takes over its positions for the course order
+    void setSnapshot(TimeTableSnapshot snapshot) {
+        List<Course> ordered = getAllCourses();
+        order.clear();
+        for (Course c : ordered) {
+            String key = keyOf(c.getCourseCode());
+            long position = snapshot.positionOf(key);
+            positions.put(key, position);
+            order.put(position, c);
+        }
+        nextPosition = snapshot.nextPosition();
+        staleKeys.clear();
+        this.snapshot = snapshot;
+    }
+
+    // EFFECTS: returns a course in this timetable with a block overlapping the given time block,
+    //          or null if the time block is free
+    public Course findConflictingCourse(TimeBlock timeBlock) {
+        if (timeBlock == null) {
+            return null;
+        }
+        return dayIndexes[timeBlock.getDayIndex()].findOverlap(timeBlock.getStartMinute(), timeBlock.getEndMinute());
+    }
+
+    // EFFECTS: returns a course other than ignored in this timetable with a block overlapping the given
+    //          time block, or null if there is none; for checking new blocks of ignored itself
+    public Course findConflictingCourse(TimeBlock timeBlock, Course ignored) {
+        if (timeBlock == null) {
+            return null;
+        }
+        return dayIndexes[timeBlock.getDayIndex()].findOverlapExcept(timeBlock.getStartMinute(),
+                timeBlock.getEndMinute(), ignored);
+    }
+
+    // EFFECTS: returns true if the given time block does not overlap any course in this timetable
+    public boolean isFree(TimeBlock timeBlock) {
+        return timeBlock == null || occupancy.isFree(timeBlock);
+    }
+
+    // EFFECTS: returns true if any time block of the given course overlaps a course in this timetable
+    private boolean hasConflict(Course course) {
+        List<TimeBlock> lectures = course.getLectureTimes();
+        for (int i = 0; i < lectures.size(); i++) {
+            if (!isFree(lectures.get(i))) {
+                return true;
+            }
+        }
+        return !isFree(course.getLabTime()) || !isFree(course.getDiscussionTime());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every time block of the given course to the per-day index
+    void indexCourse(Course course) {
+        List<TimeBlock> lectures = course.getLectureTimes();
+        for (int i = 0; i < lectures.size(); i++) {
+            indexBlock(lectures.get(i), course, true);
+        }
+        indexBlock(course.getLabTime(), course, true);
+        indexBlock(course.getDiscussionTime(), course, true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every time block of the given course from the per-day index
+    void unindexCourse(Course course) {
+        List<TimeBlock> lectures = course.getLectureTimes();
+        for (int i = 0; i < lectures.size(); i++) {
+            indexBlock(lectures.get(i), course, false);
+        }
+        indexBlock(course.getLabTime(), course, false);
+        indexBlock(course.getDiscussionTime(), course, false);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every time block of the given course as taken in the week occupancy map
+    private void occupyCourse(Course course) {
+        for (TimeBlock block : course.getAllTimeBlock()) {
+            occupancy.occupy(block);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends every time block of the given courses to the per-day indexes, then sorts
+    //          each index once
+    private void buildIndexes(List<Course> added) {
+        for (Course course : added) {
+            for (TimeBlock block : course.getAllTimeBlock()) {
+                dayIndexes[block.getDayIndex()].append(block.getStartMinute(), block.getEndMinute(), course);
+            }
+        }
+        for (DayIntervalIndex index : dayIndexes) {
+            index.sort();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds (if add is true) or removes the given block of course in the index for its day
+    //          and in the week occupancy map;
+    //          null blocks are ignored
+    private void indexBlock(TimeBlock block, Course course, boolean add) {
+        if (block == null) {
+            return;
+        }
+        DayIntervalIndex index = dayIndexes[block.getDayIndex()];
+        if (add) {
+            index.add(block.getStartMinute(), block.getEndMinute(), course);
+            occupancy.occupy(block);
+        } else {
+            index.remove(block.getStartMinute(), block.getEndMinute(), course);
+            occupancy.release(block);
+        }
     }
 
     // getter
+    // EFFECTS: returns the courses in the order they were added; the list is read-only
     public List<Course> getAllCourses() {
-        return courses;
+        if (courseList == null) {
+            courseList = Collections.unmodifiableList(new ArrayList<>(order.values()));
+        }
+        return courseList;
     }
 
     @Override
@@ -55,7 +478,7 @@ public class TimeTable implements Writable {
         JSONObject json = new JSONObject();
         JSONArray coursesArray = new JSONArray();
 
-        for (Course c : courses) {
+        for (Course c : order.values()) {
             coursesArray.put(c.toJson());
         }
 
@@ -66,12 +489,15 @@ public class TimeTable implements Writable {
     // EFFECTS: Returns the Course object that matches the given courseCode.
     //          If no matching course is found, returns null.
     public Course getCourseByName(String courseCode) {
-        for (Course course : courses) {
-            if (course.getCourseCode().equalsIgnoreCase(courseCode)) {
-                return course;
-            }
+        if (courseCode == null) {
+            return null;
         }
-        return null;
+        return courses.get(keyOf(courseCode));
+    }
+
+    // EFFECTS: returns the key under which a course with the given code is indexed
+    static String keyOf(String courseCode) {
+        return courseCode.toUpperCase(Locale.ROOT);
     }
 
     // EFFECTS: Prints all events recorded in the EventLog to the console
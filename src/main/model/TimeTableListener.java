@@ -0,0 +1,13 @@
+package model;
+
+// Represents an observer that is notified whenever the courses of a TimeTable change
+public interface TimeTableListener {
+    // EFFECTS: called after course has been added to the timetable
+    void courseAdded(Course course);
+
+    // EFFECTS: called after course has been removed from the timetable
+    void courseRemoved(Course course);
+
+    // EFFECTS: called after a time block or detail of course has changed while it is in the timetable
+    void courseChanged(Course course);
+}
@@ -0,0 +1,120 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Represents an immutable version of a timetable. Its courses are frozen copies kept in a
+// persistent hash trie (see PersistentMap), so taking a snapshot of a TimeTable only copies the
+// courses changed since its last one, and deriving a variant with with/without copies only the few
+// trie nodes on the path to the changed course while sharing the rest with the original. Dozens of
+// what-if versions therefore take memory in proportion to how much they differ, not dozens of full
+// copies.
+// The courses handed out by a snapshot are shared between versions and must not be modified;
+// call toTimeTable to get an editable timetable.
+public final class TimeTableSnapshot {
+    private static final TimeTableSnapshot EMPTY = new TimeTableSnapshot(PersistentMap.empty(), 0);
+
+    private final PersistentMap<Entry> courses;
+    private final long nextPosition;
+    private volatile List<Course> ordered;
+
+    private TimeTableSnapshot(PersistentMap<Entry> courses, long nextPosition) {
+        this.courses = courses;
+        this.nextPosition = nextPosition;
+    }
+
+    // EFFECTS: returns the snapshot with no courses
+    public static TimeTableSnapshot empty() {
+        return EMPTY;
+    }
+
+    // EFFECTS: returns the number of courses in this version
+    public int size() {
+        return courses.size();
+    }
+
+    // EFFECTS: returns the course with the given code (ignoring case), or null if there is none
+    public Course getCourseByName(String courseCode) {
+        Entry entry = (courseCode == null) ? null : courses.get(TimeTable.keyOf(courseCode));
+        return (entry == null) ? null : entry.course;
+    }
+
+    // EFFECTS: returns the courses in the order they were first added; the list is read-only
+    public List<Course> getAllCourses() {
+        List<Course> result = ordered;
+        if (result == null) {
+            List<Entry> entries = courses.values();
+            entries.sort(Comparator.comparingLong(e -> e.position));
+            result = new ArrayList<>(entries.size());
+            for (Entry e : entries) {
+                result.add(e.course);
+            }
+            result = Collections.unmodifiableList(result);
+            ordered = result;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns a version with a frozen copy of course added, or replacing the course with
+    // the same code (which keeps its position); this version is unchanged. Conflicts are not checked
+    // here, and toTimeTable keeps a course that collides with others as it is.
+    public TimeTableSnapshot with(Course course) {
+        String key = TimeTable.keyOf(course.getCourseCode());
+        Entry existing = courses.get(key);
+        long position = (existing == null) ? nextPosition : existing.position;
+        Entry entry = new Entry(course.copy(), position);
+        return new TimeTableSnapshot(courses.put(key, entry), Math.max(nextPosition, position + 1));
+    }
+
+    // EFFECTS: returns a version with a frozen copy of course at the given position in the order,
+    // replacing any course with the same code
+    TimeTableSnapshot with(Course course, long position) {
+        Entry entry = new Entry(course.copy(), position);
+        return new TimeTableSnapshot(courses.put(TimeTable.keyOf(course.getCourseCode()), entry),
+                Math.max(nextPosition, position + 1));
+    }
+
+    // EFFECTS: returns the position that the next course added with with(Course) would take
+    long nextPosition() {
+        return nextPosition;
+    }
+
+    // EFFECTS: returns the position in the order of the course with the given code, or -1 if there
+    // is none
+    long positionOf(String courseCode) {
+        Entry entry = courses.get(TimeTable.keyOf(courseCode));
+        return (entry == null) ? -1 : entry.position;
+    }
+
+    // EFFECTS: returns a version without the course with the given code; this version is unchanged
+    public TimeTableSnapshot without(String courseCode) {
+        PersistentMap<Entry> remaining = courses.remove(TimeTable.keyOf(courseCode));
+        return (remaining == courses) ? this : new TimeTableSnapshot(remaining, nextPosition);
+    }
+
+    // EFFECTS: returns a new, editable timetable holding copies of every course of this version in
+    // order. They are not checked for conflicts again, so a version that holds a clash (which
+    // editing a course's times can let through) comes back exactly as it was saved.
+    public TimeTable toTimeTable() {
+        List<Course> copies = new ArrayList<>(size());
+        for (Course c : getAllCourses()) {
+            copies.add(c.copy());
+        }
+        TimeTable timeTable = TimeTable.restore(copies);
+        timeTable.setSnapshot(this);
+        return timeTable;
+    }
+
+    // Represents a frozen course and its position in the order courses were added
+    private static final class Entry {
+        private final Course course;
+        private final long position;
+
+        Entry(Course course, long position) {
+            this.course = course;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+// Represents the undo/redo history of a TimeTable. Every change made through the TimeTable or one
+// of its courses is recorded as a small delta that can revert and reapply itself: the detail that
+// changed with its old and new value, the lecture slot that changed, or the course that was added
+// or removed together with where it sat. Nothing else is copied, so an entry costs tens of bytes
+// rather than a copy of the timetable, and undoing never rereads a saved file.
+// Consecutive edits of the same detail of the same course made within the coalescing window are
+// merged into one entry (so typing a name letter by letter undoes in one step), and the oldest
+// entries are dropped once the estimated size of the history passes its budget.
+public class UndoHistory {
+    public static final long DEFAULT_BUDGET = 1 << 20;
+    public static final long DEFAULT_COALESCE_MILLIS = 750;
+
+    private final TimeTable timeTable;
+    private final Deque<Edit> undoStack;
+    private final Deque<Edit> redoStack;
+    private long budget;
+    private long usedBytes;
+    private long coalesceNanos;
+    private boolean replaying;
+    private boolean mergeable;
+    private List<Edit> group;
+
+    // EFFECTS: creates an empty history for timeTable with the default budget and coalescing window
+    UndoHistory(TimeTable timeTable) {
+        this.timeTable = timeTable;
+        this.undoStack = new ArrayDeque<>();
+        this.redoStack = new ArrayDeque<>();
+        this.budget = DEFAULT_BUDGET;
+        this.coalesceNanos = DEFAULT_COALESCE_MILLIS * 1_000_000L;
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    public int getUndoCount() {
+        return undoStack.size();
+    }
+
+    public int getRedoCount() {
+        return redoStack.size();
+    }
+
+    // EFFECTS: returns the estimated number of bytes held by the undo and redo entries
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    // REQUIRES: bytes >= 0
+    // MODIFIES: this
+    // EFFECTS: sets the most bytes the history may hold, dropping the oldest entries if needed
+    public void setBudget(long bytes) {
+        this.budget = bytes;
+        trim();
+    }
+
+    // REQUIRES: millis >= 0
+    // MODIFIES: this
+    // EFFECTS: sets how close together two edits of the same detail must be to merge; 0 never merges
+    public void setCoalesceWindow(long millis) {
+        this.coalesceNanos = millis * 1_000_000L;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets every undo and redo entry
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+        usedBytes = 0;
+        mergeable = false;
+    }
+
+    // MODIFIES: this, the timetable and its courses
+    // EFFECTS: reverts the most recent change and returns true, or returns false if there is none
+    public boolean undo() {
+        Edit edit = undoStack.pollLast();
+        if (edit == null) {
+            return false;
+        }
+        replay(edit, false);
+        redoStack.addLast(edit);
+        mergeable = false;
+        return true;
+    }
+
+    // MODIFIES: this, the timetable and its courses
+    // EFFECTS: reapplies the most recently undone change and returns true, or returns false if
+    // there is none
+    public boolean redo() {
+        Edit edit = redoStack.pollLast();
+        if (edit == null) {
+            return false;
+        }
+        replay(edit, true);
+        undoStack.addLast(edit);
+        mergeable = false;
+        return true;
+    }
+
+    // MODIFIES: this, the timetable and its courses
+    // EFFECTS: runs change and records everything it changes as one entry, which one undo reverts
+    // as a whole and which never merges with the entries around it; a change grouped inside
+    // another group joins the outer one
+    public void recordAsOne(Runnable change) {
+        if (group != null) {
+            change.run();
+            return;
+        }
+        List<Edit> parts = new ArrayList<>();
+        group = parts;
+        try {
+            change.run();
+        } finally {
+            group = null;
+        }
+        if (!parts.isEmpty()) {
+            record(new CompoundEdit(parts));
+        }
+    }
+
+    // EFFECTS: returns false while an undo or redo is replaying, when changes are not recorded
+    boolean isRecording() {
+        return !replaying;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records edit as the newest change, merging it into the previous one if they
+    // coalesce, and discards the redo entries; does nothing while an undo or redo is replaying, and
+    // only collects edit while a recordAsOne group is running
+    void record(Edit edit) {
+        if (replaying) {
+            return;
+        }
+        if (group != null) {
+            group.add(edit);
+            return;
+        }
+        for (Edit undone : redoStack) {
+            usedBytes -= undone.size();
+        }
+        redoStack.clear();
+        Edit top = undoStack.peekLast();
+        long before = (top == null) ? 0 : top.size();
+        if (mergeable && top != null && top.absorb(edit, coalesceNanos)) {
+            usedBytes += top.size() - before;
+        } else {
+            undoStack.addLast(edit);
+            usedBytes += edit.size();
+        }
+        mergeable = true;
+        trim();
+    }
+
+    // MODIFIES: this, the timetable and its courses
+    // EFFECTS: reverts (forward is false) or reapplies edit without recording the changes it makes
+    private void replay(Edit edit, boolean forward) {
+        replaying = true;
+        try {
+            if (forward) {
+                edit.reapply(timeTable);
+            } else {
+                edit.revert(timeTable);
+            }
+        } finally {
+            replaying = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the oldest undo entries, then the furthest redo entries, until the history
+    // fits its budget
+    private void trim() {
+        while (usedBytes > budget && !undoStack.isEmpty()) {
+            usedBytes -= undoStack.pollFirst().size();
+            mergeable &= !undoStack.isEmpty();
+        }
+        while (usedBytes > budget && !redoStack.isEmpty()) {
+            usedBytes -= redoStack.pollFirst().size();
+        }
+    }
+
+    // EFFECTS: returns the estimated bytes held by a string of the given value
+    static long sizeOf(String s) {
+        return (s == null) ? 0 : 40 + 2L * s.length();
+    }
+
+    // EFFECTS: returns the estimated bytes held by course as it is now, for entries that may keep it
+    // alive on their own
+    static long sizeOf(Course course) {
+        return 64 + sizeOf(course.getCourseCode()) + sizeOf(course.getInstructor())
+                + sizeOf(course.getLocation()) + 24L * course.getAllTimeBlock().size();
+    }
+
+    // Represents one recorded change and how to revert and reapply it
+    abstract static class Edit {
+        protected long time;
+
+        Edit() {
+            this.time = System.nanoTime();
+        }
+
+        // MODIFIES: timeTable and its courses
+        // EFFECTS: puts back what this change replaced
+        abstract void revert(TimeTable timeTable);
+
+        // MODIFIES: timeTable and its courses
+        // EFFECTS: makes this change again
+        abstract void reapply(TimeTable timeTable);
+
+        // EFFECTS: returns the estimated number of bytes this entry holds
+        abstract long size();
+
+        // MODIFIES: this
+        // EFFECTS: merges later into this entry and returns true if later continues the same edit
+        // within window nanoseconds; otherwise returns false
+        boolean absorb(Edit later, long window) {
+            return false;
+        }
+    }
+
+    // The details of a course that are recorded as a whole value
+    enum Field { INSTRUCTOR, CREDITS, LOCATION, LAB, DISCUSSION }
+
+    // Represents a change of one detail (or the lab or discussion block) of a course
+    static final class FieldEdit extends Edit {
+        private final Course course;
+        private final Field field;
+        private final Object oldValue;
+        private Object newValue;
+
+        FieldEdit(Course course, Field field, Object oldValue, Object newValue) {
+            this.course = course;
+            this.field = field;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        @Override
+        void revert(TimeTable timeTable) {
+            apply(oldValue);
+        }
+
+        @Override
+        void reapply(TimeTable timeTable) {
+            apply(newValue);
+        }
+
+        // MODIFIES: course
+        // EFFECTS: sets this entry's field of course to value
+        private void apply(Object value) {
+            switch (field) {
+                case INSTRUCTOR:
+                    course.setInstructor((String) value);
+                    break;
+                case CREDITS:
+                    course.setCredits((Integer) value);
+                    break;
+                case LOCATION:
+                    course.setLocation((String) value);
+                    break;
+                case LAB:
+                    course.setLabTime((TimeBlock) value);
+                    break;
+                default:
+                    course.setDiscussionTime((TimeBlock) value);
+            }
+        }
+
+        @Override
+        long size() {
+            return 48 + valueSize(oldValue) + valueSize(newValue);
+        }
+
+        // EFFECTS: returns the estimated bytes held by a value of this entry
+        private static long valueSize(Object value) {
+            return (value instanceof String) ? sizeOf((String) value) : (value == null ? 0 : 24);
+        }
+
+        @Override
+        boolean absorb(Edit later, long window) {
+            if (!(later instanceof FieldEdit) || later.time - time > window) {
+                return false;
+            }
+            FieldEdit next = (FieldEdit) later;
+            if (next.course != course || next.field != field) {
+                return false;
+            }
+            newValue = next.newValue;
+            time = next.time;
+            return true;
+        }
+    }
+
+    // Represents adding (oldBlock null), replacing, or removing (newBlock null) the lecture block
+    // at one index of a course
+    static final class LectureEdit extends Edit {
+        private final Course course;
+        private final int index;
+        private final TimeBlock oldBlock;
+        private TimeBlock newBlock;
+
+        LectureEdit(Course course, int index, TimeBlock oldBlock, TimeBlock newBlock) {
+            this.course = course;
+            this.index = index;
+            this.oldBlock = oldBlock;
+            this.newBlock = newBlock;
+        }
+
+        @Override
+        void revert(TimeTable timeTable) {
+            change(newBlock, oldBlock);
+        }
+
+        @Override
+        void reapply(TimeTable timeTable) {
+            change(oldBlock, newBlock);
+        }
+
+        // MODIFIES: course
+        // EFFECTS: turns the lecture slot at index from holding from into holding to
+        private void change(TimeBlock from, TimeBlock to) {
+            if (from == null) {
+                course.insertLectureTime(index, to);
+            } else if (to == null) {
+                course.removeLectureTimeAt(index);
+            } else {
+                course.setLectureTime(index, to);
+            }
+        }
+
+        @Override
+        long size() {
+            return 64;
+        }
+
+        @Override
+        boolean absorb(Edit later, long window) {
+            if (!(later instanceof LectureEdit) || later.time - time > window) {
+                return false;
+            }
+            LectureEdit next = (LectureEdit) later;
+            if (next.course != course || next.index != index || oldBlock == null || newBlock == null
+                    || next.oldBlock == null || next.newBlock == null) {
+                return false;
+            }
+            newBlock = next.newBlock;
+            time = next.time;
+            return true;
+        }
+    }
+
+    // Represents a course being added to (added true) or removed from the timetable, with its
+    // place in the timetable's order and in its snapshots so an undo puts it back where it was
+    static final class MembershipEdit extends Edit {
+        private final Course course;
+        private final boolean added;
+        private final long position;
+        private final long bytes;
+
+        MembershipEdit(Course course, boolean added, long position) {
+            this.course = course;
+            this.added = added;
+            this.position = position;
+            this.bytes = 48 + sizeOf(course);
+        }
+
+        @Override
+        void revert(TimeTable timeTable) {
+            toggle(timeTable, !added);
+        }
+
+        @Override
+        void reapply(TimeTable timeTable) {
+            toggle(timeTable, added);
+        }
+
+        // MODIFIES: timeTable
+        // EFFECTS: puts course back in its place in timeTable if add is true, otherwise removes it
+        private void toggle(TimeTable timeTable, boolean add) {
+            if (add) {
+                timeTable.restoreCourse(course, position);
+            } else {
+                timeTable.removeCourse(course);
+            }
+        }
+
+        @Override
+        long size() {
+            return bytes;
+        }
+    }
+
+    // Represents several changes made by one operation, undone and redone together
+    static final class CompoundEdit extends Edit {
+        private final List<Edit> parts;
+        private final long bytes;
+
+        CompoundEdit(List<Edit> parts) {
+            this.parts = parts;
+            long total = 32 + 8L * parts.size();
+            for (Edit part : parts) {
+                total += part.size();
+            }
+            this.bytes = total;
+        }
+
+        @Override
+        void revert(TimeTable timeTable) {
+            for (int i = parts.size() - 1; i >= 0; i--) {
+                parts.get(i).revert(timeTable);
+            }
+        }
+
+        @Override
+        void reapply(TimeTable timeTable) {
+            for (Edit part : parts) {
+                part.reapply(timeTable);
+            }
+        }
+
+        @Override
+        long size() {
+            return bytes;
+        }
+    }
+
+    // EFFECTS: returns true if old and new values differ, i.e. the change is worth recording
+    static boolean changes(Object oldValue, Object newValue) {
+        return !Objects.equals(oldValue, newValue);
+    }
+}
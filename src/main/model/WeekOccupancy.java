@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Represents which minutes of the week are taken by scheduled time blocks.
+// Every minute of the week is one bit in a long[] word array, so checking whether a block is free
+// only ANDs the few words its minutes fall in, and the whole map is 158 longs (about 1.3 KB).
+// Minutes covered by more than one block (e.g. two overlapping lectures of the same course) are
+// rare, so their extra coverage is counted in a small map on the side; that keeps release exact
+// without a per-minute count array.
+public class WeekOccupancy {
+    public static final int MINUTES_PER_WEEK = TimeBlock.DAYS_PER_WEEK * TimeBlock.MINUTES_PER_DAY;
+
+    private static final int WORD_BITS = 64;
+
+    private final long[] words;
+    private final Map<Integer, Integer> extra;
+
+    // EFFECTS: creates an occupancy map with every minute of the week free
+    public WeekOccupancy() {
+        words = new long[(MINUTES_PER_WEEK + WORD_BITS - 1) / WORD_BITS];
+        extra = new HashMap<>();
+    }
+
+    // EFFECTS: returns true if no occupied minute falls inside the given time block
+    public boolean isFree(TimeBlock timeBlock) {
+        return isFree(timeBlock.getWeekStart(), timeBlock.getWeekEnd());
+    }
+
+    // EFFECTS: returns true if no occupied minute falls inside [weekStart, weekEnd),
+    //          where both are minutes since Monday 00:00
+    public boolean isFree(int weekStart, int weekEnd) {
+        if (weekEnd <= weekStart) {
+            return true;
+        }
+        int first = weekStart / WORD_BITS;
+        int last = (weekEnd - 1) / WORD_BITS;
+        for (int w = first; w <= last; w++) {
+            if ((words[w] & rangeMask(w, weekStart, weekEnd)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every minute of the given time block as occupied
+    public void occupy(TimeBlock timeBlock) {
+        for (int m = timeBlock.getWeekStart(); m < timeBlock.getWeekEnd(); m++) {
+            long bit = 1L << m;
+            if ((words[m / WORD_BITS] & bit) == 0) {
+                words[m / WORD_BITS] |= bit;
+            } else {
+                extra.merge(m, 1, Integer::sum);
+            }
+        }
+    }
+
+    // REQUIRES: timeBlock was previously passed to occupy and not yet released
+    // MODIFIES: this
+    // EFFECTS: releases the minutes of the given time block; a minute becomes free again once
+    //          every block covering it has been released
+    public void release(TimeBlock timeBlock) {
+        for (int m = timeBlock.getWeekStart(); m < timeBlock.getWeekEnd(); m++) {
+            Integer more = extra.get(m);
+            if (more == null) {
+                words[m / WORD_BITS] &= ~(1L << m);
+            } else if (more == 1) {
+                extra.remove(m);
+            } else {
+                extra.put(m, more - 1);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every minute of the week as free
+    public void clear() {
+        Arrays.fill(words, 0L);
+        extra.clear();
+    }
+
+    // EFFECTS: returns the bits of word w that lie inside [weekStart, weekEnd)
+    private static long rangeMask(int w, int weekStart, int weekEnd) {
+        int wordStart = w * WORD_BITS;
+        long mask = -1L;
+        if (weekStart > wordStart) {
+            mask &= -1L << (weekStart - wordStart);
+        }
+        if (weekEnd < wordStart + WORD_BITS) {
+            mask &= -1L >>> (wordStart + WORD_BITS - weekEnd);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,161 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+
+// Represents a reader that reads TimeTable from the binary format written by BinaryWriter
+public class BinaryReader {
+    private String source;
+    private long size;
+    private ConflictReport conflictReport;
+    private ProgressListener progressListener;
+
+    // EFFECTS: constructs reader to read from source file
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads TimeTable from file and returns it;
+    // throws IOException if the file cannot be read, is not a CourseFlow binary timetable or is
+    // corrupt or truncated
+    public TimeTable read() throws IOException {
+        TimeTable timeTable = new TimeTable();
+        conflictReport = timeTable.addCourses(readCourses());
+        return timeTable;
+    }
+
+    // EFFECTS: reads every course in the file, in order, without checking them for conflicts;
+    // throws IOException if the file cannot be read, is not a CourseFlow binary timetable or is
+    // corrupt or truncated
+    public List<Course> readCourses() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(openSource()))) {
+            checkHeader(in);
+            String[] strings = new String[readCount(in, 2)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            int courseCount = readCount(in, Integer.BYTES);
+            List<Course> courses = new ArrayList<>(courseCount);
+            for (int i = 0; i < courseCount; i++) {
+                courses.add(readCourse(in, strings));
+            }
+            return courses;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes read report the bytes it has read to listener (null for none) and stop with
+    // InterruptedIOException if the reading thread is interrupted
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    // EFFECTS: returns the report of the last read: which courses were loaded and which were left
+    // out because they collide with, or have the same code as, a course loaded before them;
+    // null if nothing has been read yet
+    public ConflictReport getConflictReport() {
+        return conflictReport;
+    }
+
+    // EFFECTS: opens the source file, counting and reporting the bytes read if there is a listener
+    private InputStream openSource() throws IOException {
+        Path path = Paths.get(source);
+        InputStream in = Files.newInputStream(path);
+        size = Files.size(path);
+        return (progressListener == null) ? in : new ProgressInputStream(in, size, progressListener);
+    }
+
+    // EFFECTS: reads the magic number and version; throws IOException if they are not supported
+    private void checkHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != BinaryWriter.MAGIC) {
+            throw new IOException(source + " is not a CourseFlow binary timetable");
+        }
+        short version = in.readShort();
+        if (version < 1 || version > BinaryWriter.VERSION) {
+            throw new IOException("Unsupported binary timetable version " + version);
+        }
+    }
+
+    // EFFECTS: reads a count of items that each take at least minBytes in the file; throws
+    // IOException if it is negative or more than the file could hold
+    private int readCount(DataInputStream in, int minBytes) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > size / minBytes) {
+            throw corrupt("count " + count);
+        }
+        return count;
+    }
+
+    // EFFECTS: reads a string-table index and returns its string; throws IOException if it is out
+    // of range
+    private String readString(DataInputStream in, String[] strings) throws IOException {
+        int index = in.readInt();
+        if (index < 0 || index >= strings.length) {
+            throw corrupt("string index " + index);
+        }
+        return strings[index];
+    }
+
+    // EFFECTS: reads one length-prefixed course record and returns the course;
+    // any bytes a newer writer added to the end of the record are skipped.
+    // Throws IOException if the record is corrupt
+    private Course readCourse(DataInputStream in, String[] strings) throws IOException {
+        int length = in.readInt();
+        Course course;
+        try {
+            course = readFields(in, strings);
+        } catch (IllegalArgumentException e) {
+            throw corrupt(e.getMessage());
+        }
+        if (length < BinaryWriter.recordLength(course)) {
+            throw corrupt("record length " + length);
+        }
+        in.skipBytes(length - BinaryWriter.recordLength(course));
+        return course;
+    }
+
+    // EFFECTS: reads the fields of a course record after its length prefix and returns the course;
+    // throws IllegalArgumentException if a time block is invalid
+    private Course readFields(DataInputStream in, String[] strings) throws IOException {
+        Course course = new Course(readString(in, strings));
+        course.setInstructor(readString(in, strings));
+        course.setCredits(in.readInt());
+        course.setLocation(readString(in, strings));
+        int lectureCount = readCount(in, 2 * Integer.BYTES);
+        for (int i = 0; i < lectureCount; i++) {
+            course.addLectureTime(readTimeBlock(in, strings));
+        }
+        int flags = in.readByte();
+        if ((flags & BinaryWriter.HAS_LAB) != 0) {
+            course.setLabTime(readTimeBlock(in, strings));
+        }
+        if ((flags & BinaryWriter.HAS_DISCUSSION) != 0) {
+            course.setDiscussionTime(readTimeBlock(in, strings));
+        }
+        return course;
+    }
+
+    // EFFECTS: reads a time block stored as its day label index and packed form
+    private TimeBlock readTimeBlock(DataInputStream in, String[] strings) throws IOException {
+        String day = readString(in, strings);
+        return TimeBlock.fromPacked(day, in.readInt());
+    }
+
+    // EFFECTS: returns the exception reporting that the file is corrupt, with detail
+    private IOException corrupt(String detail) {
+        return new IOException(source + " is corrupt (" + detail + ")");
+    }
+}
@@ -0,0 +1,249 @@
+package persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import model.TimeTableSnapshot;
+
+// Represents a writer that writes a compact binary representation of TimeTable to file.
+// Layout (all numbers big-endian):
+//   int MAGIC, short VERSION
+//   int stringCount, then each string as modified UTF-8 with a 2-byte length prefix
+//   int courseCount, then for each course an int record length followed by
+//     int code, int instructor, int credits, int location  (strings as string-table indexes)
+//     int lectureCount, then each lecture as a time block
+//     byte flags (HAS_LAB, HAS_DISCUSSION), then the lab and discussion time blocks if present
+//   where a time block is int day (string-table index of its label) and int packed (TimeBlock.getPacked)
+// Version 2 adds an index after the course records so the file can be used without reading it all
+// (see MappedCatalog):
+//   int stringCount, int courseCount,
+//   int[stringCount] file offset of each string, int[courseCount] file offset of each course record,
+//   int hashCapacity (a power of two), int[hashCapacity] open-addressing table of course index + 1
+//   (0 = empty) keyed by the upper-case course code's hashCode, probed linearly,
+//   and finally int footerOffset (where this index starts) and int MAGIC.
+// Version 3 adds, between the hash table and the trailer, a block index for each day of the week
+// (Monday first): int blockCount, then for each block of that day, in order of start,
+//   int start, int maxEnd, int course
+// where start is the block's minute of the week, maxEnd the latest end (minute of the week) of
+// this block and every earlier one of the day, and course the index of its course record, so a
+// conflict query is two binary searches over one day (see DayIntervalIndex).
+public class BinaryWriter {
+    public static final int MAGIC = 0x43465454; // "CFTT"
+    public static final short VERSION = 3;
+    public static final String EXTENSION = ".cft";
+
+    static final int HAS_LAB = 1;
+    static final int HAS_DISCUSSION = 2;
+
+    private DataOutputStream out;
+    private String destination;
+    private Map<String, Integer> strings;
+    private ProgressListener progressListener;
+
+    // EFFECTS: constructs writer to write to destination file
+    public BinaryWriter(String destination) {
+        this.destination = destination;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: open writer. throw FileNotFoundException if destination file cannot
+    // be opened for writing
+    public void open() throws FileNotFoundException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destination)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes binary representation of TimeTable to file;
+    // throws IOException if the data cannot be written
+    public void write(TimeTable tt) throws IOException {
+        write(tt.getAllCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the timetable version snapshot to file as write(TimeTable) would; since a
+    // snapshot never changes, this is safe to call off the thread that edits the timetable.
+    // Throws IOException if the data cannot be written
+    public void write(TimeTableSnapshot snapshot) throws IOException {
+        write(snapshot.getAllCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes write report the number of courses written to listener (null for none)
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the binary representation of a timetable holding courses
+    private void write(List<Course> courses) throws IOException {
+        buildStringTable(courses);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(strings.size());
+        int[] stringOffsets = new int[strings.size()];
+        int i = 0;
+        for (String s : strings.keySet()) {
+            stringOffsets[i++] = out.size();
+            out.writeUTF(s);
+        }
+        out.writeInt(courses.size());
+        int[] courseOffsets = new int[courses.size()];
+        for (i = 0; i < courses.size(); i++) {
+            courseOffsets[i] = out.size();
+            writeCourse(courses.get(i));
+            if (progressListener != null) {
+                progressListener.progress(i + 1, courses.size());
+            }
+        }
+        writeIndex(courses, stringOffsets, courseOffsets);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; throws IOException if buffered data cannot be flushed
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // EFFECTS: returns the number of bytes the record of course takes after its length prefix
+    static int recordLength(Course course) {
+        int blocks = course.getLectureTimes().size();
+        blocks += (course.getLabTime() != null) ? 1 : 0;
+        blocks += (course.getDiscussionTime() != null) ? 1 : 0;
+        return 5 * Integer.BYTES + 1 + blocks * 2 * Integer.BYTES;
+    }
+
+    // EFFECTS: returns the slot of the hash table where probing for courseCode starts
+    static int hashSlot(String courseCode, int capacity) {
+        int h = courseCode.toUpperCase(Locale.ROOT).hashCode();
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the offset tables, the course-code hash table, the block index and the trailer
+    private void writeIndex(List<Course> courses, int[] stringOffsets, int[] courseOffsets) throws IOException {
+        int footerOffset = out.size();
+        out.writeInt(stringOffsets.length);
+        out.writeInt(courseOffsets.length);
+        for (int offset : stringOffsets) {
+            out.writeInt(offset);
+        }
+        for (int offset : courseOffsets) {
+            out.writeInt(offset);
+        }
+        int[] table = buildHashTable(courses);
+        out.writeInt(table.length);
+        for (int entry : table) {
+            out.writeInt(entry);
+        }
+        writeBlockIndex(courses);
+        out.writeInt(footerOffset);
+        out.writeInt(MAGIC);
+    }
+
+    // EFFECTS: returns the open-addressing table of course index + 1 (0 = empty) keyed by course code
+    private static int[] buildHashTable(List<Course> courses) {
+        int capacity = Integer.highestOneBit(Math.max(1, courses.size()) * 2 - 1) * 2;
+        int[] table = new int[capacity];
+        for (int i = 0; i < courses.size(); i++) {
+            int slot = hashSlot(courses.get(i).getCourseCode(), capacity);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the blocks of each day sorted by start, with the running maximum of their ends
+    private void writeBlockIndex(List<Course> courses) throws IOException {
+        List<List<int[]>> days = new ArrayList<>();
+        for (int d = 0; d < TimeBlock.DAYS_PER_WEEK; d++) {
+            days.add(new ArrayList<>());
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            for (TimeBlock t : courses.get(i).getAllTimeBlock()) {
+                days.get(t.getDayIndex()).add(new int[] { t.getWeekStart(), t.getWeekEnd(), i });
+            }
+        }
+        for (List<int[]> blocks : days) {
+            blocks.sort((a, b) -> Integer.compare(a[0], b[0]));
+            out.writeInt(blocks.size());
+            int maxEnd = 0;
+            for (int[] b : blocks) {
+                maxEnd = Math.max(maxEnd, b[1]);
+                out.writeInt(b[0]);
+                out.writeInt(maxEnd);
+                out.writeInt(b[2]);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: assigns a string-table index to every distinct string used by courses
+    private void buildStringTable(List<Course> courses) {
+        strings = new LinkedHashMap<>();
+        for (Course c : courses) {
+            indexOf(c.getCourseCode());
+            indexOf(c.getInstructor());
+            indexOf(c.getLocation());
+            for (TimeBlock t : c.getAllTimeBlock()) {
+                indexOf(t.getDay());
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the string-table index of s, adding s to the table if it is new;
+    // null is stored as the empty string
+    private int indexOf(String s) {
+        String key = (s == null) ? "" : s;
+        Integer index = strings.get(key);
+        if (index == null) {
+            index = strings.size();
+            strings.put(key, index);
+        }
+        return index;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the length-prefixed record of course
+    private void writeCourse(Course course) throws IOException {
+        out.writeInt(recordLength(course));
+        out.writeInt(indexOf(course.getCourseCode()));
+        out.writeInt(indexOf(course.getInstructor()));
+        out.writeInt(course.getCredits());
+        out.writeInt(indexOf(course.getLocation()));
+        out.writeInt(course.getLectureTimes().size());
+        for (TimeBlock t : course.getLectureTimes()) {
+            writeTimeBlock(t);
+        }
+        int flags = (course.getLabTime() != null ? HAS_LAB : 0)
+                | (course.getDiscussionTime() != null ? HAS_DISCUSSION : 0);
+        out.writeByte(flags);
+        if (course.getLabTime() != null) {
+            writeTimeBlock(course.getLabTime());
+        }
+        if (course.getDiscussionTime() != null) {
+            writeTimeBlock(course.getDiscussionTime());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes timeBlock as its day label index and packed form
+    private void writeTimeBlock(TimeBlock timeBlock) throws IOException {
+        out.writeInt(indexOf(timeBlock.getDay()));
+        out.writeInt(timeBlock.getPacked());
+    }
+}
@@ -0,0 +1,236 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+
+// Represents an importer that reads a registrar section catalog exported as CSV or TSV.
+// The first line is a header naming the columns, in any order and case:
+//   code, type (LECTURE, LAB or DISCUSSION), day, start, end (H:mm or HH:mm)  -- required
+//   instructor, credits, location                                               -- optional
+// Each following line is one section; lines for the same course code are merged into one Course.
+// The delimiter is a tab if the header contains one and a comma otherwise; fields may be quoted
+// with double quotes ("" inside quotes is a literal quote), but may not span lines.
+// The rows are split into chunks that are parsed in parallel; rows that cannot be parsed are
+// skipped and reported by getErrors() instead of stopping the import.
+public class CatalogImporter {
+    static final int CHUNK_SIZE = 4096;
+
+    private static final String[] REQUIRED = { "code", "type", "day", "start", "end" };
+
+    private final String source;
+    private List<String> errors;
+
+    // EFFECTS: constructs an importer that reads from source file
+    public CatalogImporter(String source) {
+        this.source = source;
+        this.errors = new ArrayList<>();
+    }
+
+    // EFFECTS: reads the catalog and returns its courses in the order their codes first appear;
+    // throws IOException if the file cannot be read or its header lacks a required column
+    public List<Course> read() throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(source), StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException(source + " has no header line");
+        }
+        char delimiter = lines.get(0).indexOf('\t') >= 0 ? '\t' : ',';
+        Map<String, Integer> columns = readHeader(lines.get(0), delimiter);
+        int chunks = (lines.size() - 1 + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Chunk> parsed = IntStream.range(0, chunks).parallel()
+                .mapToObj(i -> parseChunk(lines, 1 + i * CHUNK_SIZE, columns, delimiter))
+                .collect(Collectors.toList());
+        Map<String, Course> merged = new LinkedHashMap<>();
+        errors = new ArrayList<>();
+        for (Chunk chunk : parsed) {
+            for (Course c : chunk.courses.values()) {
+                mergeInto(merged, c);
+            }
+            errors.addAll(chunk.errors);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    // MODIFIES: timeTable
+    // EFFECTS: reads the catalog and adds its courses to timeTable in one batch (see
+    // TimeTable.addCourses); returns the report of which courses were accepted and which collided.
+    // Throws IOException if the file cannot be read.
+    public ConflictReport importInto(TimeTable timeTable) throws IOException {
+        return timeTable.addCourses(read());
+    }
+
+    // EFFECTS: returns a message ("line N: ...") for every row the last read skipped
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    // EFFECTS: returns the position of each column named in the header;
+    // throws IOException if a required column is missing
+    private Map<String, Integer> readHeader(String header, char delimiter) throws IOException {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        List<String> names = splitFields(header, delimiter);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String name : REQUIRED) {
+            if (!columns.containsKey(name)) {
+                throw new IOException(source + " has no \"" + name + "\" column");
+            }
+        }
+        return columns;
+    }
+
+    // EFFECTS: parses lines [from, from + CHUNK_SIZE) into courses merged by code
+    private static Chunk parseChunk(List<String> lines, int from, Map<String, Integer> columns,
+                                    char delimiter) {
+        Chunk chunk = new Chunk();
+        int to = Math.min(lines.size(), from + CHUNK_SIZE);
+        for (int i = from; i < to; i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                addRow(chunk.courses, splitFields(line, delimiter), columns);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                chunk.errors.add("line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return chunk;
+    }
+
+    // MODIFIES: courses
+    // EFFECTS: adds the section described by fields to the course with its code, creating the
+    // course if needed; throws IllegalArgumentException if the row is malformed
+    private static void addRow(Map<String, Course> courses, List<String> fields, Map<String, Integer> columns) {
+        String code = field(fields, columns, "code");
+        if (code.isEmpty()) {
+            throw new IllegalArgumentException("missing course code");
+        }
+        String type = field(fields, columns, "type").toUpperCase(Locale.ROOT);
+        if (!type.equals("LECTURE") && !type.equals("LAB") && !type.equals("DISCUSSION")) {
+            throw new IllegalArgumentException("unknown section type " + type);
+        }
+        TimeBlock block = new TimeBlock(field(fields, columns, "day"),
+                parseTime(field(fields, columns, "start")), parseTime(field(fields, columns, "end")));
+        String credits = field(fields, columns, "credits");
+        int creditCount = credits.isEmpty() ? 0 : Integer.parseInt(credits);
+        Course course = courses.computeIfAbsent(code.toUpperCase(Locale.ROOT), k -> new Course(code));
+        addComponent(course, type, block);
+        setDetails(course, field(fields, columns, "instructor"), creditCount, field(fields, columns, "location"));
+    }
+
+    // REQUIRES: type is LECTURE, LAB or DISCUSSION
+    // MODIFIES: course
+    // EFFECTS: adds block to course as the given type of component; a later lab or discussion row
+    // replaces an earlier one, since a Course holds one of each
+    private static void addComponent(Course course, String type, TimeBlock block) {
+        if (type.equals("LECTURE")) {
+            course.addLectureTime(block);
+        } else if (type.equals("LAB")) {
+            course.setLabTime(block);
+        } else {
+            course.setDiscussionTime(block);
+        }
+    }
+
+    // MODIFIES: course
+    // EFFECTS: fills in the instructor, credits and location of course from the row where the
+    // course does not have them yet
+    private static void setDetails(Course course, String instructor, int credits, String location) {
+        if (course.getInstructor().isEmpty()) {
+            course.setInstructor(instructor);
+        }
+        if (course.getCredits() == 0) {
+            course.setCredits(credits);
+        }
+        if (course.getLocation().isEmpty()) {
+            course.setLocation(location);
+        }
+    }
+
+    // MODIFIES: merged
+    // EFFECTS: adds course to merged, or, if a course with its code is already there, moves its
+    // sections and any missing details onto that course
+    private static void mergeInto(Map<String, Course> merged, Course course) {
+        Course existing = merged.putIfAbsent(course.getCourseCode().toUpperCase(Locale.ROOT), course);
+        if (existing == null) {
+            return;
+        }
+        for (TimeBlock t : course.getLectureTimes()) {
+            existing.addLectureTime(t);
+        }
+        if (course.getLabTime() != null) {
+            existing.setLabTime(course.getLabTime());
+        }
+        if (course.getDiscussionTime() != null) {
+            existing.setDiscussionTime(course.getDiscussionTime());
+        }
+        setDetails(existing, course.getInstructor(), course.getCredits(), course.getLocation());
+    }
+
+    // EFFECTS: returns the trimmed value of the named column, or "" if the header has no such
+    // column or the row is too short
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return (index == null || index >= fields.size()) ? "" : fields.get(index).trim();
+    }
+
+    // EFFECTS: parses H:mm or HH:mm; throws IllegalArgumentException if text is not such a time
+    static LocalTime parseTime(String text) {
+        int colon = text.indexOf(':');
+        try {
+            if (colon > 0) {
+                return LocalTime.of(Integer.parseInt(text.substring(0, colon)),
+                        Integer.parseInt(text.substring(colon + 1)));
+            }
+        } catch (RuntimeException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("bad time \"" + text + "\"");
+    }
+
+    // EFFECTS: splits line at delimiters outside double quotes, removing the quotes
+    static List<String> splitFields(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"' && quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                sb.append('"');
+                i++;
+            } else if (ch == '"') {
+                quoted = !quoted;
+            } else if (ch == delimiter && !quoted) {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(ch);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    // Represents the courses parsed from one chunk of rows and the rows that failed
+    private static final class Chunk {
+        private final Map<String, Course> courses = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+    }
+}
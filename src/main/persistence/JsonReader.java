@@ -1,15 +1,24 @@
 package persistence;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import model.ConflictReport;
 import model.Course;
 import model.TimeBlock;
 import model.TimeTable;
@@ -19,6 +28,8 @@ import model.TimeTable;
 // Represents a reader that reads TimeTable from JSON data stored in file
 public class JsonReader {
     private String source;
+    private ConflictReport conflictReport;
+    private ProgressListener progressListener;
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
@@ -33,6 +44,42 @@ public class JsonReader {
         return parseTimeTable(jsonObject);
     }
 
+    // EFFECTS: reads TimeTable from file without building the whole document in memory;
+    // the file is tokenized through a buffered reader and each course is built as soon as it
+    // has been parsed, so no JSON tree is kept for the whole file.
+    // throws IOException if an error occurs reading data from file
+    public TimeTable readStreaming() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(openSource(), StandardCharsets.UTF_8))) {
+            return parseTimeTable(new JSONTokener(reader));
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes readStreaming report the bytes it has read to listener (null for none) and stop
+    // with InterruptedIOException if the reading thread is interrupted
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    // EFFECTS: opens the source file, counting and reporting the bytes read if there is a listener
+    private InputStream openSource() throws IOException {
+        Path path = Paths.get(source);
+        InputStream in = Files.newInputStream(path);
+        return (progressListener == null) ? in : new ProgressInputStream(in, Files.size(path), progressListener);
+    }
+
+    // EFFECTS: returns the report of the last read: which courses were loaded and which were left
+    // out because they collide with, or have the same code as, a course loaded before them;
+    // null if nothing has been read yet
+    public ConflictReport getConflictReport() {
+        return conflictReport;
+    }
+
     // EFFECTS: reads source file as string and returns it
     private String readFile(String source) throws IOException {
         StringBuilder contentBuilder = new StringBuilder();
@@ -46,18 +93,77 @@ public class JsonReader {
     private TimeTable parseTimeTable(JSONObject jsonObject) {
         TimeTable timeTable = new TimeTable();
         JSONArray coursesArray = jsonObject.getJSONArray("courses");
+        List<Course> courses = new ArrayList<>(coursesArray.length());
 
         for (int i = 0; i < coursesArray.length(); i++) {
             JSONObject courseJson = coursesArray.getJSONObject(i);
-            Course course = parseCourse(courseJson);
-            timeTable.addCourse(course);
+            courses.add(parseCourse(courseJson));
         }
+        conflictReport = timeTable.addCourses(courses);
         return timeTable;
     }
 
-    // EFFECTS: parses a Course from JSON object and returns it
-    private Course parseCourse(JSONObject jsonObject) {
+    // EFFECTS: parses TimeTable from the top-level JSON object read by tokener and returns it;
+    // members other than "courses" are skipped
+    private TimeTable parseTimeTable(JSONTokener tokener) {
+        TimeTable timeTable = new TimeTable();
+        List<Course> courses = new ArrayList<>();
+        expect(tokener, '{');
+        if (tokener.nextClean() != '}') {
+            tokener.back();
+            do {
+                String key = tokener.nextValue().toString();
+                expect(tokener, ':');
+                if (key.equals("courses")) {
+                    parseCourses(tokener, courses);
+                } else {
+                    tokener.nextValue();
+                }
+            } while (tokener.nextClean() == ',');
+            tokener.back();
+            expect(tokener, '}');
+        }
+        conflictReport = timeTable.addCourses(courses);
+        return timeTable;
+    }
+
+    // MODIFIES: courses
+    // EFFECTS: parses the courses array read by tokener one course at a time,
+    // appending each course to courses; throws JSONException if an element is not an object
+    private void parseCourses(JSONTokener tokener, List<Course> courses) {
+        expect(tokener, '[');
+        if (tokener.nextClean() == ']') {
+            return;
+        }
+        tokener.back();
+        do {
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected a course object but found " + value);
+            }
+            courses.add(parseCourse((JSONObject) value));
+        } while (tokener.nextClean() == ',');
+        tokener.back();
+        expect(tokener, ']');
+    }
+
+    // EFFECTS: reads the next non-whitespace character from tokener;
+    // throws JSONException if it is not the expected character
+    private void expect(JSONTokener tokener, char expected) {
+        char c = tokener.nextClean();
+        if (c != expected) {
+            throw tokener.syntaxError("Expected '" + expected + "' but found '" + c + "'");
+        }
+    }
+
+    // EFFECTS: parses a Course from JSON object (as written by Course.toJson) and returns it;
+    // files saved before instructor, credits and location were stored get the default values.
+    // Throws JSONException if a member is missing or has the wrong type
+    public static Course parseCourse(JSONObject jsonObject) {
         Course course = new Course(jsonObject.getString("courseCode"));
+        course.setInstructor(jsonObject.optString("instructor", ""));
+        course.setCredits(jsonObject.optInt("credits", 0));
+        course.setLocation(jsonObject.optString("location", ""));
 
         JSONArray lecturesArray = jsonObject.getJSONArray("lectureTimes");
         for (int i = 0; i < lecturesArray.length(); i++) {
@@ -75,8 +181,10 @@ public class JsonReader {
         return course;
     }
 
-    // EFFECTS: parses a TimeBlock from JSON object and returns it
-    private TimeBlock parseTimeBlock(JSONObject jsonObject) {
+    // EFFECTS: parses a TimeBlock from JSON object (as written by TimeBlock.toJson) and returns it;
+    // throws JSONException if a member is missing, DateTimeParseException if a time is malformed,
+    // or IllegalArgumentException if the day is not a day of the week
+    public static TimeBlock parseTimeBlock(JSONObject jsonObject) {
         String day = jsonObject.getString("day");
         LocalTime startTime = LocalTime.parse(jsonObject.getString("startTime"));
         LocalTime endTime = LocalTime.parse(jsonObject.getString("endTime"));
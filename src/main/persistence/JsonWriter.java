@@ -1,22 +1,39 @@
 package persistence;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 
 import org.json.JSONObject;
 
+import model.Course;
+import model.TimeBlock;
 import model.TimeTable;
+import model.TimeTableSnapshot;
 
 // CITATION: https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 // This class is based on the JSON class from the demo application above.
 // Represents a writer that writes JSON representation of TimeTable to file
 public class JsonWriter {
+    private static final int DEFAULT_INDENT = 4;
+
     private PrintWriter writer;
     private String destination;
+    private int indentFactor;
+    private ProgressListener progressListener;
 
     // EEFECTS: constructs writer to write to destination file
     public JsonWriter(String destination) {
+        this(destination, DEFAULT_INDENT);
+    }
+
+    // REQUIRES: indentFactor >= 0
+    // EFFECTS: constructs writer to write to destination file; writeStreaming indents nested
+    // values by indentFactor spaces, or writes everything on one line if indentFactor is 0
+    public JsonWriter(String destination, int indentFactor) {
         this.destination = destination;
+        this.indentFactor = indentFactor;
     }
 
     // MODIFIES: this
@@ -34,9 +51,157 @@ public class JsonWriter {
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
+    // EFFECTS: writes JSON representation of TimeTable to file token by token, walking the
+    // courses and their time blocks directly instead of building a JSONObject tree and
+    // rendering it to a String first; the output has the same structure as write
+    public void writeStreaming(TimeTable tt) {
+        writeCourses(tt.getAllCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the timetable version snapshot to file as writeStreaming(TimeTable) would;
+    // since a snapshot never changes, this is safe to call off the thread that edits the timetable
+    public void writeStreaming(TimeTableSnapshot snapshot) {
+        writeCourses(snapshot.getAllCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes writeStreaming report the number of courses written to listener (null for none)
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the JSON object of a timetable holding courses, token by token
+    private void writeCourses(List<Course> courses) {
+        writer.print('{');
+        newLine(1);
+        writeKey("courses");
+        writer.print('[');
+        for (int i = 0; i < courses.size(); i++) {
+            if (i > 0) {
+                writer.print(',');
+            }
+            newLine(2);
+            writeCourse(courses.get(i), 2);
+            if (progressListener != null) {
+                progressListener.progress(i + 1, courses.size());
+            }
+        }
+        if (!courses.isEmpty()) {
+            newLine(1);
+        }
+        writer.print(']');
+        newLine(0);
+        writer.print('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the JSON object for course, nested depth levels deep
+    private void writeCourse(Course course, int depth) {
+        writer.print('{');
+        newLine(depth + 1);
+        writeKey("courseCode");
+        writer.print(JSONObject.quote(course.getCourseCode()));
+        writeMember("instructor", JSONObject.quote(course.getInstructor()), depth + 1);
+        writeMember("credits", Integer.toString(course.getCredits()), depth + 1);
+        writeMember("location", JSONObject.quote(course.getLocation()), depth + 1);
+        writer.print(',');
+        newLine(depth + 1);
+        writeKey("lectureTimes");
+        writeLectures(course.getLectureTimes(), depth + 1);
+        writeOptionalTimeBlock("labTime", course.getLabTime(), depth + 1);
+        writeOptionalTimeBlock("discussionTime", course.getDiscussionTime(), depth + 1);
+        newLine(depth);
+        writer.print('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the JSON array of lecture time blocks, nested depth levels deep
+    private void writeLectures(List<TimeBlock> lectures, int depth) {
+        writer.print('[');
+        for (int i = 0; i < lectures.size(); i++) {
+            if (i > 0) {
+                writer.print(',');
+            }
+            newLine(depth + 1);
+            writeTimeBlock(lectures.get(i), depth + 1);
+        }
+        if (!lectures.isEmpty()) {
+            newLine(depth);
+        }
+        writer.print(']');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if timeBlock is not null, writes it as a member called key of the enclosing object
+    private void writeOptionalTimeBlock(String key, TimeBlock timeBlock, int depth) {
+        if (timeBlock == null) {
+            return;
+        }
+        writer.print(',');
+        newLine(depth);
+        writeKey(key);
+        writeTimeBlock(timeBlock, depth);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the JSON object for timeBlock, nested depth levels deep
+    private void writeTimeBlock(TimeBlock timeBlock, int depth) {
+        writer.print('{');
+        newLine(depth + 1);
+        writeKey("day");
+        writer.print(JSONObject.quote(timeBlock.getDay()));
+        writer.print(',');
+        newLine(depth + 1);
+        writeKey("startTime");
+        writer.print(JSONObject.quote(timeBlock.getStartTime().toString()));
+        writer.print(',');
+        newLine(depth + 1);
+        writeKey("endTime");
+        writer.print(JSONObject.quote(timeBlock.getEndTime().toString()));
+        newLine(depth);
+        writer.print('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a member called key with an already-encoded JSON value, after a comma
+    // separating it from the previous member of the enclosing object
+    private void writeMember(String key, String encodedValue, int depth) {
+        writer.print(',');
+        newLine(depth);
+        writeKey(key);
+        writer.print(encodedValue);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a quoted member name followed by a colon
+    private void writeKey(String key) {
+        writer.print(JSONObject.quote(key));
+        writer.print(indentFactor > 0 ? ": " : ":");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if indenting, starts a new line indented depth levels deep
+    private void newLine(int depth) {
+        if (indentFactor == 0) {
+            return;
+        }
+        writer.print('\n');
+        for (int i = 0; i < depth * indentFactor; i++) {
+            writer.print(' ');
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; throws IOException if any of the output could not be written, which
+    // PrintWriter otherwise only records
+    public void close() throws IOException {
+        boolean failed = writer.checkError();
         writer.close();
+        if (failed) {
+            throw new IOException("Unable to write " + destination);
+        }
     }
 
     // MODIFIES: this
@@ -0,0 +1,39 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeTable;
+
+// Represents a timetable read from a file together with the report of which saved courses made it
+// in and which were left out because they collide with, or have the same code as, an earlier one
+public class LoadedTimeTable {
+    private final TimeTable timeTable;
+    private final ConflictReport conflictReport;
+
+    // EFFECTS: creates a loaded timetable with its report
+    public LoadedTimeTable(TimeTable timeTable, ConflictReport conflictReport) {
+        this.timeTable = timeTable;
+        this.conflictReport = conflictReport;
+    }
+
+    // getter
+    public TimeTable getTimeTable() {
+        return timeTable;
+    }
+
+    public ConflictReport getConflictReport() {
+        return conflictReport;
+    }
+
+    // EFFECTS: returns the codes of the saved courses that were left out, in file order
+    public List<String> getRejectedCodes() {
+        List<String> codes = new ArrayList<>();
+        for (Course c : conflictReport.getRejected()) {
+            codes.add(c.getCourseCode());
+        }
+        return codes;
+    }
+}
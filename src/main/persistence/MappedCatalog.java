@@ -0,0 +1,241 @@
+package persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+import model.Course;
+import model.TimeBlock;
+
+// Represents a read-only view of a timetable stored in the binary format (version 3 or later),
+// backed by a memory-mapped file. Opening the catalog only reads the header, the trailer and the
+// positions of the seven day indexes; courses are decoded from the mapping when they are asked
+// for, lookups by course code go through the on-disk hash table, and conflict queries binary
+// search the on-disk block index of the day, decoding only the course they return.
+// See model.MappedTimeTable for the TimeTable built on it.
+public class MappedCatalog {
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int TRAILER_SIZE = 2 * Integer.BYTES;
+    private static final int BLOCK_SIZE = 2 * Integer.BYTES;
+    private static final int LECTURE_COUNT_OFFSET = 4 * Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = 3 * Integer.BYTES;
+    private static final short FIRST_INDEXED_VERSION = 3;
+
+    private final String source;
+    private MappedByteBuffer buffer;
+    private int stringOffsetsPos;
+    private int courseOffsetsPos;
+    private int courseCount;
+    private int hashCapacity;
+    private int hashTablePos;
+    private final int[] dayIndexPos;
+    private final int[] dayBlockCount;
+
+    // EFFECTS: constructs a catalog that reads from source file
+    public MappedCatalog(String source) {
+        this.source = source;
+        this.dayIndexPos = new int[TimeBlock.DAYS_PER_WEEK];
+        this.dayBlockCount = new int[TimeBlock.DAYS_PER_WEEK];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: maps the source file and reads its index location; the time taken does not depend
+    // on the number of courses. Throws IOException if the file cannot be mapped, was not
+    // written with an index (files older than version 3) or was written by a newer format than
+    // BinaryWriter.VERSION.
+    public void open() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE + TRAILER_SIZE || buffer.getInt(0) != BinaryWriter.MAGIC) {
+            throw new IOException(source + " is not a CourseFlow binary timetable");
+        }
+        short version = buffer.getShort(Integer.BYTES);
+        if (version > BinaryWriter.VERSION) {
+            throw new IOException("Unsupported binary timetable version " + version);
+        }
+        if (version < FIRST_INDEXED_VERSION
+                || buffer.getInt(buffer.capacity() - Integer.BYTES) != BinaryWriter.MAGIC) {
+            throw new IOException(source + " was written without an index; save it again to map it");
+        }
+        try {
+            readIndexPositions(buffer.getInt(buffer.capacity() - TRAILER_SIZE));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(source + " is corrupt (index out of range)");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads where the offset tables, the hash table and the day indexes start, given the
+    // position of the footer; throws IndexOutOfBoundsException if one lies outside the file
+    private void readIndexPositions(int footerPos) {
+        int stringCount = buffer.getInt(footerPos);
+        courseCount = buffer.getInt(footerPos + Integer.BYTES);
+        stringOffsetsPos = footerPos + 2 * Integer.BYTES;
+        courseOffsetsPos = stringOffsetsPos + stringCount * Integer.BYTES;
+        hashCapacity = buffer.getInt(courseOffsetsPos + courseCount * Integer.BYTES);
+        hashTablePos = courseOffsetsPos + (courseCount + 1) * Integer.BYTES;
+        int pos = hashTablePos + hashCapacity * Integer.BYTES;
+        for (int d = 0; d < TimeBlock.DAYS_PER_WEEK; d++) {
+            dayBlockCount[d] = buffer.getInt(pos);
+            dayIndexPos[d] = pos + Integer.BYTES;
+            pos = dayIndexPos[d] + dayBlockCount[d] * INDEX_ENTRY_SIZE;
+        }
+        if (pos != buffer.capacity() - TRAILER_SIZE) {
+            throw new IndexOutOfBoundsException(pos);
+        }
+    }
+
+    // EFFECTS: returns the number of courses in the catalog
+    public int size() {
+        return courseCount;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: decodes and returns the course stored at the given position
+    public Course getCourse(int index) {
+        int pos = recordPos(index);
+        Course course = new Course(stringAt(buffer.getInt(pos)));
+        course.setInstructor(stringAt(buffer.getInt(pos + Integer.BYTES)));
+        course.setCredits(buffer.getInt(pos + 2 * Integer.BYTES));
+        course.setLocation(stringAt(buffer.getInt(pos + 3 * Integer.BYTES)));
+        int lectureCount = buffer.getInt(pos + LECTURE_COUNT_OFFSET);
+        pos += LECTURE_COUNT_OFFSET + Integer.BYTES;
+        for (int i = 0; i < lectureCount; i++, pos += BLOCK_SIZE) {
+            course.addLectureTime(timeBlockAt(pos));
+        }
+        int flags = buffer.get(pos++);
+        if ((flags & BinaryWriter.HAS_LAB) != 0) {
+            course.setLabTime(timeBlockAt(pos));
+            pos += BLOCK_SIZE;
+        }
+        if ((flags & BinaryWriter.HAS_DISCUSSION) != 0) {
+            course.setDiscussionTime(timeBlockAt(pos));
+        }
+        return course;
+    }
+
+    // EFFECTS: returns a read-only list of all courses, each decoded when it is accessed
+    public List<Course> getAllCourses() {
+        return new AbstractList<Course>() {
+            @Override
+            public Course get(int index) {
+                return getCourse(index);
+            }
+
+            @Override
+            public int size() {
+                return courseCount;
+            }
+        };
+    }
+
+    // EFFECTS: returns the course with the given code (ignoring case), or null if there is none
+    public Course getCourseByName(String courseCode) {
+        int index = indexOf(courseCode);
+        return (index < 0) ? null : getCourse(index);
+    }
+
+    // EFFECTS: returns the position of the course with the given code (ignoring case), or -1 if
+    // there is none; nothing is decoded but the codes probed in the hash table
+    public int indexOf(String courseCode) {
+        if (courseCode == null) {
+            return -1;
+        }
+        int slot = BinaryWriter.hashSlot(courseCode, hashCapacity);
+        int entry = buffer.getInt(hashTablePos + slot * Integer.BYTES);
+        while (entry != 0) {
+            if (stringAt(buffer.getInt(recordPos(entry - 1))).equalsIgnoreCase(courseCode)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & (hashCapacity - 1);
+            entry = buffer.getInt(hashTablePos + slot * Integer.BYTES);
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns a course with a time block overlapping timeBlock, or null if there is none;
+    // only the course that is returned gets decoded
+    public Course findConflictingCourse(TimeBlock timeBlock) {
+        int index = findConflictingIndex(timeBlock);
+        return (index < 0) ? null : getCourse(index);
+    }
+
+    // EFFECTS: returns the position of a course with a time block overlapping timeBlock, or -1 if
+    // there is none. Like DayIntervalIndex, it finds the blocks of the day that start before
+    // timeBlock ends, and among them the first whose running maximum end is after timeBlock starts.
+    public int findConflictingIndex(TimeBlock timeBlock) {
+        int day = timeBlock.getDayIndex();
+        int start = timeBlock.getWeekStart();
+        int limit = firstStartAtOrAfter(day, timeBlock.getWeekEnd());
+        if (limit == 0 || entryField(day, limit - 1, 1) <= start) {
+            return -1;
+        }
+        int lo = 0;
+        int hi = limit - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entryField(day, mid, 1) > start) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return entryField(day, lo, 2);
+    }
+
+    // EFFECTS: returns true if no course in the catalog overlaps timeBlock
+    public boolean isFree(TimeBlock timeBlock) {
+        return findConflictingIndex(timeBlock) < 0;
+    }
+
+    // EFFECTS: returns the first entry of the day's block index that starts at or after time
+    // (the block count if there is none)
+    private int firstStartAtOrAfter(int day, int time) {
+        int lo = 0;
+        int hi = dayBlockCount[day];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entryField(day, mid, 0) < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // EFFECTS: returns field 0 (start), 1 (maxEnd) or 2 (course) of entry i of the day's block index
+    private int entryField(int day, int i, int field) {
+        return buffer.getInt(dayIndexPos[day] + i * INDEX_ENTRY_SIZE + field * Integer.BYTES);
+    }
+
+    // EFFECTS: returns the file position of the fields of course record index (after its length prefix)
+    private int recordPos(int index) {
+        return buffer.getInt(courseOffsetsPos + index * Integer.BYTES) + Integer.BYTES;
+    }
+
+    // EFFECTS: returns the time block stored at pos as a day label index and packed form
+    private TimeBlock timeBlockAt(int pos) {
+        return TimeBlock.fromPacked(stringAt(buffer.getInt(pos)), buffer.getInt(pos + Integer.BYTES));
+    }
+
+    // EFFECTS: decodes the string-table entry with the given index
+    private String stringAt(int index) {
+        int pos = buffer.getInt(stringOffsetsPos + index * Integer.BYTES);
+        byte[] bytes = new byte[Short.BYTES + Short.toUnsignedInt(buffer.getShort(pos))];
+        buffer.get(pos, bytes);
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
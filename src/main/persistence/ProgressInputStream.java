@@ -0,0 +1,64 @@
+package persistence;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+// Represents an input stream that counts the bytes read through it, reports the count to a
+// ProgressListener, and gives up with InterruptedIOException once the reading thread has been
+// interrupted, so a reader running in the background can be cancelled between buffer fills.
+class ProgressInputStream extends FilterInputStream {
+    private final ProgressListener listener;
+    private final long total;
+    private long done;
+
+    // EFFECTS: wraps in, which holds total bytes, reporting to listener
+    ProgressInputStream(InputStream in, long total, ProgressListener listener) {
+        super(in);
+        this.listener = listener;
+        this.total = total;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkInterrupted();
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        checkInterrupted();
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkInterrupted();
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds n to the bytes read and reports the new count
+    private void advance(long n) {
+        done += n;
+        listener.progress(done, total);
+    }
+
+    // EFFECTS: throws InterruptedIOException if the current thread has been interrupted
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Reading was cancelled");
+        }
+    }
+}
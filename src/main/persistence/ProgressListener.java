@@ -0,0 +1,9 @@
+package persistence;
+
+// Represents an observer told how far a reader or writer has got through a timetable file.
+// It is called on the thread doing the reading or writing.
+public interface ProgressListener {
+    // EFFECTS: called as work proceeds with the amount done so far out of total (bytes read for
+    // readers, courses written for writers); total is 0 if it is not known
+    void progress(long done, long total);
+}
@@ -0,0 +1,99 @@
+package persistence;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import model.Event;
+import model.EventSink;
+
+// Represents an EventSink that appends events to a text file, one line per event
+// ("<ISO-8601 time>\t<description>"). Each batch is written with a single write call and forced
+// to disk before the next one, so the trail survives a crash of the application.
+// When the file would grow past maxBytes it is rolled: destination becomes destination.1,
+// destination.1 becomes destination.2, and so on, keeping at most maxFiles files in total.
+public class RollingFileEventSink implements EventSink {
+    public static final long DEFAULT_MAX_BYTES = 1 << 20;
+    public static final int DEFAULT_MAX_FILES = 5;
+
+    private final Path destination;
+    private final long maxBytes;
+    private final int maxFiles;
+    private FileOutputStream out;
+    private long size;
+
+    // EFFECTS: constructs a sink that appends to destination, rolling it at DEFAULT_MAX_BYTES
+    // and keeping DEFAULT_MAX_FILES files
+    public RollingFileEventSink(String destination) {
+        this(destination, DEFAULT_MAX_BYTES, DEFAULT_MAX_FILES);
+    }
+
+    // REQUIRES: maxBytes > 0, maxFiles >= 1
+    // EFFECTS: constructs a sink that appends to destination, rolling it once it would exceed
+    // maxBytes and keeping at most maxFiles files
+    public RollingFileEventSink(String destination, long maxBytes, int maxFiles) {
+        this.destination = Paths.get(destination);
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens destination for appending; throws IOException if it cannot be opened
+    public void open() throws IOException {
+        out = new FileOutputStream(destination.toFile(), true);
+        size = Files.size(destination);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends one line per event, rolling the file first if the batch would not fit;
+    // throws IOException if the events cannot be written
+    @Override
+    public void write(List<Event> events) throws IOException {
+        StringBuilder sb = new StringBuilder(events.size() * 64);
+        for (Event e : events) {
+            sb.append(e.getInstant()).append('\t').append(e.getDescription()).append('\n');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && size + bytes.length > maxBytes) {
+            roll();
+        }
+        out.write(bytes);
+        out.getFD().sync();
+        size += bytes.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the file; throws IOException if it cannot be closed
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shifts every rolled file up by one (dropping the oldest), moves destination to
+    // destination.1 and starts a new, empty destination
+    private void roll() throws IOException {
+        out.close();
+        if (maxFiles > 1) {
+            Files.deleteIfExists(rolled(maxFiles - 1));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(destination, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        out = new FileOutputStream(destination.toFile(), false);
+        size = 0;
+    }
+
+    // EFFECTS: returns the path of the i-th rolled file
+    private Path rolled(int i) {
+        return Paths.get(destination + "." + i);
+    }
+}
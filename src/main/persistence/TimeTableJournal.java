@@ -0,0 +1,407 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.CRC32;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import model.TimeTableListener;
+
+// Represents journaled storage for a TimeTable: a binary snapshot (see BinaryWriter) plus an
+// append-only log of the changes made since the snapshot was written.
+// Once attached, every course that is added, removed or edited appends one small checksummed
+// record to the log, so saving costs O(change) rather than rewriting the whole timetable.
+// When the log grows past a threshold it is rotated and a background thread folds it into a new
+// snapshot, which replaces the old one with an atomic rename. Loading reads the snapshot and
+// replays the logs; a record torn by a crash fails its checksum and is dropped along with
+// anything after it, so the saved copy is never left half-written.
+public class TimeTableJournal implements TimeTableListener {
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 20;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path snapshot;
+    private final Path log;
+    private final Path compactingLog;
+    private final long compactionThreshold;
+    private final ExecutorService compactor;
+
+    private DataOutputStream logOut;
+    private FileOutputStream logFile;
+    private long logSize;
+    private Future<?> compaction;
+    private IOException failure;
+
+    // EFFECTS: constructs a journal that keeps its snapshot at snapshotPath and its log next to it
+    public TimeTableJournal(String snapshotPath) {
+        this(snapshotPath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // REQUIRES: compactionThreshold > 0
+    // EFFECTS: constructs a journal that keeps its snapshot at snapshotPath and its log next to it,
+    // compacting the log once it holds more than compactionThreshold bytes
+    public TimeTableJournal(String snapshotPath, long compactionThreshold) {
+        this.snapshot = Paths.get(snapshotPath);
+        this.log = Paths.get(snapshotPath + ".log");
+        this.compactingLog = Paths.get(snapshotPath + ".log.compacting");
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "timetable-journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads the timetable from the snapshot and logs (an empty timetable if there are none),
+    // then attaches this journal to it so that later changes are logged; returns the timetable.
+    // Throws IOException if the stored data cannot be read or the log cannot be opened.
+    public synchronized TimeTable open() throws IOException {
+        TimeTable timeTable = readSnapshot();
+        replay(compactingLog, timeTable);
+        long goodLength = replay(log, timeTable);
+        if (Files.exists(log)) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(goodLength);
+            }
+        }
+        openLog(goodLength);
+        if (Files.exists(compactingLog)) {
+            compaction = compactor.submit(this::compactRotatedLog);
+        }
+        timeTable.addListener(this);
+        return timeTable;
+    }
+
+    // MODIFIES: this, timeTable
+    // EFFECTS: makes timeTable the whole content of this journal: writes it as the new snapshot,
+    // discards any earlier logs, then attaches this journal to it so that later changes are logged.
+    // Throws IOException if the snapshot cannot be written or the log cannot be opened.
+    public synchronized void attach(TimeTable timeTable) throws IOException {
+        writeSnapshot(timeTable);
+        Files.deleteIfExists(compactingLog);
+        Files.deleteIfExists(log);
+        openLog(0);
+        timeTable.addListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes the log and forces it to disk; throws IOException if any earlier
+    // append failed or the log cannot be synced
+    public synchronized void sync() throws IOException {
+        checkFailure();
+        logOut.flush();
+        logFile.getFD().sync();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rotates the current log and folds it into the snapshot on the background thread
+    public synchronized void compact() {
+        if (compaction != null && !compaction.isDone()) {
+            return;
+        }
+        try {
+            if (!Files.exists(compactingLog)) {
+                logOut.close();
+                Files.move(log, compactingLog, StandardCopyOption.ATOMIC_MOVE);
+                openLog(0);
+            }
+        } catch (IOException e) {
+            failure = e;
+            return;
+        }
+        compaction = compactor.submit(this::compactRotatedLog);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for a running compaction to finish, then syncs and closes the log;
+    // throws IOException if anything could not be written
+    public void close() throws IOException {
+        awaitCompaction();
+        synchronized (this) {
+            compactor.shutdown();
+            sync();
+            logOut.close();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: blocks until the background compaction (if any) has finished
+    public void awaitCompaction() throws IOException {
+        Future<?> pending;
+        synchronized (this) {
+            pending = compaction;
+        }
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for journal compaction", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Journal compaction did not finish", e);
+        }
+        synchronized (this) {
+            checkFailure();
+        }
+    }
+
+    @Override
+    public void courseAdded(Course course) {
+        append(PUT, course, course.getCourseCode());
+    }
+
+    @Override
+    public void courseRemoved(Course course) {
+        append(REMOVE, null, course.getCourseCode());
+    }
+
+    @Override
+    public void courseChanged(Course course) {
+        append(PUT, course, course.getCourseCode());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends a checksummed record to the log; PUT records carry the whole course,
+    // REMOVE records only its code. Starts a compaction when the log passes the threshold.
+    private synchronized void append(byte type, Course course, String courseCode) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeByte(type);
+            if (type == PUT) {
+                writeCourse(record, course);
+            } else {
+                record.writeUTF(courseCode);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            logOut.writeInt(bytes.size());
+            logOut.writeInt((int) crc.getValue());
+            bytes.writeTo(logOut);
+            logOut.flush();
+            logSize += 2 * Integer.BYTES + bytes.size();
+        } catch (IOException e) {
+            failure = e;
+        }
+        if (logSize > compactionThreshold) {
+            compact();
+        }
+    }
+
+    // EFFECTS: writes the full contents of course with its strings inline
+    private static void writeCourse(DataOutputStream out, Course course) throws IOException {
+        out.writeUTF(course.getCourseCode());
+        out.writeUTF(course.getInstructor() == null ? "" : course.getInstructor());
+        out.writeInt(course.getCredits());
+        out.writeUTF(course.getLocation() == null ? "" : course.getLocation());
+        out.writeInt(course.getLectureTimes().size());
+        for (TimeBlock t : course.getLectureTimes()) {
+            writeTimeBlock(out, t);
+        }
+        writeOptionalTimeBlock(out, course.getLabTime());
+        writeOptionalTimeBlock(out, course.getDiscussionTime());
+    }
+
+    // EFFECTS: writes a presence flag followed by timeBlock if it is not null
+    private static void writeOptionalTimeBlock(DataOutputStream out, TimeBlock timeBlock) throws IOException {
+        out.writeBoolean(timeBlock != null);
+        if (timeBlock != null) {
+            writeTimeBlock(out, timeBlock);
+        }
+    }
+
+    // EFFECTS: writes timeBlock as its day label and packed form
+    private static void writeTimeBlock(DataOutputStream out, TimeBlock timeBlock) throws IOException {
+        out.writeUTF(timeBlock.getDay());
+        out.writeInt(timeBlock.getPacked());
+    }
+
+    // EFFECTS: reads a course written by writeCourse
+    private static Course readCourse(DataInputStream in) throws IOException {
+        Course course = new Course(in.readUTF());
+        course.setInstructor(in.readUTF());
+        course.setCredits(in.readInt());
+        course.setLocation(in.readUTF());
+        int lectureCount = in.readInt();
+        for (int i = 0; i < lectureCount; i++) {
+            course.addLectureTime(readTimeBlock(in));
+        }
+        if (in.readBoolean()) {
+            course.setLabTime(readTimeBlock(in));
+        }
+        if (in.readBoolean()) {
+            course.setDiscussionTime(readTimeBlock(in));
+        }
+        return course;
+    }
+
+    // EFFECTS: reads a time block written by writeTimeBlock
+    private static TimeBlock readTimeBlock(DataInputStream in) throws IOException {
+        return TimeBlock.fromPacked(in.readUTF(), in.readInt());
+    }
+
+    // MODIFIES: timeTable
+    // EFFECTS: applies every intact record of logPath (if it exists) to timeTable, stopping at the
+    // first torn or corrupt record; returns the length of the intact prefix of the log
+    private static long replay(Path logPath, TimeTable timeTable) throws IOException {
+        if (!Files.exists(logPath)) {
+            return 0;
+        }
+        long good = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logPath)))) {
+            byte[] record = nextRecord(in);
+            while (record != null) {
+                apply(record, timeTable);
+                good += 2 * Integer.BYTES + record.length;
+                record = nextRecord(in);
+            }
+        }
+        return good;
+    }
+
+    // EFFECTS: returns the payload of the next record if it is complete and its checksum matches,
+    // otherwise null
+    private static byte[] nextRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0) {
+                return null;
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            return ((int) crc.getValue() == checksum) ? record : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // MODIFIES: timeTable
+    // EFFECTS: applies one record: PUT makes the course with its code match the record (see put),
+    // REMOVE removes it. Replaying a record twice gives the same result, so a log that was already
+    // folded into the snapshot can safely be replayed again after a crash.
+    private static void apply(byte[] record, TimeTable timeTable) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        if (type == PUT) {
+            put(timeTable, readCourse(in));
+        } else if (type == REMOVE) {
+            removeIfPresent(timeTable, in.readUTF());
+        }
+    }
+
+    // MODIFIES: timeTable
+    // EFFECTS: edits the course with the code of logged in place (keeping its position) so that it
+    // matches logged, first adding it with no times if it is not there. Times are set through the
+    // course rather than checked by addCourse, so a logged course is never turned away for a clash;
+    // throws IOException if it still cannot be added.
+    private static void put(TimeTable timeTable, Course logged) throws IOException {
+        Course course = timeTable.getCourseByName(logged.getCourseCode());
+        if (course == null) {
+            course = new Course(logged.getCourseCode());
+            if (!timeTable.addCourse(course)) {
+                throw new IOException("Journal record for " + logged.getCourseCode() + " could not be replayed");
+            }
+        }
+        course.setInstructor(logged.getInstructor());
+        course.setCredits(logged.getCredits());
+        course.setLocation(logged.getLocation());
+        course.removeCourse();
+        logged.getLectureTimes().forEach(course::addLectureTime);
+        course.setLabTime(logged.getLabTime());
+        course.setDiscussionTime(logged.getDiscussionTime());
+    }
+
+    // MODIFIES: timeTable
+    // EFFECTS: removes the course with the given code from timeTable if it is there
+    private static void removeIfPresent(TimeTable timeTable, String courseCode) {
+        Course existing = timeTable.getCourseByName(courseCode);
+        if (existing != null) {
+            timeTable.removeCourse(existing);
+        }
+    }
+
+    // EFFECTS: reads the snapshot, or returns an empty timetable if none has been written yet; the
+    // snapshot is this journal's own record of the timetable, so its courses are all kept even if
+    // some of them clash
+    private TimeTable readSnapshot() throws IOException {
+        if (!Files.exists(snapshot)) {
+            return new TimeTable();
+        }
+        return TimeTable.restore(new BinaryReader(snapshot.toString()).readCourses());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the log for appending, positioned after its first length bytes
+    private void openLog(long length) throws IOException {
+        logFile = new FileOutputStream(log.toFile(), true);
+        logOut = new DataOutputStream(new BufferedOutputStream(logFile));
+        logSize = length;
+    }
+
+    // EFFECTS: (background thread) reads the current snapshot, replays the rotated log onto it,
+    // writes the result to a temporary file, renames it over the snapshot and deletes the rotated log
+    private void compactRotatedLog() {
+        try {
+            TimeTable folded = readSnapshot();
+            replay(compactingLog, folded);
+            writeSnapshot(folded);
+            Files.delete(compactingLog);
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+            }
+        }
+    }
+
+    // EFFECTS: writes timeTable to a temporary file, forces it to disk and renames it over the snapshot
+    private void writeSnapshot(TimeTable timeTable) throws IOException {
+        File temp = new File(snapshot + ".tmp");
+        BinaryWriter writer = new BinaryWriter(temp.getPath());
+        writer.open();
+        try {
+            writer.write(timeTable);
+        } finally {
+            writer.close();
+        }
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp.toPath(), snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // EFFECTS: throws the first IOException recorded by an append or compaction, if any
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
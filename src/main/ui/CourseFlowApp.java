@@ -1,35 +1,52 @@
 package ui;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
+import model.ConflictReport;
 import model.Course;
+import model.MappedTimeTable;
 import model.TimeBlock;
 import model.TimeTable;
+import model.TimeTableSnapshot;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import persistence.LoadedTimeTable;
+import persistence.ProgressListener;
+import persistence.TimeTableJournal;
 
 // console-based application that allows users to manage their course schedule,
 // including adding, editing, viewing, and removing courses.
 public class CourseFlowApp {
     private Scanner scanner;
     private TimeTable timeTable;
+    private TimeTableJournal journal;
+    private Map<String, TimeTableSnapshot> versions;
 
-    private static final String JSON_STORE = "./data/timetable.json";
-    private JsonWriter jsonWriter;
-    private JsonReader jsonReader;
+    static final String JSON_STORE = "./data/timetable.json";
+    static final String JOURNAL_STORE = "./data/timetable.cft";
 
     // EFFECTS: construct a CourseFlowApp with a new Scanner for user input
     // and an empty TimeTable, then starts the application loop.
     public CourseFlowApp() {
         scanner = new Scanner(System.in);
         timeTable = new TimeTable();
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
+        versions = new LinkedHashMap<>();
         // runCourseFlow();
     }
 
@@ -61,15 +78,32 @@ public class CourseFlowApp {
                     editCourseDetails();
                     break;
                 case "7":
-                    saveTimeTable();
+                    System.out.println(saveTimeTable() ? "TimeTable saved successfully!" : "Unable to save file.");
                     break;
                 case "8":
-                    loadTimeTable();
+                    System.out.println(loadTimeTable() ? "TimeTable loaded successfully!" : "Unable to load file.");
+                    break;
+                case "9":
+                    saveVersion();
+                    break;
+                case "10":
+                    switchVersion();
+                    break;
+                case "11":
+                    System.out.println(undo() ? "Undone!" : "Nothing to undo.");
+                    break;
+                case "12":
+                    System.out.println(redo() ? "Redone!" : "Nothing to redo.");
                     break;
                 case "q":
                     keepGoing = false;
             }
         }
+        try {
+            closeJournal();
+        } catch (IOException e) {
+            System.out.println("Unable to save file.");
+        }
         System.out.println("\nGoodbye!");
     }
 
@@ -84,6 +118,10 @@ public class CourseFlowApp {
         System.out.println("6. Edit Course Detail");
         System.out.println("7. Save TimeTable");
         System.out.println("8. Load TimeTable");
+        System.out.println("9. Save Version");
+        System.out.println("10. Switch Version");
+        System.out.println("11. Undo");
+        System.out.println("12. Redo");
         System.out.println("Q. Quit");
         System.out.println("Enter your selection: \n");
     }
@@ -247,7 +285,7 @@ public class CourseFlowApp {
         System.out.print("Enter new End Time (HH:mm): ");
         LocalTime newEnd = LocalTime.parse(scanner.nextLine());
 
-        lectures.set(choice, new TimeBlock(newDay, newStart, newEnd));
+        course.setLectureTime(choice, new TimeBlock(newDay, newStart, newEnd));
         System.out.println("Lecture time updated!");
     }
 
@@ -351,35 +389,267 @@ public class CourseFlowApp {
     // EFFECTS: Finds and returns the course with the given course code.
     // if cant found the course, return null
     private Course findCourse(String courseCode) {
-        for (Course c : timeTable.getAllCourses()) {
-            if (c.getCourseCode().equalsIgnoreCase(courseCode)) {
-                return c;
+        return timeTable.getCourseByName(courseCode);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks for a name and keeps the current timetable as a version under that name
+    private void saveVersion() {
+        System.out.println("\nEnter a name for this version: ");
+        String name = scanner.nextLine();
+        saveVersion(name);
+        System.out.println("Version \"" + name + "\" saved!");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lists the saved versions and switches to the one the user names
+    private void switchVersion() {
+        System.out.println("\nSaved versions: " + getVersionNames());
+        System.out.println("Enter the version to switch to: ");
+        try {
+            System.out.println(restoreVersion(scanner.nextLine()) ? "Switched version!" : "Version not found!");
+        } catch (IOException e) {
+            System.out.println("Switched version, but unable to save the previous one to file.");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps an immutable copy of the current timetable under the given name, replacing any
+    // version with that name; this takes constant time and shares memory with the other versions
+    public void saveVersion(String name) {
+        versions.put(name, timeTable.snapshot());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the current timetable with an editable copy of the named version and returns
+    // true; returns false (keeping the current timetable) if there is no such version. Throws
+    // IOException if the journal of the replaced timetable could not be flushed (see setTimeTable)
+    public boolean restoreVersion(String name) throws IOException {
+        TimeTableSnapshot version = versions.get(name);
+        if (version == null) {
+            return false;
+        }
+        setTimeTable(version.toTimeTable());
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reverts the most recent change to the timetable and returns true, or returns false if
+    // there is nothing to undo
+    public boolean undo() {
+        return timeTable.getHistory().undo();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reapplies the most recently undone change and returns true, or returns false if
+    // there is nothing to redo
+    public boolean redo() {
+        return timeTable.getHistory().redo();
+    }
+
+    // EFFECTS: returns the names of the saved versions in the order they were first saved
+    public List<String> getVersionNames() {
+        return new ArrayList<>(versions.keySet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: save the current timetable to the journal at JOURNAL_STORE: just flush it if it is
+    // already open, otherwise write the timetable as its snapshot and log every later change to it.
+    // Returns true if it was saved, and false if the journal could not be written.
+    public boolean saveTimeTable() {
+        try {
+            if (journal != null) {
+                journal.sync();
+            } else {
+                startJournal(JOURNAL_STORE);
             }
+            return true;
+        } catch (IOException e) {
+            return false;
         }
-        return null;
     }
 
-    // EFFECTS: save the current timetable to JSON file.
-    // If the file cannot be opened, prints an error message.
-    public void saveTimeTable() {
+    // EFFECTS: save the current timetable to the given file, in the binary format if the
+    // file name ends with BinaryWriter.EXTENSION and as JSON otherwise.
+    // If the file cannot be written, nothing is saved.
+    public void saveTimeTable(String destination) {
         try {
-            jsonWriter.open();
-            jsonWriter.write(timeTable);
-            jsonWriter.close();
+            writeTimeTable(timeTable.snapshot(), destination, null);
             //System.out.println("TimeTable saved successfully!");
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             //System.out.println("Unable to save file.");
         }
     }
 
-    // EFFECTS: load the timetable from a saved JSON file.
-    // If there is no file, prints an error message.
-    public void loadTimeTable() {
+    // EFFECTS: writes the timetable version snapshot to destination, in the binary format if the
+    // file name ends with BinaryWriter.EXTENSION and as JSON otherwise, reporting the courses
+    // written to listener (null for none). The data goes to a new temporary file of its own next to
+    // destination (see createTempNextTo) that then replaces it, so a failed write leaves any earlier
+    // file untouched and a save that is still finishing after being cancelled never shares a file
+    // with a later one. Touches no state of this app, so it may run on a background thread.
+    // Throws IOException if the file cannot be written, or InterruptedIOException (leaving
+    // destination untouched) if the thread is interrupted.
+    public void writeTimeTable(TimeTableSnapshot snapshot, String destination, ProgressListener listener)
+            throws IOException {
+        Path target = Paths.get(destination).toAbsolutePath();
+        Path temp = createTempNextTo(target);
         try {
-            timeTable = jsonReader.read();
-            //System.out.println("TimeTable loaded successfully!");
+            writeFile(snapshot, temp.toString(), destination.endsWith(BinaryWriter.EXTENSION), listener);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Saving was cancelled");
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // EFFECTS: creates and returns a new empty file with a random name next to target; unlike
+    // Files.createTempFile it gets the usual permissions, which the saved file then keeps
+    private static Path createTempNextTo(Path target) throws IOException {
+        while (true) {
+            long id = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+            try {
+                return Files.createFile(target.resolveSibling(target.getFileName() + "." + id + ".tmp"));
+            } catch (FileAlreadyExistsException e) {
+                // taken by another save; pick another name
+            }
+        }
+    }
+
+    // EFFECTS: writes snapshot to file in the binary format if binary is true and as JSON otherwise,
+    // reporting the courses written to listener (null for none)
+    private static void writeFile(TimeTableSnapshot snapshot, String file, boolean binary, ProgressListener listener)
+            throws IOException {
+        if (binary) {
+            BinaryWriter binaryWriter = new BinaryWriter(file);
+            binaryWriter.setProgressListener(listener);
+            binaryWriter.open();
+            try {
+                binaryWriter.write(snapshot);
+            } finally {
+                binaryWriter.close();
+            }
+        } else {
+            JsonWriter jsonWriter = new JsonWriter(file);
+            jsonWriter.setProgressListener(listener);
+            jsonWriter.open();
+            try {
+                jsonWriter.writeStreaming(snapshot);
+            } finally {
+                jsonWriter.close();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: load the timetable from the journal at JOURNAL_STORE and keep logging to it, or from
+    // the JSON file saved before there was a journal if there is none yet.
+    // Returns true if it was loaded; if there is no file or it cannot be read, the current
+    // timetable is kept and false is returned.
+    public boolean loadTimeTable() {
+        if (!Files.exists(Paths.get(JOURNAL_STORE))) {
+            return loadTimeTable(JSON_STORE);
+        }
+        try {
+            openJournal(JOURNAL_STORE);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // EFFECTS: load the timetable from the given file, read as the binary format if the
+    // file name ends with BinaryWriter.EXTENSION and as JSON otherwise.
+    // Returns true if it was loaded; if the file cannot be read, the current timetable is kept and
+    // false is returned.
+    public boolean loadTimeTable(String source) {
+        try {
+            setTimeTable(readTimeTable(source, null).getTimeTable());
+            return true;
         } catch (IOException e) {
-            //System.out.println("No saved timetable found.");
+            return false;
+        }
+    }
+
+    // EFFECTS: reads the timetable in the given file, read as the binary format if the file name
+    // ends with BinaryWriter.EXTENSION and as JSON otherwise, reporting the bytes read to listener
+    // (null for none), and returns it with the report of any saved courses that were left out.
+    // A binary file with an index is mapped rather than read, so it opens at once however large it
+    // is and its courses are decoded as they are used (see MappedTimeTable); it was written from a
+    // timetable that was already checked, so nothing in it is left out.
+    // Touches no state of this app, so it may run on a background thread.
+    // Throws IOException if the file cannot be read, or InterruptedIOException if the thread is
+    // interrupted while reading.
+    public LoadedTimeTable readTimeTable(String source, ProgressListener listener) throws IOException {
+        if (source.endsWith(BinaryWriter.EXTENSION)) {
+            try {
+                TimeTable mapped = MappedTimeTable.open(source);
+                return new LoadedTimeTable(mapped, new ConflictReport(mapped.getAllCourses(), new ArrayList<>(),
+                        new ArrayList<>(), new ArrayList<>()));
+            } catch (IOException e) {
+                // written before files had an index to map (or unreadable); read it whole instead
+            }
+            BinaryReader binaryReader = new BinaryReader(source);
+            binaryReader.setProgressListener(listener);
+            TimeTable read = binaryReader.read();
+            return new LoadedTimeTable(read, binaryReader.getConflictReport());
+        }
+        JsonReader jsonReader = new JsonReader(source);
+        jsonReader.setProgressListener(listener);
+        TimeTable read = jsonReader.readStreaming();
+        return new LoadedTimeTable(read, jsonReader.getConflictReport());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the open journal (if any) and makes loaded the current timetable, with a
+    // fresh undo history. Throws IOException if the journal's last changes could not be flushed;
+    // loaded is made the current timetable even then.
+    public void setTimeTable(TimeTable loaded) throws IOException {
+        loaded.getHistory().clear();
+        try {
+            closeJournal();
+        } finally {
+            timeTable = loaded;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: load the timetable kept in a journal at snapshotPath and record every later change
+    // to it as it happens, so saving only has to flush the journal.
+    // Throws IOException if the open journal cannot be closed or this one cannot be opened; in the
+    // latter case the current timetable is kept.
+    public void openJournal(String snapshotPath) throws IOException {
+        closeJournal();
+        TimeTableJournal opened = new TimeTableJournal(snapshotPath);
+        timeTable = opened.open();
+        timeTable.getHistory().clear();
+        journal = opened;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: write the current timetable as the snapshot of a journal at snapshotPath, replacing
+    // what was there, and record every later change to it as it happens.
+    // Throws IOException if the open journal cannot be closed or this one cannot be written.
+    public void startJournal(String snapshotPath) throws IOException {
+        closeJournal();
+        TimeTableJournal started = new TimeTableJournal(snapshotPath);
+        started.attach(timeTable);
+        journal = started;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes and closes the open journal (if any) and stops recording changes to it
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            timeTable.removeListener(journal);
+            TimeTableJournal closing = journal;
+            journal = null;
+            closing.close();
         }
     }
 
@@ -0,0 +1,393 @@
+package ui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import persistence.JsonReader;
+import persistence.LoadedTimeTable;
+
+// Represents a headless way to drive CourseFlow from scripts and servers, without Swing or anyone
+// at the keyboard. It reads one command per line, each a JSON object with an "op" member, and
+// writes one JSON result per line, in the same order, each with the command's line number, its
+// op and "ok"; a command that fails has "ok": false and an "error" message and does not stop the
+// run. Blank lines and lines starting with # are skipped.
+//   {"op":"add","course":{...}}           the course as saved in timetable.json
+//   {"op":"remove","code":"CPSC210"}
+//   {"op":"edit","code":"CPSC210", any of "instructor", "credits", "location", "lectureTimes"
+//       (replaces all lectures), "labTime", "discussionTime" (null removes it)}
+//   {"op":"query"}  or  {"op":"query","code":"CPSC210"}
+//   {"op":"free","time":{"day":"MONDAY","startTime":"09:00","endTime":"10:00"}}
+//   {"op":"save","file":"..."}  {"op":"load","file":"..."}  {"op":"undo"}  {"op":"redo"}
+// Consecutive adds are collected and applied together with TimeTable.addCourses, up to MAX_BATCH
+// at a time, which gives the same result as adding them one by one (each add is still its own undo
+// step) but checks each batch for conflicts in a single sweep; a lone add goes straight through
+// TimeTable.addCourse. An edit is checked as a whole before any of it is applied, and is undone as
+// a whole.
+public class CourseFlowBatch {
+    static final int MAX_BATCH = 4096;
+
+    private final CourseFlowApp app;
+    private final Writer out;
+    private final List<Course> pendingCourses;
+    private final List<Long> pendingLines;
+    private long lineNumber;
+    private int failures;
+
+    // EFFECTS: creates a batch runner that applies commands to app's timetable and writes the
+    //          results to out
+    public CourseFlowBatch(CourseFlowApp app, Writer out) {
+        this.app = app;
+        this.out = out;
+        this.pendingCourses = new ArrayList<>();
+        this.pendingLines = new ArrayList<>();
+    }
+
+    // EFFECTS: runs the commands read from the file named by args[0], or from standard input if
+    //          there is no argument or it is "-", writing the results to standard output; exits
+    //          with status 1 if any command failed
+    public static void main(String[] args) throws IOException {
+        Reader source = (args.length == 0 || args[0].equals("-"))
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        int failures;
+        try (BufferedReader in = new BufferedReader(source, 1 << 16)) {
+            failures = new CourseFlowBatch(new CourseFlowApp(), out).run(in);
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs every command read from in and returns the number that failed;
+    //          throws IOException if in cannot be read or a result cannot be written
+    public int run(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank() && !line.startsWith("#")) {
+                execute(line);
+            }
+        }
+        flushAdds();
+        out.flush();
+        return failures;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs one command line (queueing it if it is an add) and writes its result
+    private void execute(String line) throws IOException {
+        String op = null;
+        JSONObject result;
+        try {
+            JSONObject command = new JSONObject(line);
+            op = command.getString("op");
+            if (op.equals("add")) {
+                queueAdd(command);
+                return;
+            }
+            flushAdds();
+            result = apply(op, command);
+        } catch (JSONException | IllegalArgumentException | DateTimeParseException | IOException e) {
+            flushAdds();
+            result = failure(e.getMessage());
+        }
+        write(lineNumber, op, result);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses the course of an add command and queues it, applying the queue once it holds
+    //          MAX_BATCH courses
+    private void queueAdd(JSONObject command) throws IOException {
+        pendingCourses.add(JsonReader.parseCourse(command.getJSONObject("course")));
+        pendingLines.add(lineNumber);
+        if (pendingCourses.size() >= MAX_BATCH) {
+            flushAdds();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the queued courses to the timetable and writes a result for each: a lone course
+    //          with addCourse, several in one batch with addCourses
+    private void flushAdds() throws IOException {
+        if (pendingCourses.size() == 1) {
+            addOne(pendingCourses.get(0), pendingLines.get(0));
+        } else if (!pendingCourses.isEmpty()) {
+            addBatch();
+        }
+        pendingCourses.clear();
+        pendingLines.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds course, queued from the given line, with addCourse and writes its result
+    private void addOne(Course course, long line) throws IOException {
+        TimeTable timeTable = app.getTimeTable();
+        boolean duplicate = false;
+        Set<String> partners = new LinkedHashSet<>();
+        if (!timeTable.addCourse(course)) {
+            duplicate = timeTable.getCourseByName(course.getCourseCode()) != null;
+            for (TimeBlock block : course.getAllTimeBlock()) {
+                Course other = timeTable.findConflictingCourse(block);
+                if (other != null) {
+                    partners.add(other.getCourseCode());
+                }
+            }
+        }
+        write(line, "add", addResult(course, duplicate, new JSONArray(partners)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the queued courses in one batch with addCourses and writes a result for each
+    private void addBatch() throws IOException {
+        ConflictReport report = app.getTimeTable().addCourses(pendingCourses, false);
+        Map<Course, JSONArray> partners = new IdentityHashMap<>();
+        for (ConflictReport.Collision c : report.getCollisions()) {
+            partners.computeIfAbsent(c.getSecond(), k -> new JSONArray()).put(c.getFirst().getCourseCode());
+        }
+        Set<Course> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+        duplicates.addAll(report.getDuplicates());
+        for (int i = 0; i < pendingCourses.size(); i++) {
+            Course course = pendingCourses.get(i);
+            write(pendingLines.get(i), "add", addResult(course, duplicates.contains(course), partners.get(course)));
+        }
+    }
+
+    // EFFECTS: returns the result of adding course: success if it is now in the timetable, and
+    //          otherwise why it was turned away (a duplicate code, or the courses it collides with)
+    private JSONObject addResult(Course course, boolean duplicate, JSONArray partners) {
+        if (app.getTimeTable().getCourseByName(course.getCourseCode()) == course) {
+            return success();
+        }
+        if (duplicate) {
+            return failure("A course with code " + course.getCourseCode() + " is already in the timetable");
+        }
+        return failure("Collides with another course").put("with", partners);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies a command other than add and returns its result; throws JSONException,
+    //          IllegalArgumentException or DateTimeParseException if the command is malformed and
+    //          IOException if a file cannot be read or written
+    private JSONObject apply(String op, JSONObject command) throws IOException {
+        switch (op) {
+            case "remove":
+                app.getTimeTable().removeCourse(find(command.getString("code")));
+                return success();
+            case "edit":
+                return edit(find(command.getString("code")), command);
+            case "query":
+                return query(command);
+            case "free":
+                return free(JsonReader.parseTimeBlock(command.getJSONObject("time")));
+            case "undo":
+                return success().put("changed", app.undo());
+            case "redo":
+                return success().put("changed", app.redo());
+            default:
+                return applyFileOp(op, command);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies a save or load command and returns its result; throws IllegalArgumentException
+    //          for any other op and IOException if the file cannot be read or written
+    private JSONObject applyFileOp(String op, JSONObject command) throws IOException {
+        switch (op) {
+            case "save":
+                app.writeTimeTable(app.getTimeTable().snapshot(), command.getString("file"), null);
+                return success();
+            case "load":
+                return load(command.getString("file"));
+            default:
+                throw new IllegalArgumentException("Unknown op: " + op);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the timetable with the one in file and returns how many courses it has and
+    //          the codes of any saved courses that were left out
+    private JSONObject load(String file) throws IOException {
+        LoadedTimeTable loaded = app.readTimeTable(file, null);
+        app.setTimeTable(loaded.getTimeTable());
+        return success().put("courses", app.getTimeTable().getAllCourses().size())
+                .put("rejected", new JSONArray(loaded.getRejectedCodes()));
+    }
+
+    // EFFECTS: returns the course with the given code; throws IllegalArgumentException if there is none
+    private Course find(String code) {
+        Course course = app.getTimeTable().getCourseByName(code);
+        if (course == null) {
+            throw new IllegalArgumentException("No course with code " + code);
+        }
+        return course;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: applies the edit command to course and returns its result. The whole command is
+    //          parsed, and the course's blocks as they would be after it are checked against the
+    //          other courses and each other, before anything changes; if the command is malformed or
+    //          a block clashes, nothing is changed. The changes are recorded as one undo step
+    private JSONObject edit(Course course, JSONObject command) {
+        List<TimeBlock> lectures = lecturesOf(course, command);
+        TimeBlock lab = optionalBlock(command, "labTime", course.getLabTime());
+        TimeBlock discussion = optionalBlock(command, "discussionTime", course.getDiscussionTime());
+        checkDetails(command);
+        if (command.has("lectureTimes") || command.has("labTime") || command.has("discussionTime")) {
+            checkFree(course, lectures, lab, discussion);
+        }
+        app.getTimeTable().getHistory().recordAsOne(() -> {
+            setDetails(course, command);
+            if (command.has("lectureTimes")) {
+                replaceLectures(course, lectures);
+            }
+            if (command.has("labTime")) {
+                course.setLabTime(lab);
+            }
+            if (command.has("discussionTime")) {
+                course.setDiscussionTime(discussion);
+            }
+        });
+        return success().put("course", course.toJson());
+    }
+
+    // EFFECTS: throws JSONException if command gives the instructor, credits or location with the
+    //          wrong type
+    private static void checkDetails(JSONObject command) {
+        if (command.has("instructor")) {
+            command.getString("instructor");
+        }
+        if (command.has("credits")) {
+            command.getInt("credits");
+        }
+        if (command.has("location")) {
+            command.getString("location");
+        }
+    }
+
+    // MODIFIES: course
+    // EFFECTS: sets the instructor, credits and location of course that command names
+    private static void setDetails(Course course, JSONObject command) {
+        if (command.has("instructor")) {
+            course.setInstructor(command.getString("instructor"));
+        }
+        if (command.has("credits")) {
+            course.setCredits(command.getInt("credits"));
+        }
+        if (command.has("location")) {
+            course.setLocation(command.getString("location"));
+        }
+    }
+
+    // EFFECTS: returns the lectures command gives, or the current lectures of course if it gives none
+    private static List<TimeBlock> lecturesOf(Course course, JSONObject command) {
+        if (!command.has("lectureTimes")) {
+            return course.getLectureTimes();
+        }
+        List<TimeBlock> lectures = new ArrayList<>();
+        JSONArray array = command.getJSONArray("lectureTimes");
+        for (int i = 0; i < array.length(); i++) {
+            lectures.add(JsonReader.parseTimeBlock(array.getJSONObject(i)));
+        }
+        return lectures;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: replaces every lecture of course with lectures
+    private static void replaceLectures(Course course, List<TimeBlock> lectures) {
+        for (int i = course.getLectureTimes().size() - 1; i >= 0; i--) {
+            course.removeLectureTime(course.getLectureTimes().get(i));
+        }
+        lectures.forEach(course::addLectureTime);
+    }
+
+    // EFFECTS: returns the block command gives for key (null if it is JSON null), or current if
+    //          command does not mention key
+    private static TimeBlock optionalBlock(JSONObject command, String key, TimeBlock current) {
+        if (!command.has(key)) {
+            return current;
+        }
+        return command.isNull(key) ? null : JsonReader.parseTimeBlock(command.getJSONObject(key));
+    }
+
+    // EFFECTS: throws IllegalArgumentException if any of the given blocks (null ones are skipped)
+    //          overlaps a course other than course, or another of the given blocks
+    private void checkFree(Course course, List<TimeBlock> lectures, TimeBlock lab, TimeBlock discussion) {
+        List<TimeBlock> blocks = new ArrayList<>(lectures);
+        blocks.add(lab);
+        blocks.add(discussion);
+        blocks.removeIf(Objects::isNull);
+        for (int i = 0; i < blocks.size(); i++) {
+            Course other = app.getTimeTable().findConflictingCourse(blocks.get(i), course);
+            if (other != null) {
+                throw new IllegalArgumentException(blocks.get(i) + " collides with " + other.getCourseCode());
+            }
+            for (int j = 0; j < i; j++) {
+                if (blocks.get(i).isConflictsWith(blocks.get(j))) {
+                    throw new IllegalArgumentException(blocks.get(i) + " collides with " + blocks.get(j));
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns the named course, or every course if command names none
+    private JSONObject query(JSONObject command) {
+        if (command.has("code")) {
+            return success().put("course", find(command.getString("code")).toJson());
+        }
+        return success().put("courses", app.getTimeTable().toJson().getJSONArray("courses"));
+    }
+
+    // EFFECTS: returns whether block is free and, if not, which course it collides with
+    private JSONObject free(TimeBlock block) {
+        Course other = app.getTimeTable().findConflictingCourse(block);
+        JSONObject result = success().put("free", other == null);
+        return (other == null) ? result : result.put("with", other.getCourseCode());
+    }
+
+    // EFFECTS: returns a result for a command that succeeded
+    private static JSONObject success() {
+        return new JSONObject().put("ok", true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts a failed command and returns its result
+    private JSONObject failure(String message) {
+        failures++;
+        return new JSONObject().put("ok", false).put("error", String.valueOf(message));
+    }
+
+    // EFFECTS: writes result, tagged with the line number and op of its command, as one line
+    private void write(long line, String op, JSONObject result) throws IOException {
+        result.put("line", line);
+        if (op != null) {
+            result.put("op", op);
+        }
+        out.write(result.toString());
+        out.write('\n');
+    }
+}
@@ -1,12 +1,17 @@
 package ui;
 
+import model.ConflictReport;
 import model.Course;
+import model.EventLog;
 import model.TimeBlock;
 import model.TimeTable;
+import model.TimeTableSnapshot;
+import persistence.LoadedTimeTable;
+import persistence.RollingFileEventSink;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.IOException;
 import java.time.LocalTime;
 
 // A GUI for managing a course timetable. 
@@ -14,18 +19,40 @@ import java.time.LocalTime;
 public class CourseFlowGUI extends JFrame {
     private CourseFlowApp courseFlowApp;
     private JTable timetableTable;
-    private DefaultTableModel tableModel;
-    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
-    private static final String[] TIME_SLOTS = generateTimeSlots(); // 08:00 ~ 19:00
+    private TimetableTableModel tableModel;
+    private RollingFileEventSink eventSink;
+    private FileWorker<?> fileWorker;
+    private final String store;
+    private static final String[] DAYS = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+    private static final LocalTime GRID_START = LocalTime.of(8, 0); // 08:00 ~ 19:30
+    private static final LocalTime GRID_END = LocalTime.of(19, 30);
+    private static final int DEFAULT_RESOLUTION = 30;
+    private static final int ICON_SIZE = 80;
+    private static final String EVENT_LOG_FILE = "./data/events.log";
+
+    // MODIFIES: this
+    // EFFECTS: Initializes and displays the CourseFlowGUI window, saving to and loading from the
+    //          default JSON file.
+    public CourseFlowGUI() {
+        this(CourseFlowApp.JSON_STORE, false);
+    }
 
     // MODIFIES: this
     // EFFECTS: Initializes and displays the CourseFlowGUI window.
     //          Sets up the timetable table, buttons, and listeners.  
     //          user can add, view, and delete their course schedule on the time-table
     //          print eventlog when app is closed.
+    //          Save and Load use the file store (binary if it ends with BinaryWriter.EXTENSION);
+    //          if loadAtStart, it is loaded as soon as the window is shown.
     @SuppressWarnings("methodlength")
-    public CourseFlowGUI() {
+    public CourseFlowGUI(String store, boolean loadAtStart) {
+        this.store = store;
         courseFlowApp = new CourseFlowApp();
+        ImageLoader.prewarm(ICON_SIZE, ICON_SIZE, "studyLamp.png", "labicon.png", "discussionicon.png",
+                "deleteicon.png", "saveicon.png", "loadicon.png");
+        startEventTrail();
 
         setTitle("Course Flow Manager");
         setSize(1000, 500);
@@ -37,19 +64,12 @@ public class CourseFlowGUI extends JFrame {
         titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
         add(titleLabel, BorderLayout.NORTH);
 
-        String[] columnNames = new String[DAYS.length + 1]; 
-        columnNames[0] = "Time";
-        System.arraycopy(DAYS, 0, columnNames, 1, DAYS.length);
-
-        tableModel = new DefaultTableModel(columnNames, 0);
+        tableModel = new TimetableTableModel(courseFlowApp.getTimeTable(),
+                new TimeGrid(GRID_START, GRID_END, DEFAULT_RESOLUTION, false));
         timetableTable = new JTable(tableModel);
 
         timetableTable.setDefaultRenderer(Object.class, new CustomCellRenderer());
 
-        for (String time : TIME_SLOTS) {
-            tableModel.addRow(new Object[] { time, "", "", "", "", "" });
-        }
-
         add(new JScrollPane(timetableTable), BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel();
@@ -57,112 +77,168 @@ public class CourseFlowGUI extends JFrame {
         JButton deleteButton = new JButton("Delete Course");
         JButton saveButton = new JButton("Save");
         JButton loadButton = new JButton("Load");
+        JButton undoButton = new JButton("Undo");
+        JButton redoButton = new JButton("Redo");
 
         buttonPanel.add(addButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(saveButton);
         buttonPanel.add(loadButton);
+        buttonPanel.add(undoButton);
+        buttonPanel.add(redoButton);
+        addGridControls(buttonPanel);
         add(buttonPanel, BorderLayout.SOUTH);
 
         // add button
         addButton.addActionListener(e -> addCourseGUI());
         deleteButton.addActionListener(e -> deleteCourse());
+        undoButton.addActionListener(e -> courseFlowApp.undo());
+        redoButton.addActionListener(e -> courseFlowApp.redo());
 
-        saveButton.addActionListener(e -> {
-            courseFlowApp.saveTimeTable();
-            ImageIcon saveIcon = ImageLoader.loadIcon("saveicon.png", 80, 80);
-            JOptionPane.showMessageDialog(null, "Timetable saved successfully!", "Save Complete",
-                    JOptionPane.INFORMATION_MESSAGE, saveIcon);
-        });
-
-        loadButton.addActionListener(e -> {
-            courseFlowApp.loadTimeTable();
-            updateTimetableTable();
-            ImageIcon loadIcon = ImageLoader.loadIcon("loadicon.png", 80, 80);
-            JOptionPane.showMessageDialog(null, "Timetable loaded successfully!", "Load Complete",
-                    JOptionPane.INFORMATION_MESSAGE, loadIcon);
-        });
-
-        updateTimetableTable();
+        saveButton.addActionListener(e -> saveInBackground());
+        loadButton.addActionListener(e -> loadInBackground());
 
         addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosing(java.awt.event.WindowEvent e) {
                 courseFlowApp.getTimeTable().printEventLog();
+                stopEventTrail();
             }
         });
 
         setVisible(true);
+        if (loadAtStart) {
+            loadInBackground();
+        }
     }
 
-    // MODIFIES: this
-    // EFFECTS: Update timetable to JTable
-    private void updateTimetableTable() {
-        for (int i = 0; i < TIME_SLOTS.length; i++) {
-            for (int j = 1; j <= DAYS.length; j++) {
-                tableModel.setValueAt("", i, j);
-            }
+    // MODIFIES: this, panel
+    // EFFECTS: adds a choice of grid resolution and a weekend toggle to panel, which lay the
+    //          timetable table out again when changed
+    private void addGridControls(JPanel panel) {
+        Integer[] choices = new Integer[TimeGrid.RESOLUTIONS.length];
+        for (int i = 0; i < choices.length; i++) {
+            choices[i] = TimeGrid.RESOLUTIONS[i];
         }
+        JComboBox<Integer> resolutionBox = new JComboBox<>(choices);
+        resolutionBox.setSelectedItem(DEFAULT_RESOLUTION);
+        resolutionBox.addActionListener(e -> tableModel.setGrid(
+                tableModel.getGrid().withResolution((Integer) resolutionBox.getSelectedItem())));
+        JCheckBox weekendBox = new JCheckBox("Weekends");
+        weekendBox.addActionListener(e -> tableModel.setGrid(
+                tableModel.getGrid().withWeekends(weekendBox.isSelected())));
+        panel.add(new JLabel("Minutes per row:"));
+        panel.add(resolutionBox);
+        panel.add(weekendBox);
+    }
 
-        TimeTable timeTable = courseFlowApp.getTimeTable();
-        for (Course course : timeTable.getAllCourses()) {
-            for (TimeBlock block : course.getLectureTimes()) {
-                addTimeBlockToTable(block, course.getCourseCode() + " (Lecture)");
-            }
-            if (course.getLabTime() != null) {
-                addTimeBlockToTable(course.getLabTime(), course.getCourseCode() + " (Lab)");
-            }
-            if (course.getDiscussionTime() != null) {
-                addTimeBlockToTable(course.getDiscussionTime(), course.getCourseCode() + " (Discussion)");
-            }
+    // MODIFIES: this
+    // EFFECTS: starts appending logged events to EVENT_LOG_FILE on the event log's background thread;
+    //          if the file cannot be opened, events are only kept in memory
+    private void startEventTrail() {
+        RollingFileEventSink sink = new RollingFileEventSink(EVENT_LOG_FILE);
+        try {
+            sink.open();
+            EventLog.getInstance().addSink(sink);
+            eventSink = sink;
+        } catch (IOException e) {
+            eventSink = null;
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: Adds a course's time block to the timetable based on its day and time slot
-    private void addTimeBlockToTable(TimeBlock block, String courseInfo) {
-        int column = getDayColumn(block.getDay());
-        if (column == -1) {
+    // EFFECTS: waits briefly for queued events to reach EVENT_LOG_FILE, then closes it
+    private void stopEventTrail() {
+        if (eventSink == null) {
             return;
         }
+        try {
+            EventLog.getInstance().flush(1000);
+            EventLog.getInstance().removeSink(eventSink);
+            eventSink.close();
+        } catch (IOException e) {
+            // nothing more can be written
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-        int startRow = getTimeRow(block.getStartTime());
-        int endRow = getTimeRow(block.getEndTime());
-
-        for (int i = startRow; i < endRow; i++) {
-            tableModel.setValueAt(courseInfo, i, column);
+    // MODIFIES: this
+    // EFFECTS: saves a snapshot of the timetable as it is now on a background thread, showing its
+    //          progress, then reports success or failure; does nothing while a load or save runs
+    private void saveInBackground() {
+        if (fileWorker != null && !fileWorker.isDone()) {
+            return;
         }
+        TimeTableSnapshot snapshot = courseFlowApp.getTimeTable().snapshot();
+        FileWorker<TimeTableSnapshot> worker = new FileWorker<>(this, "Saving timetable...", listener -> {
+            courseFlowApp.writeTimeTable(snapshot, store, listener);
+            return snapshot;
+        }, saved -> {
+            ImageIcon saveIcon = ImageLoader.loadIcon("saveicon.png", ICON_SIZE, ICON_SIZE);
+            JOptionPane.showMessageDialog(null, "Timetable saved successfully!", "Save Complete",
+                    JOptionPane.INFORMATION_MESSAGE, saveIcon);
+        }, e -> showFileError("save", e));
+        fileWorker = worker;
+        worker.start();
     }
 
-    // EFFECTS: Converts a day string into the corresponding column index in the timetable
-    private int getDayColumn(String day) {
-        for (int i = 0; i < DAYS.length; i++) {
-            if (DAYS[i].equalsIgnoreCase(day)) {
-                return i + 1;
-            }
+    // MODIFIES: this
+    // EFFECTS: reads the saved timetable on a background thread, showing its progress, and only
+    //          once it has been read completely makes it the app's timetable and shows it, listing
+    //          any saved courses that were left out; on failure or cancellation the current
+    //          timetable is kept. Does nothing while a load or save runs
+    private void loadInBackground() {
+        if (fileWorker != null && !fileWorker.isDone()) {
+            return;
         }
-        return -1;
+        FileWorker<LoadedTimeTable> worker = new FileWorker<>(this, "Loading timetable...",
+                listener -> courseFlowApp.readTimeTable(store, listener), this::showLoaded,
+                e -> showFileError("load", e));
+        fileWorker = worker;
+        worker.start();
     }
 
-    // EFFECTS: Converts a time into the corresponding row index in the timetable
-    private int getTimeRow(LocalTime time) {
-        for (int i = 0; i < TIME_SLOTS.length; i++) {
-            if (TIME_SLOTS[i].equals(time.toString())) {
-                return i;
-            }
+    // MODIFIES: this
+    // EFFECTS: makes loaded the app's timetable and shows it, listing any saved courses that were
+    //          left out; also reports it if the changes to the timetable it replaces could not be saved
+    private void showLoaded(LoadedTimeTable loaded) {
+        try {
+            courseFlowApp.setTimeTable(loaded.getTimeTable());
+        } catch (IOException e) {
+            showFileError("save", e);
         }
-        return TIME_SLOTS.length - 1;
+        updateTimetableTable();
+        ImageIcon loadIcon = ImageLoader.loadIcon("loadicon.png", ICON_SIZE, ICON_SIZE);
+        JOptionPane.showMessageDialog(null, loadMessage(loaded.getConflictReport()), "Load Complete",
+                JOptionPane.INFORMATION_MESSAGE, loadIcon);
     }
 
-    // EFFECTS: Generates time slots from 08:00 to 19:00 (30minute intervals) and return it in HH:mm format
-    private static String[] generateTimeSlots() {
-        String[] slots = new String[23]; // 08:00 ~ 19:00 (30min gap)
-        LocalTime time = LocalTime.of(8, 0);
-        for (int i = 0; i < slots.length; i++) {
-            slots[i] = time.toString();
-            time = time.plusMinutes(30);
+    // EFFECTS: returns the message shown after loading, naming the saved courses that were left out
+    //          because they clash with, or repeat the code of, a course loaded before them
+    private static String loadMessage(ConflictReport report) {
+        if (report.isClean()) {
+            return "Timetable loaded successfully!";
+        }
+        StringBuilder message = new StringBuilder("Timetable loaded, but these saved courses clash with or repeat ")
+                .append("an earlier course and were left out:");
+        for (Course c : report.getRejected()) {
+            message.append("\n  ").append(c.getCourseCode());
         }
-        return slots;
+        return message.toString();
+    }
+
+    // EFFECTS: tells the user that the given file action failed and why
+    private void showFileError(String action, Exception e) {
+        JOptionPane.showMessageDialog(this, "Unable to " + action + " timetable: " + e.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: points the table at the app's current timetable, which loading replaces; changes to
+    //          the timetable itself reach the table through its model
+    private void updateTimetableTable() {
+        tableModel.setTimeTable(courseFlowApp.getTimeTable());
     }
 
     // MODIFIES: this
@@ -172,7 +248,7 @@ public class CourseFlowGUI extends JFrame {
     //          Updates the timetable display and shows a success message.
     @SuppressWarnings("methodlength")
     private void addCourseGUI() {
-        ImageIcon courseIcon = ImageLoader.loadIcon("studyLamp.png", 80, 80);
+        ImageIcon courseIcon = ImageLoader.loadIcon("studyLamp.png", ICON_SIZE, ICON_SIZE);
 
         JPanel panel = new JPanel(new GridLayout(2, 2));
         JTextField courseCodeField = new JTextField(5);
@@ -207,7 +283,6 @@ public class CourseFlowGUI extends JFrame {
         }
 
         if (courseFlowApp.getTimeTable().addCourse(newCourse)) {
-            updateTimetableTable();
             JOptionPane.showMessageDialog(null, "Course Added", "Success", JOptionPane.INFORMATION_MESSAGE, courseIcon);
         }
     }
@@ -257,7 +332,7 @@ public class CourseFlowGUI extends JFrame {
     // EFFECTS: Displays a confirmation dialog with a Yes/No option.
     //          Returns true if the user selects "Yes"
     private boolean confirmAction(String message, String iconFile) {
-        ImageIcon icon = (iconFile != null) ? ImageLoader.loadIcon(iconFile, 80, 80) : null; 
+        ImageIcon icon = (iconFile != null) ? ImageLoader.loadIcon(iconFile, ICON_SIZE, ICON_SIZE) : null; 
 
         int result = JOptionPane.showConfirmDialog(null, message, "Confirm",
                 JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, icon);
@@ -269,7 +344,7 @@ public class CourseFlowGUI extends JFrame {
     //          If the course exists, removes it from the timetable and updates the display.
     //          If the course does not exist, displays an error message.
     private void deleteCourse() {
-        ImageIcon deleteIcon = ImageLoader.loadIcon("deleteicon.png", 80, 80); 
+        ImageIcon deleteIcon = ImageLoader.loadIcon("deleteicon.png", ICON_SIZE, ICON_SIZE); 
 
         String courseCode = (String) JOptionPane.showInputDialog(
                 this, "Enter Course Code to delete:", "Delete Course",
@@ -289,7 +364,6 @@ public class CourseFlowGUI extends JFrame {
 
             if (courseToRemove != null) {
                 timeTable.removeCourse(courseToRemove); 
-                updateTimetableTable(); 
                 JOptionPane.showMessageDialog(
                         this, "Course " + courseCode + " deleted", "Done", JOptionPane.INFORMATION_MESSAGE, deleteIcon);
             } else {
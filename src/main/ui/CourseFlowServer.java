@@ -0,0 +1,471 @@
+package ui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import model.TimeTableSnapshot;
+import persistence.JsonReader;
+import persistence.LoadedTimeTable;
+
+// Represents a local HTTP/JSON service over one CourseFlowApp, so other tools can share a warm
+// timetable instead of each starting a JVM and rereading timetable.json. It only listens on the
+// loopback address. Requests and responses are JSON, courses in the same form as timetable.json:
+//   GET    /courses                      every course
+//   GET    /courses/{code}               one course (404 if there is none)
+//   POST   /courses                      add a course, or {"courses":[...]} to add several at once
+//   DELETE /courses/{code}               remove a course
+//   GET    /free?day=&start=&end=        whether the slot is free, and if not which course has it
+//   GET    /free?day=&minutes=[&from=&to=]  every free gap of at least that many minutes that day
+//   POST   /save, /load  [{"file":"..."}]  write or read the server's file, or another file named
+//                                        in the same directory
+//   POST   /undo, /redo
+// Request bodies must be sent as application/json (415 otherwise), and any request with an Origin
+// header is refused (403), so a web page open in the user's browser cannot drive the service.
+// Each request runs on its own virtual thread where the JVM has them (Java 21 and later) and on a
+// cached thread pool otherwise. The timetable is guarded by a read/write lock: changes take the
+// write lock, and reads only hold the read lock long enough to take an O(1) snapshot (see
+// TimeTable.snapshot()), which they then serialize without blocking anyone.
+public class CourseFlowServer {
+    public static final int DEFAULT_PORT = 8210;
+    static final LocalTime DEFAULT_FROM = LocalTime.of(8, 0);
+    static final LocalTime DEFAULT_TO = LocalTime.of(22, 0);
+
+    private final CourseFlowApp app;
+    private final Path file;
+    private final ReadWriteLock lock;
+    private final Object saveLock;
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    // EFFECTS: creates a server for app on the given loopback port (0 picks a free one) that saves
+    //          to and loads from file, or other files in its directory, not yet started; throws
+    //          IOException if the port cannot be bound
+    public CourseFlowServer(CourseFlowApp app, int port, Path file) throws IOException {
+        this.app = app;
+        this.file = file.toAbsolutePath().normalize();
+        this.lock = new ReentrantReadWriteLock();
+        this.saveLock = new Object();
+        this.executor = newExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/courses", exchange -> respond(exchange, this::courses));
+        server.createContext("/free", exchange -> respond(exchange, this::free));
+        server.createContext("/save", exchange -> respond(exchange, this::save));
+        server.createContext("/load", exchange -> respond(exchange, this::load));
+        server.createContext("/undo", exchange -> respond(exchange, e -> step(e, true)));
+        server.createContext("/redo", exchange -> respond(exchange, e -> step(e, false)));
+    }
+
+    // EFFECTS: serves the timetable in the file named by args[1] (CourseFlowApp.JSON_STORE if not
+    //          given, and read only if given) on the port in args[0] (DEFAULT_PORT if not given)
+    //          until the process is stopped
+    public static void main(String[] args) throws IOException {
+        CourseFlowApp app = new CourseFlowApp();
+        if (args.length > 1) {
+            app.setTimeTable(app.readTimeTable(args[1], null).getTimeTable());
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Path file = Paths.get(args.length > 1 ? args[1] : CourseFlowApp.JSON_STORE);
+        CourseFlowServer server = new CourseFlowServer(app, port, file);
+        server.start();
+        System.out.println("CourseFlow is listening on http://localhost:" + server.getPort());
+    }
+
+    // EFFECTS: returns an executor that runs each task on a new virtual thread, or a cached thread
+    //          pool on JVMs without virtual threads
+    static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts accepting requests
+    public void start() {
+        server.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops accepting requests, waits up to delaySeconds for the ones in progress and
+    //          shuts the executor down
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    // EFFECTS: returns the port the server listens on
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // EFFECTS: answers a request under /courses
+    private Reply courses(HttpExchange exchange) throws IOException {
+        String code = exchange.getRequestURI().getPath().substring("/courses".length()).replaceFirst("^/", "");
+        String method = exchange.getRequestMethod();
+        if (code.isEmpty() && method.equals("GET")) {
+            return new Reply(200, new JSONObject().put("courses", toJson(currentSnapshot().getAllCourses())));
+        } else if (code.isEmpty() && method.equals("POST")) {
+            return add(readBody(exchange));
+        } else if (!code.isEmpty() && method.equals("GET")) {
+            return new Reply(200, find(currentSnapshot(), code).toJson());
+        } else if (!code.isEmpty() && method.equals("DELETE")) {
+            return remove(code);
+        }
+        throw new UnsupportedOperationException(method + " is not supported here");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the course in body, or the courses listed in it, in one batch; answers 200 if
+    //          they were all added and 409 with the duplicates and collisions otherwise
+    private Reply add(JSONObject body) {
+        List<Course> batch = new ArrayList<>();
+        if (body.has("courses")) {
+            JSONArray array = body.getJSONArray("courses");
+            for (int i = 0; i < array.length(); i++) {
+                batch.add(JsonReader.parseCourse(array.getJSONObject(i)));
+            }
+        } else {
+            batch.add(JsonReader.parseCourse(body));
+        }
+        ConflictReport report;
+        lock.writeLock().lock();
+        try {
+            report = app.getTimeTable().addCourses(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Reply(report.isClean() ? 200 : 409, toJson(report));
+    }
+
+    // EFFECTS: returns report as JSON: the codes accepted, the duplicates and each collision
+    private static JSONObject toJson(ConflictReport report) {
+        JSONArray accepted = new JSONArray();
+        report.getAccepted().forEach(c -> accepted.put(c.getCourseCode()));
+        JSONArray duplicates = new JSONArray();
+        report.getDuplicates().forEach(c -> duplicates.put(c.getCourseCode()));
+        JSONArray collisions = new JSONArray();
+        for (ConflictReport.Collision c : report.getCollisions()) {
+            collisions.put(new JSONObject().put("course", c.getSecond().getCourseCode())
+                    .put("with", c.getFirst().getCourseCode()));
+        }
+        return new JSONObject().put("accepted", accepted).put("duplicates", duplicates)
+                .put("collisions", collisions);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the course with the given code
+    private Reply remove(String code) {
+        lock.writeLock().lock();
+        try {
+            TimeTable timeTable = app.getTimeTable();
+            Course course = timeTable.getCourseByName(code);
+            if (course == null) {
+                throw new NoSuchElementException("No course with code " + code);
+            }
+            timeTable.removeCourse(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Reply(200, new JSONObject().put("removed", code));
+    }
+
+    // EFFECTS: answers GET /free: checks one slot if the query has start and end, and otherwise
+    //          lists the free gaps of at least the given number of minutes on the day
+    private Reply free(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        if (query.containsKey("minutes")) {
+            return new Reply(200, new JSONObject().put("slots", freeGaps(query)));
+        }
+        TimeBlock block = JsonReader.parseTimeBlock(new JSONObject().put("day", require(query, "day"))
+                .put("startTime", require(query, "start")).put("endTime", require(query, "end")));
+        Course other;
+        lock.readLock().lock();
+        try {
+            other = app.getTimeTable().findConflictingCourse(block);
+        } finally {
+            lock.readLock().unlock();
+        }
+        JSONObject result = new JSONObject().put("free", other == null);
+        return new Reply(200, (other == null) ? result : result.put("with", other.getCourseCode()));
+    }
+
+    // EFFECTS: returns the gaps between from and to on the queried day that are at least the
+    //          queried number of minutes long and overlap no course, as {startTime, endTime}
+    private JSONArray freeGaps(Map<String, String> query) {
+        int minutes = Integer.parseInt(query.get("minutes"));
+        LocalTime from = query.containsKey("from") ? LocalTime.parse(query.get("from")) : DEFAULT_FROM;
+        LocalTime to = query.containsKey("to") ? LocalTime.parse(query.get("to")) : DEFAULT_TO;
+        List<int[]> taken = takenOn(new TimeBlock(require(query, "day"), from, to).getDayIndex());
+        JSONArray gaps = new JSONArray();
+        int cursor = from.getHour() * 60 + from.getMinute();
+        for (int[] t : taken) {
+            addGap(gaps, cursor, t[0], minutes);
+            cursor = Math.max(cursor, t[1]);
+        }
+        addGap(gaps, cursor, to.getHour() * 60 + to.getMinute(), minutes);
+        return gaps;
+    }
+
+    // EFFECTS: returns the [start, end) minutes of every block on the given day of the current
+    //          version of the timetable, sorted by start
+    private List<int[]> takenOn(int day) {
+        List<int[]> taken = new ArrayList<>();
+        for (Course c : currentSnapshot().getAllCourses()) {
+            for (TimeBlock b : c.getAllTimeBlock()) {
+                if (b.getDayIndex() == day) {
+                    taken.add(new int[] { b.getStartMinute(), b.getEndMinute() });
+                }
+            }
+        }
+        taken.sort((a, b) -> Integer.compare(a[0], b[0]));
+        return taken;
+    }
+
+    // MODIFIES: gaps
+    // EFFECTS: adds the gap [start, end) (in minutes of the day) to gaps if it is at least minutes long
+    private static void addGap(JSONArray gaps, int start, int end, int minutes) {
+        if (end - start >= minutes && end > start) {
+            gaps.put(new JSONObject().put("startTime", clock(start)).put("endTime", clock(end)));
+        }
+    }
+
+    // EFFECTS: returns the minute of the day as HH:mm
+    private static String clock(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+
+    // EFFECTS: writes the timetable as it is now to the file the request body names (see
+    //          resolve); the snapshot is written without holding the lock, one save at a time
+    private Reply save(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        Path target = resolve(readBody(exchange));
+        TimeTableSnapshot snapshot = currentSnapshot();
+        synchronized (saveLock) {
+            app.writeTimeTable(snapshot, target.toString(), null);
+        }
+        return new Reply(200, new JSONObject().put("saved", snapshot.size()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the timetable with the one in the file the request body names (see
+    //          resolve) and replies with its size and the codes of any saved courses that were
+    //          left out; the file is read before the lock is taken
+    private Reply load(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        LoadedTimeTable loaded = app.readTimeTable(resolve(readBody(exchange)).toString(), null);
+        lock.writeLock().lock();
+        try {
+            app.setTimeTable(loaded.getTimeTable());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Reply(200, new JSONObject().put("loaded", loaded.getTimeTable().getAllCourses().size())
+                .put("rejected", new JSONArray(loaded.getRejectedCodes())));
+    }
+
+    // EFFECTS: returns the server's file if body names none, and otherwise the file named by
+    //          body's "file" in the same directory; throws IllegalArgumentException if that name
+    //          leads anywhere else
+    private Path resolve(JSONObject body) {
+        if (!body.has("file")) {
+            return file;
+        }
+        Path directory = file.getParent();
+        Path target = directory.resolve(body.getString("file")).normalize();
+        if (!directory.equals(target.getParent())) {
+            throw new IllegalArgumentException("Only files in " + directory + " can be saved or loaded");
+        }
+        return target;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: undoes (if undo is true) or redoes the latest change
+    private Reply step(HttpExchange exchange, boolean undo) {
+        requireMethod(exchange, "POST");
+        boolean changed;
+        lock.writeLock().lock();
+        try {
+            changed = undo ? app.undo() : app.redo();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Reply(200, new JSONObject().put("changed", changed));
+    }
+
+    // EFFECTS: returns the current version of the timetable
+    private TimeTableSnapshot currentSnapshot() {
+        lock.readLock().lock();
+        try {
+            return app.getTimeTable().snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // EFFECTS: returns the course of snapshot with the given code; throws NoSuchElementException
+    //          if there is none
+    private static Course find(TimeTableSnapshot snapshot, String code) {
+        Course course = snapshot.getCourseByName(code);
+        if (course == null) {
+            throw new NoSuchElementException("No course with code " + code);
+        }
+        return course;
+    }
+
+    // EFFECTS: returns the courses as a JSON array
+    private static JSONArray toJson(List<Course> courses) {
+        JSONArray array = new JSONArray();
+        for (Course c : courses) {
+            array.put(c.toJson());
+        }
+        return array;
+    }
+
+    // EFFECTS: runs route for exchange and sends its reply, or an error status with
+    //          {"error": message} if route fails: 400 for a malformed request, 404 for a missing
+    //          course, 405 for an unsupported method and 500 for anything else (e.g. a file that
+    //          cannot be read or written); requests refused by screen are not routed at all
+    private static void respond(HttpExchange exchange, Route route) throws IOException {
+        Reply reply = screen(exchange);
+        try {
+            reply = (reply != null) ? reply : route.handle(exchange);
+        } catch (JSONException | IllegalArgumentException | DateTimeParseException e) {
+            reply = Reply.error(400, e);
+        } catch (NoSuchElementException e) {
+            reply = Reply.error(404, e);
+        } catch (UnsupportedOperationException e) {
+            reply = Reply.error(405, e);
+        } catch (IOException | RuntimeException e) {
+            reply = Reply.error(500, e);
+        }
+        byte[] bytes = reply.body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(reply.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // EFFECTS: returns a 403 reply if exchange has an Origin header (only browsers send one, and
+    //          this service is not meant for web pages), a 415 reply if it has a body that is not
+    //          application/json, and null if it may be routed
+    private static Reply screen(HttpExchange exchange) {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            return new Reply(403, new JSONObject().put("error", "Requests from web pages are not accepted"));
+        }
+        if (hasBody(exchange) && !isJson(exchange.getRequestHeaders().getFirst("Content-Type"))) {
+            return new Reply(415, new JSONObject().put("error", "Request bodies must be application/json"));
+        }
+        return null;
+    }
+
+    // EFFECTS: returns true if exchange says it sends a request body
+    private static boolean hasBody(HttpExchange exchange) {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        return exchange.getRequestHeaders().containsKey("Transfer-Encoding")
+                || (length != null && !length.trim().equals("0"));
+    }
+
+    // EFFECTS: returns true if contentType is application/json, with or without parameters
+    private static boolean isJson(String contentType) {
+        return contentType != null
+                && contentType.split(";")[0].trim().toLowerCase(Locale.ROOT).equals("application/json");
+    }
+
+    // EFFECTS: throws UnsupportedOperationException unless exchange uses the given method
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new UnsupportedOperationException(exchange.getRequestMethod() + " is not supported here");
+        }
+    }
+
+    // EFFECTS: returns the request body as a JSON object, or an empty one if there is no body
+    private static JSONObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isBlank() ? new JSONObject() : new JSONObject(text);
+        }
+    }
+
+    // EFFECTS: returns the decoded parameters of a raw query string (null means none)
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = (eq < 0) ? pair : pair.substring(0, eq);
+            String value = (eq < 0) ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // EFFECTS: returns the parameter key of query; throws IllegalArgumentException if it is missing
+    private static String require(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + key);
+        }
+        return value;
+    }
+
+    // Represents the handling of the requests under one path
+    private interface Route {
+        // EFFECTS: returns the reply to exchange
+        Reply handle(HttpExchange exchange) throws IOException;
+    }
+
+    // Represents a status code and the JSON body sent with it
+    private static final class Reply {
+        private final int status;
+        private final JSONObject body;
+
+        Reply(int status, JSONObject body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        // EFFECTS: returns a reply with status and the message of e
+        static Reply error(int status, Exception e) {
+            return new Reply(status, new JSONObject().put("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
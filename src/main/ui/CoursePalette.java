@@ -0,0 +1,38 @@
+package ui;
+
+import java.awt.Color;
+import java.util.Locale;
+
+// Represents the colours courses are drawn in. The palette is generated once: hues step around the
+// colour wheel by the golden angle so neighbouring entries differ clearly, with alternating
+// saturation and brightness for extra variety. A course's colour is picked by hashing its code
+// (ignoring case), so the same course always gets the same colour, in every session and whatever
+// else is in the timetable.
+final class CoursePalette {
+    static final int SIZE = 48;
+
+    private static final float GOLDEN_RATIO_CONJUGATE = 0.618034f;
+    private static final Color[] COLORS = generate();
+
+    private CoursePalette() {
+    }
+
+    // EFFECTS: returns the colour of the course with the given code
+    static Color colorOf(String courseCode) {
+        int h = courseCode.toUpperCase(Locale.ROOT).hashCode();
+        return COLORS[Math.floorMod(h ^ (h >>> 16), SIZE)];
+    }
+
+    // EFFECTS: returns SIZE light colours with well-spread hues
+    private static Color[] generate() {
+        Color[] colors = new Color[SIZE];
+        float hue = 0.7f;
+        for (int i = 0; i < SIZE; i++) {
+            float saturation = (i % 2 == 0) ? 0.35f : 0.5f;
+            float brightness = (i % 3 == 0) ? 0.85f : 0.97f;
+            colors[i] = Color.getHSBColor(hue, saturation, brightness);
+            hue = (hue + GOLDEN_RATIO_CONJUGATE) % 1f;
+        }
+        return colors;
+    }
+}
@@ -2,26 +2,14 @@ package ui;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableModel;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
 
 // A custom table cell renderer for displaying courses in different colors.
+// The colour of each cell is looked up in the TimetableTableModel, which works it out once when a
+// course is painted into the grid (see CoursePalette), so painting a cell parses no text and
+// allocates nothing.
 public class CustomCellRenderer extends DefaultTableCellRenderer {
-    private static final Map<String, Color> COURSE_COLORS = new HashMap<>();
-    private static final Color[] COLOR_PALETTE = {
-            new Color(175, 175, 255), // purple
-            new Color(162, 205, 90), // green
-            new Color(255, 200, 0), // yellow
-            new Color(255, 175, 175), // pink
-            new Color(190, 190, 190), // purple
-            new Color(139, 115, 85) // brown
-    };
-    private static final Set<Color> USED_COLORS = new HashSet<>();
-    private static final Random random = new Random();
     private static final Color TIME_COLUMN_COLOR = new Color(224, 238, 238); // sky
 
     // EFFECTS: Initializes the cell renderer and sets text alignment to center.
@@ -32,47 +20,26 @@ public class CustomCellRenderer extends DefaultTableCellRenderer {
     // EFFECTS: Customizes table cells color
     //          - time column: light blue
     //          - Empty cells: white
-    //          - Courses are assigned different color
+    //          - Courses: the colour the table model gives them
     @Override
     public Component getTableCellRendererComponent(JTable table, Object value,
             boolean isSelected, boolean hasFocus, int row, int column) {
         Component cell = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+        int modelColumn = table.convertColumnIndexToModel(column);
 
         // time column
-        if (column == 0) {
+        if (modelColumn == 0) {
             cell.setBackground(TIME_COLUMN_COLOR);
             return cell;
         }
 
-        // background cells
-        if (value == null || value.toString().trim().isEmpty()) {
-            cell.setBackground(Color.WHITE);
-            return cell;
+        // course color, or background cells
+        Color color = null;
+        TableModel model = table.getModel();
+        if (model instanceof TimetableTableModel) {
+            color = ((TimetableTableModel) model).getColorAt(table.convertRowIndexToModel(row), modelColumn);
         }
-
-        // course color
-        String text = value.toString();
-        String courseCode = text.split(" ")[0]; 
-
-        if (!COURSE_COLORS.containsKey(courseCode)) {
-            COURSE_COLORS.put(courseCode, getUniqueColor());
-        }
-
-        cell.setBackground(COURSE_COLORS.get(courseCode));
+        cell.setBackground(color == null ? Color.WHITE : color);
         return cell;
     }
-
-    // EFFECTS: Returns a unique color that hasn't been used before.
-    //          If all preset colors are used, returns a random color.
-    private Color getUniqueColor() {
-        for (Color color : COLOR_PALETTE) {
-            if (!USED_COLORS.contains(color)) {
-                USED_COLORS.add(color);
-                return color;
-            }
-        }
-        return COLOR_PALETTE[random.nextInt(COLOR_PALETTE.length)];
-    }
-
-
 }
@@ -0,0 +1,87 @@
+package ui;
+
+import java.awt.Component;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import persistence.ProgressListener;
+
+// Represents a load or save of a timetable file that runs on a background thread while a
+// ProgressMonitor shows how far it has got, so the window stays responsive during the I/O.
+// The result is handed to onSuccess on the event thread only once the work has completely
+// finished, so the app never sees a half-read timetable, and a failure is handed to onFailure
+// instead. Pressing Cancel interrupts the background thread (readers stop between buffer fills
+// and saves stop before replacing the file) and nothing is published.
+class FileWorker<T> extends SwingWorker<T, Void> {
+    private static final int POLL_MILLIS = 100;
+
+    private final Task<T> task;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Exception> onFailure;
+    private final ProgressMonitor monitor;
+    private final Timer poller;
+
+    // EFFECTS: creates a worker that runs task with a progress monitor over parent showing message
+    FileWorker(Component parent, String message, Task<T> task, Consumer<T> onSuccess,
+               Consumer<Exception> onFailure) {
+        this.task = task;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+        this.monitor = new ProgressMonitor(parent, message, null, 0, 100);
+        monitor.setMillisToDecideToPopup(POLL_MILLIS);
+        this.poller = new Timer(POLL_MILLIS, e -> {
+            monitor.setProgress(getProgress());
+            if (monitor.isCanceled()) {
+                cancel(true);
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts polling the monitor and runs the task on a background thread
+    void start() {
+        poller.start();
+        execute();
+    }
+
+    // EFFECTS: runs the task, turning the amounts it reports into a percentage
+    @Override
+    protected T doInBackground() throws IOException {
+        return task.run((done, total) -> {
+            if (total > 0) {
+                setProgress((int) Math.min(100, done * 100 / total));
+            }
+        });
+    }
+
+    // EFFECTS: closes the monitor and, unless the worker was cancelled, hands the result or the
+    // failure to the callbacks on the event thread
+    @Override
+    protected void done() {
+        poller.stop();
+        monitor.close();
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            onSuccess.accept(get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            onFailure.accept((cause instanceof Exception) ? (Exception) cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Represents the I/O a FileWorker runs in the background
+    interface Task<T> {
+        // EFFECTS: does the work, reporting progress to listener, and returns its result;
+        // throws IOException if the file cannot be read or written
+        T run(ProgressListener listener) throws IOException;
+    }
+}
@@ -1,21 +1,72 @@
 package ui;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-// Loads images from a directory and resize them to the specified size
+// Loads images from a directory and resize them to the specified size.
+// Each (file, width, height) is decoded and scaled only once: the resulting icons are kept in a
+// thread-safe cache, so dialogs reuse them instead of decoding and smooth-scaling the PNG every
+// time they open, and prewarm can fill the cache on a background thread at startup.
 public class ImageLoader {
+    private static final Map<String, ImageIcon> CACHE = new ConcurrentHashMap<>();
 
-    // EFFECTS: Loads an image from a directory and resizes it to the given width and height.
+    // EFFECTS: Loads an image from a directory and resizes it to the given width and height,
+    //          or returns null if there is no such image; the result is cached for later calls.
     public static ImageIcon loadIcon(String fileName, int width, int height) {
-        ImageIcon originalIcon = new ImageIcon(ImageLoader.class.getResource("/data/" + fileName));
-        return scaleImage(originalIcon, width, height);
+        return CACHE.computeIfAbsent(fileName + '@' + width + 'x' + height,
+            key -> readIcon(fileName, width, height));
     }
 
-    // EFFECTS: resize an ImageIcon to the specified width and height
-    private static ImageIcon scaleImage(ImageIcon icon, int width, int height) {
-        Image image = icon.getImage(); 
-        Image scaledImage = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImage);
+    // EFFECTS: loads and caches the given images at the given size on a background thread
+    public static void prewarm(int width, int height, String... fileNames) {
+        Thread loader = new Thread(() -> {
+            for (String fileName : fileNames) {
+                loadIcon(fileName, width, height);
+            }
+        }, "icon-prewarm");
+        loader.setDaemon(true);
+        loader.setPriority(Thread.MIN_PRIORITY);
+        loader.start();
+    }
+
+    // EFFECTS: decodes the image and returns it scaled to width x height, or null if the image is
+    //          missing or cannot be decoded
+    private static ImageIcon readIcon(String fileName, int width, int height) {
+        URL url = ImageLoader.class.getResource("/data/" + fileName);
+        if (url == null) {
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(url);
+            return (image == null) ? null : new ImageIcon(scaleImage(image, width, height));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // EFFECTS: resize an image to the specified width and height, halving it with bilinear
+    //          filtering while it is still more than twice as large, so that shrinking a big image
+    //          stays sharp without the cost of an area-averaging filter
+    private static BufferedImage scaleImage(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = (w / 2 >= width) ? w / 2 : width;
+            h = (h / 2 >= height) ? h / 2 : height;
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
     }
 }
@@ -1,12 +1,32 @@
 package ui;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import javax.swing.SwingUtilities;
 
-// Launches the CourseFlow GUI
+// Launches the CourseFlow GUI (on a given timetable file, if any), or the headless batch mode
+// (--batch) or local HTTP service (--serve)
 public class Main {
 
-    // Effects: Initializes and launches the CourseFlow GUI
-    public static void main(String[] args) {
+    // Effects: Initializes and launches the CourseFlow GUI, opening the timetable file given as the
+    //          only argument if there is one (a binary .cft file opens at once, however large,
+    //          since it is mapped rather than read); with --batch [file], runs the commands
+    //          in file (or standard input) through CourseFlowBatch instead, and with
+    //          --serve [port [file]], serves the timetable through CourseFlowServer
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            CourseFlowBatch.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            CourseFlowServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0) {
+            SwingUtilities.invokeLater(() -> new CourseFlowGUI(args[0], true));
+            return;
+        }
         SwingUtilities.invokeLater(() -> new CourseFlowGUI());
     }
 
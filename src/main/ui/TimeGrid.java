@@ -0,0 +1,120 @@
+package ui;
+
+import java.time.LocalTime;
+
+import model.TimeBlock;
+
+// Represents the layout of the week grid: which days are shown (Monday to Friday, or the whole
+// week) and which part of the day, cut into rows of a fixed resolution. Rows are found by plain
+// arithmetic on minutes of the day, (minute - first minute) / resolution, so mapping a time block
+// to its rows takes O(1) and works for any start time, not just ones on a slot boundary.
+public final class TimeGrid {
+    public static final int[] RESOLUTIONS = { 5, 10, 15, 30 };
+
+    private static final String[] DAY_NAMES = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+    private static final int WEEKDAYS = 5;
+
+    private final int firstMinute;
+    private final int endMinute;
+    private final int resolution;
+    private final boolean weekends;
+
+    // EFFECTS: creates a grid showing from start to end (rounded out to whole rows) in rows of
+    //          resolution minutes, on weekdays only or on the whole week if weekends is true;
+    //          throws IllegalArgumentException if resolution is not one of RESOLUTIONS or end is
+    //          not after start
+    public TimeGrid(LocalTime start, LocalTime end, int resolution, boolean weekends) {
+        if (!isSupported(resolution)) {
+            throw new IllegalArgumentException("Unsupported resolution: " + resolution + " minutes");
+        }
+        int from = start.getHour() * 60 + start.getMinute();
+        int to = end.equals(LocalTime.MIDNIGHT) ? TimeBlock.MINUTES_PER_DAY : end.getHour() * 60 + end.getMinute();
+        if (to <= from) {
+            throw new IllegalArgumentException("Grid must end after it starts: " + start + " - " + end);
+        }
+        this.firstMinute = from - from % resolution;
+        this.endMinute = Math.min(TimeBlock.MINUTES_PER_DAY, (to + resolution - 1) / resolution * resolution);
+        this.resolution = resolution;
+        this.weekends = weekends;
+    }
+
+    // EFFECTS: returns true if resolution is one of RESOLUTIONS
+    public static boolean isSupported(int resolution) {
+        for (int r : RESOLUTIONS) {
+            if (r == resolution) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns a grid like this one with the given resolution, keeping the visible range
+    public TimeGrid withResolution(int resolution) {
+        return new TimeGrid(getStart(), getEnd(), resolution, weekends);
+    }
+
+    // EFFECTS: returns a grid like this one that shows the weekend if weekends is true
+    public TimeGrid withWeekends(boolean weekends) {
+        return new TimeGrid(getStart(), getEnd(), resolution, weekends);
+    }
+
+    public int getRowCount() {
+        return (endMinute - firstMinute) / resolution;
+    }
+
+    public int getDayCount() {
+        return weekends ? TimeBlock.DAYS_PER_WEEK : WEEKDAYS;
+    }
+
+    public int getResolution() {
+        return resolution;
+    }
+
+    public boolean showsWeekends() {
+        return weekends;
+    }
+
+    public LocalTime getStart() {
+        return LocalTime.of(firstMinute / 60, firstMinute % 60);
+    }
+
+    public LocalTime getEnd() {
+        if (endMinute == TimeBlock.MINUTES_PER_DAY) {
+            return LocalTime.MIDNIGHT;
+        }
+        return LocalTime.of(endMinute / 60, endMinute % 60);
+    }
+
+    // REQUIRES: 0 <= day < getDayCount()
+    // EFFECTS: returns the name of the day shown in the given day column (0 = Monday)
+    public String getDayName(int day) {
+        return DAY_NAMES[day];
+    }
+
+    // REQUIRES: 0 <= row < getRowCount()
+    // EFFECTS: returns the start time of the given row as HH:mm
+    public String getRowLabel(int row) {
+        int minute = firstMinute + row * resolution;
+        return LocalTime.of(minute / 60, minute % 60).toString();
+    }
+
+    // EFFECTS: returns the day column of block (its day index), or -1 if its day is not shown
+    public int columnOf(TimeBlock block) {
+        int day = block.getDayIndex();
+        return (day < getDayCount()) ? day : -1;
+    }
+
+    // EFFECTS: returns the first row that block overlaps, clamped to the grid
+    public int firstRowOf(TimeBlock block) {
+        return Math.max(0, Math.floorDiv(block.getStartMinute() - firstMinute, resolution));
+    }
+
+    // EFFECTS: returns one past the last row that block overlaps, clamped to the grid; it is not
+    //          after firstRowOf(block) if block lies wholly outside the visible range
+    public int endRowOf(TimeBlock block) {
+        int end = Math.floorDiv(block.getEndMinute() - firstMinute + resolution - 1, resolution);
+        return Math.min(getRowCount(), end);
+    }
+}
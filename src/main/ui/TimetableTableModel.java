@@ -0,0 +1,321 @@
+package ui;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import model.TimeTableListener;
+
+// Represents the week grid of a TimeTable as a Swing table model: a "Time" column followed by one
+// column per day, and one row per time slot, laid out by a TimeGrid. Each cell remembers the
+// course occupying it, and the model listens to the timetable, so adding, removing or editing a
+// course repaints only that course's cells and fires one event per day column for the rows that changed, instead of the
+// whole grid being cleared and refilled (with an event per cell) after every change.
+// Each cell also keeps the colour of its course (see CoursePalette), worked out once when the
+// course is painted, so the renderer only has to look it up.
+public class TimetableTableModel extends AbstractTableModel implements TimeTableListener {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Course, List<Range>> painted;
+    private TimeGrid grid;
+    private String[] columnNames;
+    private String[] timeLabels;
+    private Course[][] owners;
+    private String[][] labels;
+    private Color[][] colors;
+    private int[] dirtyFirst;
+    private int[] dirtyLast;
+    private TimeTable timeTable;
+
+    // EFFECTS: creates a model showing timeTable laid out by grid
+    public TimetableTableModel(TimeTable timeTable, TimeGrid grid) {
+        this.painted = new IdentityHashMap<>();
+        this.timeTable = timeTable;
+        setGrid(grid);
+        timeTable.addListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lays the grid out again by grid (e.g. a different resolution, range or set of days)
+    //          and repaints every course once
+    public void setGrid(TimeGrid grid) {
+        this.grid = grid;
+        int rows = grid.getRowCount();
+        int days = grid.getDayCount();
+        columnNames = new String[days + 1];
+        columnNames[0] = "Time";
+        for (int d = 0; d < days; d++) {
+            columnNames[d + 1] = grid.getDayName(d);
+        }
+        timeLabels = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            timeLabels[i] = grid.getRowLabel(i);
+        }
+        owners = new Course[rows][days];
+        labels = new String[rows][days];
+        colors = new Color[rows][days];
+        dirtyFirst = new int[days];
+        dirtyLast = new int[days];
+        repaintAll();
+        fireTableStructureChanged();
+    }
+
+    public TimeGrid getGrid() {
+        return grid;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows timeTable instead of the current one (if it is a different timetable),
+    //          following its later changes, and repaints the grid once
+    public void setTimeTable(TimeTable timeTable) {
+        if (timeTable == this.timeTable) {
+            return;
+        }
+        this.timeTable.removeListener(this);
+        this.timeTable = timeTable;
+        for (int row = 0; row < owners.length; row++) {
+            Arrays.fill(owners[row], null);
+            Arrays.fill(labels[row], null);
+            Arrays.fill(colors[row], null);
+        }
+        repaintAll();
+        timeTable.addListener(this);
+        fireTableDataChanged();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: paints every course of the timetable into empty cells, without firing events
+    private void repaintAll() {
+        painted.clear();
+        for (Course c : timeTable.getAllCourses()) {
+            paint(c, rangesOf(c));
+        }
+        resetDirty();
+    }
+
+    public TimeTable getTimeTable() {
+        return timeTable;
+    }
+
+    @Override
+    public int getRowCount() {
+        return timeLabels.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    // EFFECTS: returns the slot start time in the first column, and otherwise the course and
+    //          component (e.g. "CPSC210 (Lecture)") in the cell, or "" if it is free
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return timeLabels[row];
+        }
+        String label = labels[row][column - 1];
+        return (label == null) ? "" : label;
+    }
+
+    // EFFECTS: returns the course occupying the cell, or null if it is free or in the time column
+    public Course getCourseAt(int row, int column) {
+        return (column == 0) ? null : owners[row][column - 1];
+    }
+
+    // EFFECTS: returns the colour of the course occupying the cell, or null if it is free or in the
+    //          time column
+    public Color getColorAt(int row, int column) {
+        return (column == 0) ? null : colors[row][column - 1];
+    }
+
+    @Override
+    public void courseAdded(Course course) {
+        paint(course, rangesOf(course));
+        fireDirty();
+    }
+
+    @Override
+    public void courseRemoved(Course course) {
+        unpaint(course);
+        fireDirty();
+    }
+
+    // EFFECTS: repaints course if its cells changed; a change to a detail that is not shown in
+    //          the grid (instructor, credits, location) fires nothing
+    @Override
+    public void courseChanged(Course course) {
+        List<Range> ranges = rangesOf(course);
+        if (ranges.equals(painted.get(course))) {
+            return;
+        }
+        unpaint(course);
+        paint(course, ranges);
+        fireDirty();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the cells of ranges with course and marks the ones that changed
+    private void paint(Course course, List<Range> ranges) {
+        Color color = CoursePalette.colorOf(course.getCourseCode());
+        for (Range r : ranges) {
+            for (int row = r.firstRow; row < r.endRow; row++) {
+                if (owners[row][r.day] != course || !r.label.equals(labels[row][r.day])) {
+                    owners[row][r.day] = course;
+                    labels[row][r.day] = r.label;
+                    colors[row][r.day] = color;
+                    markDirty(row, r.day);
+                }
+            }
+        }
+        painted.put(course, ranges);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: frees the cells last painted for course that it still occupies and marks them; a
+    //          freed cell that another course also covers is given to that course instead
+    private void unpaint(Course course) {
+        List<Range> ranges = painted.remove(course);
+        if (ranges == null) {
+            return;
+        }
+        boolean freed = false;
+        for (Range r : ranges) {
+            for (int row = r.firstRow; row < r.endRow; row++) {
+                if (owners[row][r.day] == course) {
+                    owners[row][r.day] = null;
+                    labels[row][r.day] = null;
+                    colors[row][r.day] = null;
+                    markDirty(row, r.day);
+                    freed = true;
+                }
+            }
+        }
+        if (freed) {
+            refill(ranges);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: paints every other course that covers a free cell of the given ranges back into it
+    private void refill(List<Range> freed) {
+        for (Map.Entry<Course, List<Range>> entry : painted.entrySet()) {
+            for (Range r : entry.getValue()) {
+                for (Range f : freed) {
+                    if (r.day == f.day) {
+                        fillFree(entry.getKey(), r, Math.max(r.firstRow, f.firstRow), Math.min(r.endRow, f.endRow));
+                    }
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills the free cells of range's day between rows first and end with course, marking them
+    private void fillFree(Course course, Range range, int first, int end) {
+        for (int row = first; row < end; row++) {
+            if (owners[row][range.day] == null) {
+                owners[row][range.day] = course;
+                labels[row][range.day] = range.label;
+                colors[row][range.day] = CoursePalette.colorOf(course.getCourseCode());
+                markDirty(row, range.day);
+            }
+        }
+    }
+
+    // EFFECTS: returns the cells covered by the time blocks of course that fall inside the grid
+    private List<Range> rangesOf(Course course) {
+        List<Range> ranges = new ArrayList<>();
+        String code = course.getCourseCode();
+        for (TimeBlock t : course.getLectureTimes()) {
+            addRange(ranges, t, code + " (Lecture)");
+        }
+        addRange(ranges, course.getLabTime(), code + " (Lab)");
+        addRange(ranges, course.getDiscussionTime(), code + " (Discussion)");
+        return ranges;
+    }
+
+    // MODIFIES: ranges
+    // EFFECTS: adds the rows of every slot that block overlaps, if block is not null and is on a
+    //          shown day
+    private void addRange(List<Range> ranges, TimeBlock block, String label) {
+        if (block == null) {
+            return;
+        }
+        int day = grid.columnOf(block);
+        int first = grid.firstRowOf(block);
+        int end = grid.endRowOf(block);
+        if (day >= 0 && first < end) {
+            ranges.add(new Range(day, first, end, label));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that the cell at row of the given day changed
+    private void markDirty(int row, int day) {
+        dirtyFirst[day] = Math.min(dirtyFirst[day], row);
+        dirtyLast[day] = Math.max(dirtyLast[day], row);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets all changed cells
+    private void resetDirty() {
+        Arrays.fill(dirtyFirst, Integer.MAX_VALUE);
+        Arrays.fill(dirtyLast, -1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fires one event for the changed rows of each day column, then forgets them
+    private void fireDirty() {
+        for (int day = 0; day < dirtyFirst.length; day++) {
+            if (dirtyLast[day] >= 0) {
+                fireTableChanged(new TableModelEvent(this, dirtyFirst[day], dirtyLast[day], day + 1));
+            }
+        }
+        resetDirty();
+    }
+
+    // Represents the rows [firstRow, endRow) of one day column painted for a component of a course
+    private static final class Range {
+        private final int day;
+        private final int firstRow;
+        private final int endRow;
+        private final String label;
+
+        Range(int day, int firstRow, int endRow, String label) {
+            this.day = day;
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Range)) {
+                return false;
+            }
+            Range other = (Range) o;
+            return day == other.day && firstRow == other.firstRow && endRow == other.endRow
+                    && label.equals(other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return ((day * 31 + firstRow) * 31 + endRow) * 31 + label.hashCode();
+        }
+    }
+}
@@ -123,6 +123,9 @@ public class CourseTest {
         JSONObject json = testCourse.toJson();
 
         assertEquals("CPSC210", json.getString("courseCode"));
+        assertEquals("", json.getString("instructor"));
+        assertEquals(0, json.getInt("credits"));
+        assertEquals("", json.getString("location"));
         assertTrue(json.has("lectureTimes"));
         assertTrue(json.has("labTime")); 
         assertTrue(json.has("discussionTime")); 
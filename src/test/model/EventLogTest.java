@@ -0,0 +1,118 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EventLogTest {
+    private EventLog log;
+
+    @BeforeEach
+    void runBefore() {
+        log = EventLog.getInstance();
+        log.clear();
+    }
+
+    @AfterEach
+    void runAfter() {
+        log.setCapacity(EventLog.DEFAULT_CAPACITY);
+    }
+
+    @Test
+    void testLogEvent() {
+        Event e1 = new Event("Added course: CPSC210");
+        Event e2 = new Event("Removed course: CPSC210");
+        log.logEvent(e1);
+        log.logEvent(e2);
+
+        List<Event> events = log.snapshot();
+        assertEquals(3, events.size());
+        assertEquals("Event log cleared.", events.get(0).getDescription());
+        assertEquals(e1, events.get(1));
+        assertEquals(e2, events.get(2));
+    }
+
+    @Test
+    void testRemoveLogsOnlyRealRemovals() {
+        TimeTable timeTable = new TimeTable();
+        Course course = new Course("CPSC210");
+        timeTable.removeCourse(course);
+        assertEquals(1, log.snapshot().size());
+
+        timeTable.addCourse(course);
+        timeTable.removeCourse(course);
+        timeTable.removeCourse(course);
+        List<Event> events = log.snapshot();
+        assertEquals(3, events.size());
+        assertEquals(EventType.COURSE_REMOVED, events.get(2).getType());
+    }
+
+    @Test
+    void testOverwritesOldest() {
+        log.setCapacity(3);
+        assertEquals(4, log.getCapacity());
+        for (int i = 0; i < 10; i++) {
+            log.logEvent(new Event("event " + i));
+        }
+
+        List<String> descriptions = new ArrayList<>();
+        for (Event e : log) {
+            descriptions.add(e.getDescription());
+        }
+        assertEquals(List.of("event 6", "event 7", "event 8", "event 9"), descriptions);
+    }
+
+    @Test
+    void testSetCapacityKeepsNewest() {
+        for (int i = 0; i < 5; i++) {
+            log.logEvent(new Event("event " + i));
+        }
+        log.setCapacity(2);
+
+        List<Event> events = log.snapshot();
+        assertEquals(2, events.size());
+        assertEquals("event 3", events.get(0).getDescription());
+        assertEquals("event 4", events.get(1).getDescription());
+        assertThrows(IllegalArgumentException.class, () -> log.setCapacity(0));
+    }
+
+    @Test
+    void testIteratorIsSnapshot() {
+        log.logEvent(new Event("event 0"));
+        Iterator<Event> it = log.iterator();
+        log.logEvent(new Event("event 1"));
+
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Test
+    void testConcurrentLogging() throws InterruptedException {
+        log.setCapacity(1 << 12);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    log.logEvent(new Event("event"));
+                    assertTrue(log.snapshot().size() <= log.getCapacity());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1 << 12, log.snapshot().size());
+    }
+}
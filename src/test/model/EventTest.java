@@ -0,0 +1,47 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+
+public class EventTest {
+
+    @Test
+    void testTypedEvent() {
+        Event e = new Event(EventType.COURSE_ADDED, "CPSC210");
+        assertEquals(EventType.COURSE_ADDED, e.getType());
+        assertEquals("CPSC210", e.getSubject());
+        assertEquals("Added course: CPSC210", e.getDescription());
+        assertEquals("Event log cleared.", new Event(EventType.LOG_CLEARED, "").getDescription());
+    }
+
+    @Test
+    void testTimestamps() {
+        long before = System.currentTimeMillis();
+        Event e1 = new Event("first");
+        Event e2 = new Event("second");
+        long after = System.currentTimeMillis();
+
+        Date date = e1.getDate();
+        assertTrue(date.getTime() >= before - 1 && date.getTime() <= after + 1);
+        assertEquals(e1.getEpochNanos() / 1_000_000, e1.getInstant().toEpochMilli());
+        assertTrue(e2.getEpochNanos() >= e1.getEpochNanos());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        Event typed = new Event(EventType.COURSE_REMOVED, "MATH200");
+        Event other = new Event(EventType.COURSE_REMOVED, "CPSC110");
+
+        assertEquals(typed, typed);
+        assertFalse(typed.equals(null));
+        assertFalse(typed.equals("Removed course: MATH200"));
+        assertNotEquals(typed, other);
+        assertEquals(13 * typed.getDate().hashCode() + "Removed course: MATH200".hashCode(), typed.hashCode());
+        assertEquals(typed.getDate() + "\nRemoved course: MATH200", typed.toString());
+    }
+}
@@ -0,0 +1,93 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import persistence.BinaryWriter;
+
+public class MappedTimeTableTest {
+    private MappedTimeTable mapped;
+    private TimeBlock monday;
+    private TimeBlock friday;
+
+    @BeforeEach
+    void runBefore(@TempDir Path dir) throws IOException {
+        monday = new TimeBlock("Monday", LocalTime.of(9, 0), LocalTime.of(10, 30));
+        friday = new TimeBlock("Friday", LocalTime.of(15, 0), LocalTime.of(16, 30));
+        TimeTable timeTable = new TimeTable();
+        Course cpsc210 = new Course("CPSC210");
+        cpsc210.addLectureTime(monday);
+        cpsc210.setInstructor("Felix");
+        Course math200 = new Course("MATH200");
+        math200.addLectureTime(friday);
+        timeTable.addCourse(cpsc210);
+        timeTable.addCourse(math200);
+
+        String file = dir.resolve("mapped.cft").toString();
+        BinaryWriter writer = new BinaryWriter(file);
+        writer.open();
+        writer.write(timeTable);
+        writer.close();
+        mapped = MappedTimeTable.open(file);
+    }
+
+    @Test
+    void testQueriesStayLazy() {
+        Course cpsc210 = mapped.getCourseByName("cpsc210");
+        assertEquals("Felix", cpsc210.getInstructor());
+        assertSame(cpsc210, mapped.getCourseByName("CPSC210"));
+        assertSame(cpsc210, mapped.findConflictingCourse(
+                new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        assertTrue(mapped.isFree(new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        assertNull(mapped.getCourseByName("PHYS101"));
+
+        List<Course> courses = mapped.getAllCourses();
+        assertEquals(2, courses.size());
+        assertSame(cpsc210, courses.get(0));
+        assertEquals("MATH200", courses.get(1).getCourseCode());
+        assertEquals(2, mapped.toJson().getJSONArray("courses").length());
+        assertTrue(mapped.isLazy());
+    }
+
+    @Test
+    void testEditingHandedOutCourseMaterializes() {
+        Course cpsc210 = mapped.getCourseByName("CPSC210");
+        cpsc210.setLabTime(new TimeBlock("Tuesday", LocalTime.of(13, 0), LocalTime.of(14, 0)));
+        assertFalse(mapped.isLazy());
+        assertSame(cpsc210, mapped.getCourseByName("CPSC210"));
+        assertSame(cpsc210, mapped.findConflictingCourse(
+                new TimeBlock("Tuesday", LocalTime.of(13, 30), LocalTime.of(15, 0))));
+        assertSame(cpsc210, mapped.getAllCourses().get(0));
+        assertEquals(1, mapped.getHistory().getUndoCount());
+
+        mapped.getHistory().undo();
+        assertNull(cpsc210.getLabTime());
+        assertTrue(mapped.isFree(new TimeBlock("Tuesday", LocalTime.of(13, 30), LocalTime.of(15, 0))));
+    }
+
+    @Test
+    void testChangesAreCheckedAfterMaterializing() {
+        Course clash = new Course("PHYS101");
+        clash.addLectureTime(new TimeBlock("Friday", LocalTime.of(16, 0), LocalTime.of(17, 0)));
+        assertFalse(mapped.addCourse(clash));
+        assertFalse(mapped.isLazy());
+
+        Course math200 = mapped.getCourseByName("MATH200");
+        mapped.removeCourse(math200);
+        assertTrue(mapped.addCourse(clash));
+        assertEquals(List.of("CPSC210", "PHYS101"),
+                mapped.snapshot().getAllCourses().stream().map(Course::getCourseCode).toList());
+    }
+}
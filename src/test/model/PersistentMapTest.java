@@ -0,0 +1,68 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PersistentMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        PersistentMap<Integer> empty = PersistentMap.empty();
+        PersistentMap<Integer> one = empty.put("A", 1);
+        PersistentMap<Integer> two = one.put("B", 2).put("A", 3);
+        assertEquals(0, empty.size());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertEquals(1, one.get("A"));
+        assertEquals(3, two.get("A"));
+        assertNull(one.get("B"));
+        assertSame(two, two.remove("C"));
+        assertEquals(1, two.remove("A").size());
+        assertNull(two.remove("A").get("A"));
+        assertEquals(0, one.remove("A").size());
+    }
+
+    @Test
+    void testHashCollisions() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        PersistentMap<String> map = PersistentMap.<String>empty().put("Aa", "x").put("BB", "y");
+        assertEquals(2, map.size());
+        assertEquals("x", map.get("Aa"));
+        assertEquals("y", map.get("BB"));
+        PersistentMap<String> removed = map.remove("Aa");
+        assertNull(removed.get("Aa"));
+        assertEquals("y", removed.get("BB"));
+        assertEquals(2, map.values().size());
+        assertEquals(0, removed.remove("BB").size());
+    }
+
+    @Test
+    void testAgainstHashMap() {
+        Random random = new Random(210);
+        Map<String, Integer> expected = new HashMap<>();
+        PersistentMap<Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            String key = "K" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.values().size());
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertTrue(map.values().containsAll(expected.values()));
+    }
+}
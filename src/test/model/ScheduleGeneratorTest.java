@@ -0,0 +1,158 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class ScheduleGeneratorTest {
+
+    @Test
+    void testEmptyWishList() {
+        List<List<Course>> schedules = new ScheduleGenerator(new ArrayList<>()).generate();
+        assertEquals(1, schedules.size());
+        assertTrue(schedules.get(0).isEmpty());
+    }
+
+    @Test
+    void testSingleCourseAllCombinations() {
+        CourseOptions cpsc210 = new CourseOptions("CPSC210");
+        cpsc210.setCredits(4);
+        cpsc210.addLectureSection(List.of(block("Monday", 9), block("Wednesday", 9)));
+        cpsc210.addLectureSection(List.of(block("Tuesday", 14)));
+        cpsc210.addLabOption(block("Friday", 10));
+        cpsc210.addLabOption(block("Friday", 13));
+        cpsc210.addLabOption(block("Tuesday", 14));
+
+        List<List<Course>> schedules = new ScheduleGenerator(List.of(cpsc210)).generate();
+        assertEquals(5, schedules.size());
+        Course first = schedules.get(0).get(0);
+        assertEquals("CPSC210", first.getCourseCode());
+        assertEquals(4, first.getCredits());
+        assertEquals(2, first.getLectureTimes().size());
+        assertEquals("Friday", first.getLabTime().getDay());
+        assertNull(first.getDiscussionTime());
+    }
+
+    @Test
+    void testConflictingSectionsPruned() {
+        CourseOptions cpsc210 = new CourseOptions("CPSC210");
+        cpsc210.addLectureSection(List.of(block("Monday", 9)));
+        cpsc210.addLectureSection(List.of(block("Monday", 11)));
+        CourseOptions math200 = new CourseOptions("MATH200");
+        math200.addLectureSection(List.of(block("Monday", 9)));
+        math200.addLectureSection(List.of(block("Monday", 13)));
+        math200.addDiscussionOption(block("Monday", 11));
+        math200.addDiscussionOption(block("Tuesday", 11));
+
+        List<List<Course>> schedules = new ScheduleGenerator(List.of(cpsc210, math200)).generate();
+        assertEquals(4, schedules.size());
+        for (List<Course> schedule : schedules) {
+            assertEquals("CPSC210", schedule.get(0).getCourseCode());
+            assertEquals("MATH200", schedule.get(1).getCourseCode());
+            TimeTable tt = new TimeTable();
+            assertTrue(tt.addCourse(schedule.get(0)));
+            assertTrue(tt.addCourse(schedule.get(1)));
+        }
+    }
+
+    @Test
+    void testFixedCommitmentsExcluded() {
+        TimeTable fixed = new TimeTable();
+        Course work = new Course("WORK");
+        work.addLectureTime(block("Monday", 9));
+        fixed.addCourse(work);
+        CourseOptions cpsc210 = new CourseOptions("CPSC210");
+        cpsc210.addLectureSection(List.of(block("Monday", 9)));
+        cpsc210.addLectureSection(List.of(block("Monday", 11)));
+
+        List<List<Course>> schedules = new ScheduleGenerator(List.of(cpsc210), fixed).generate();
+        assertEquals(1, schedules.size());
+        assertEquals(11, schedules.get(0).get(0).getLectureTimes().get(0).getStartTime().getHour());
+    }
+
+    @Test
+    void testNoSolution() {
+        CourseOptions a = new CourseOptions("A");
+        a.addLectureSection(List.of(block("Monday", 9)));
+        CourseOptions b = new CourseOptions("B");
+        b.addLectureSection(List.of(block("Monday", 9)));
+        assertTrue(new ScheduleGenerator(List.of(a, b)).generate().isEmpty());
+    }
+
+    @Test
+    void testSearchMatchesBruteForce() {
+        List<CourseOptions> wishList = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            wishList.add(pairedOptions(c));
+        }
+        int pairCount = bruteForceCount(wishList.get(0), wishList.get(1));
+        ScheduleGenerator generator = new ScheduleGenerator(wishList);
+
+        List<List<Course>> all = generator.generate(Integer.MAX_VALUE);
+        assertEquals(pairCount * pairCount, all.size());
+        Set<String> distinct = new HashSet<>();
+        for (List<Course> schedule : all) {
+            TimeTable tt = new TimeTable();
+            StringBuilder key = new StringBuilder();
+            for (Course c : schedule) {
+                assertTrue(tt.addCourse(c));
+                key.append(c.getAllTimeBlock()).append(';');
+            }
+            distinct.add(key.toString());
+        }
+        assertEquals(all.size(), distinct.size());
+
+        List<List<Course>> limited = generator.generate(100);
+        assertEquals(100, limited.size());
+        assertEquals(4, limited.get(0).size());
+    }
+
+    // courses 2k and 2k + 1 share the same hour, so they compete for days
+    private CourseOptions pairedOptions(int c) {
+        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+        CourseOptions options = new CourseOptions("COURSE" + c);
+        int hour = 8 + 2 * (c / 2);
+        for (int s = 0; s < 5; s++) {
+            options.addLectureSection(List.of(block(days[s], hour)));
+        }
+        for (int l = 0; l < 4; l++) {
+            options.addLabOption(block(days[(c + l) % 5], hour));
+        }
+        return options;
+    }
+
+    private int bruteForceCount(CourseOptions a, CourseOptions b) {
+        int count = 0;
+        for (int s1 = 0; s1 < 5; s1++) {
+            for (int l1 = 0; l1 < 4; l1++) {
+                for (int s2 = 0; s2 < 5; s2++) {
+                    for (int l2 = 0; l2 < 4; l2++) {
+                        TimeTable tt = new TimeTable();
+                        Course c1 = a.toCourse(s1, l1, -1);
+                        Course c2 = b.toCourse(s2, l2, -1);
+                        if (!clashesWithItself(c1) && !clashesWithItself(c2) && tt.addCourse(c1) && tt.addCourse(c2)) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean clashesWithItself(Course c) {
+        return c.getLabTime().isConflictsWith(c.getLectureTimes().get(0));
+    }
+
+    private TimeBlock block(String day, int hour) {
+        return new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 30));
+    }
+}
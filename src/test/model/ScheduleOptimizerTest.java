@@ -0,0 +1,134 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ScheduleOptimizerTest {
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+    private List<CourseOptions> wishList;
+
+    @BeforeEach
+    void runBefore() {
+        wishList = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            CourseOptions options = new CourseOptions("COURSE" + c);
+            options.setCredits(3);
+            for (int s = 0; s < 5; s++) {
+                options.addLectureSection(List.of(block(DAYS[s], 8 + c + s % 2), block(DAYS[(s + 2) % 5], 8 + c)));
+            }
+            for (int l = 0; l < 3; l++) {
+                options.addLabOption(block(DAYS[(c + l) % 5], 13 + l));
+            }
+            wishList.add(options);
+        }
+    }
+
+    @Test
+    void testObjectiveCosts() {
+        int[] blocks = { packed(0, 8, 0, 9, 30), packed(0, 11, 0, 12, 0), packed(2, 10, 0, 11, 0) };
+        assertEquals(2, new CampusDaysObjective().cost(blocks, 3, 0));
+        assertEquals(1, new CampusDaysObjective().cost(blocks, 2, 0));
+        assertEquals(90, new GapObjective().cost(blocks, 3, 0));
+        assertEquals(60, new EarlyClassObjective().cost(blocks, 3, 0));
+        assertEquals(120, new EarlyClassObjective(LocalTime.of(10, 30)).cost(blocks, 3, 0));
+        assertEquals(3, new CreditLoadObjective(12).cost(blocks, 3, 9));
+        assertEquals(0, new GapObjective().lowerBound(blocks, 3, 0));
+        assertEquals(0, new CreditLoadObjective(12).lowerBound(blocks, 3, 9));
+        assertEquals(3, new CreditLoadObjective(12).lowerBound(blocks, 3, 15));
+    }
+
+    @Test
+    void testMatchesFullEnumeration() {
+        ScheduleOptimizer optimizer = new ScheduleOptimizer(wishList);
+        optimizer.addObjective(new CampusDaysObjective(), 60);
+        optimizer.addObjective(new GapObjective(), 1);
+        optimizer.addObjective(new EarlyClassObjective(), 2);
+        optimizer.addObjective(new CreditLoadObjective(15), 10);
+
+        List<Double> allCosts = new ArrayList<>();
+        for (List<Course> schedule : new ScheduleGenerator(wishList).generate(Integer.MAX_VALUE)) {
+            allCosts.add(costOf(optimizer, schedule));
+        }
+        allCosts.sort(null);
+
+        List<ScoredSchedule> top = optimizer.optimize(5);
+        assertEquals(5, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(allCosts.get(i), top.get(i).getCost(), 1e-9);
+            assertEquals(top.get(i).getCost(), costOf(optimizer, top.get(i).getCourses()), 1e-9);
+            TimeTable tt = new TimeTable();
+            for (Course c : top.get(i).getCourses()) {
+                assertTrue(tt.addCourse(c));
+            }
+        }
+    }
+
+    @Test
+    void testPrunesWithMixedObjectives() {
+        int[] rated = new int[1];
+        ScheduleObjective countingGaps = new ScheduleObjective() {
+            @Override
+            public double cost(int[] blocks, int count, int credits) {
+                rated[0]++;
+                return new GapObjective().cost(blocks, count, credits);
+            }
+        };
+        ScheduleOptimizer optimizer = new ScheduleOptimizer(wishList);
+        optimizer.addObjective(new CampusDaysObjective(), 60);
+        optimizer.addObjective(countingGaps, 1);
+
+        List<ScoredSchedule> top = optimizer.optimize(1);
+        int all = new ScheduleGenerator(wishList).generate(Integer.MAX_VALUE).size();
+        assertEquals(1, top.size());
+        assertTrue(rated[0] < all, rated[0] + " of " + all + " timetables were rated");
+    }
+
+    @Test
+    void testFewerThanK() {
+        CourseOptions only = new CourseOptions("CPSC210");
+        only.addLectureSection(List.of(block("Monday", 9)));
+        only.addLectureSection(List.of(block("Monday", 8)));
+        ScheduleOptimizer optimizer = new ScheduleOptimizer(List.of(only));
+        optimizer.addObjective(new EarlyClassObjective(), 1);
+
+        List<ScoredSchedule> top = optimizer.optimize(10);
+        assertEquals(2, top.size());
+        assertEquals(0, top.get(0).getCost());
+        assertEquals(9, top.get(0).getCourses().get(0).getLectureTimes().get(0).getStartTime().getHour());
+        assertEquals(60, top.get(1).getCost());
+    }
+
+    @Test
+    void testNegativeWeight() {
+        ScheduleOptimizer optimizer = new ScheduleOptimizer(wishList);
+        assertThrows(IllegalArgumentException.class, () -> optimizer.addObjective(new GapObjective(), -1));
+    }
+
+    private double costOf(ScheduleOptimizer optimizer, List<Course> schedule) {
+        List<Integer> packed = new ArrayList<>();
+        int credits = 0;
+        for (Course c : schedule) {
+            credits += c.getCredits();
+            for (TimeBlock t : c.getAllTimeBlock()) {
+                packed.add(t.getPacked());
+            }
+        }
+        int[] blocks = packed.stream().mapToInt(Integer::intValue).toArray();
+        return optimizer.cost(blocks, blocks.length, credits);
+    }
+
+    private int packed(int day, int startHour, int startMinute, int endHour, int endMinute) {
+        return TimeBlock.pack(day, startHour * 60 + startMinute, endHour * 60 + endMinute);
+    }
+
+    private TimeBlock block(String day, int hour) {
+        return new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0));
+    }
+}
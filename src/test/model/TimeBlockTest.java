@@ -2,6 +2,7 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalTime;
@@ -70,4 +71,52 @@ public class TimeBlockTest {
         assertEquals("Monday 09:00-10:30", testTimeBlock1.toString());
         assertEquals("Tuesday 09:00-10:30", testTimeBlock4.toString());
     }
+
+    @Test
+    void testPackedForm() {
+        assertEquals(0, testTimeBlock1.getDayIndex());
+        assertEquals(9 * 60, testTimeBlock1.getStartMinute());
+        assertEquals(10 * 60 + 30, testTimeBlock1.getEndMinute());
+        assertEquals(1, testTimeBlock4.getDayIndex());
+        assertEquals(TimeBlock.MINUTES_PER_DAY + 9 * 60, testTimeBlock4.getWeekStart());
+        assertEquals(TimeBlock.MINUTES_PER_DAY + 10 * 60 + 30, testTimeBlock4.getWeekEnd());
+
+        TimeBlock decoded = TimeBlock.fromPacked(testTimeBlock4.getPacked());
+        assertEquals("TUESDAY", decoded.getDay());
+        assertEquals(LocalTime.of(9, 0), decoded.getStartTime());
+        assertEquals(LocalTime.of(10, 30), decoded.getEndTime());
+        assertEquals(TimeBlock.pack(1, 9 * 60, 10 * 60 + 30), decoded.getPacked());
+    }
+
+    @Test
+    void testDayNames() {
+        assertEquals(0, TimeBlock.dayIndexOf("MONDAY"));
+        assertEquals(2, TimeBlock.dayIndexOf("wednesday"));
+        assertEquals(4, TimeBlock.dayIndexOf("Fri"));
+        assertEquals(6, TimeBlock.dayIndexOf("SUNDAY"));
+        assertEquals(-1, TimeBlock.dayIndexOf("Someday"));
+        assertEquals(-1, TimeBlock.dayIndexOf(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBlock("Someday", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void testConflictsIgnoreDayCase() {
+        TimeBlock upperCase = new TimeBlock("MONDAY", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        assertTrue(testTimeBlock1.isConflictsWith(upperCase));
+        assertEquals("MONDAY", upperCase.getDay());
+    }
+
+    @Test
+    void testFromPackedWithLabel() {
+        TimeBlock decoded = TimeBlock.fromPacked("Monday", testTimeBlock1.getPacked());
+        assertEquals("Monday", decoded.getDay());
+        assertEquals(LocalTime.of(9, 0), decoded.getStartTime());
+        assertEquals(LocalTime.of(10, 30), decoded.getEndTime());
+        assertThrows(IllegalArgumentException.class, () -> TimeBlock.fromPacked("Tuesday", testTimeBlock1.getPacked()));
+        assertThrows(IllegalArgumentException.class, () -> TimeBlock.fromPacked("Monday", (100 << 16) | 65535));
+        assertThrows(IllegalArgumentException.class, () -> TimeBlock.fromPacked("Monday", TimeBlock.pack(0, 600, 540)));
+        assertEquals(TimeBlock.MINUTES_PER_DAY,
+                TimeBlock.fromPacked("Monday", TimeBlock.pack(0, 0, TimeBlock.MINUTES_PER_DAY)).getEndMinute());
+    }
 }
@@ -0,0 +1,127 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TimeTableSnapshotTest {
+    private TimeTable timeTable;
+    private Course cpsc210;
+    private Course math200;
+
+    @BeforeEach
+    void runBefore() {
+        timeTable = new TimeTable();
+        cpsc210 = new Course("CPSC210");
+        cpsc210.addLectureTime(new TimeBlock("Monday", LocalTime.of(9, 0), LocalTime.of(10, 30)));
+        math200 = new Course("MATH200");
+        math200.addLectureTime(new TimeBlock("Friday", LocalTime.of(15, 0), LocalTime.of(16, 30)));
+        timeTable.addCourse(cpsc210);
+        timeTable.addCourse(math200);
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterChanges() {
+        TimeTableSnapshot before = timeTable.snapshot();
+        cpsc210.setInstructor("Felix");
+        timeTable.removeCourse(math200);
+        Course cpsc110 = new Course("CPSC110");
+        timeTable.addCourse(cpsc110);
+
+        assertEquals(2, before.size());
+        assertEquals("", before.getCourseByName("cpsc210").getInstructor());
+        assertEquals("MATH200", before.getAllCourses().get(1).getCourseCode());
+        assertNotSame(cpsc210, before.getCourseByName("CPSC210"));
+
+        TimeTableSnapshot after = timeTable.snapshot();
+        assertEquals(2, after.size());
+        assertEquals("Felix", after.getCourseByName("CPSC210").getInstructor());
+        assertNull(after.getCourseByName("MATH200"));
+        assertEquals("CPSC110", after.getAllCourses().get(1).getCourseCode());
+        assertSame(after, timeTable.snapshot());
+    }
+
+    @Test
+    void testSnapshotCopiesOnlyChangedCourses() {
+        TimeTableSnapshot first = timeTable.snapshot();
+        for (int i = 1; i <= 4; i++) {
+            cpsc210.setCredits(i);
+        }
+        TimeTableSnapshot second = timeTable.snapshot();
+        assertEquals(4, second.getCourseByName("CPSC210").getCredits());
+        assertSame(first.getCourseByName("MATH200"), second.getCourseByName("MATH200"));
+        assertNotSame(first.getCourseByName("CPSC210"), second.getCourseByName("CPSC210"));
+
+        timeTable.removeCourse(math200);
+        timeTable.addCourse(math200);
+        TimeTableSnapshot third = timeTable.snapshot();
+        assertSame(second.getCourseByName("CPSC210"), third.getCourseByName("CPSC210"));
+        assertEquals("MATH200", third.getAllCourses().get(1).getCourseCode());
+    }
+
+    @Test
+    void testWithAndWithout() {
+        TimeTableSnapshot base = timeTable.snapshot();
+        Course edited = new Course("cpsc210");
+        edited.setCredits(4);
+        TimeTableSnapshot variant = base.with(edited).without("MATH200").with(new Course("CPSC121"));
+
+        assertEquals(0, base.getCourseByName("CPSC210").getCredits());
+        assertEquals(2, base.size());
+        assertEquals(4, variant.getCourseByName("CPSC210").getCredits());
+        assertEquals("cpsc210", variant.getAllCourses().get(0).getCourseCode());
+        assertEquals("CPSC121", variant.getAllCourses().get(1).getCourseCode());
+        assertSame(variant, variant.without("NOPE"));
+        assertSame(base.getCourseByName("MATH200"), base.with(new Course("X")).getCourseByName("MATH200"));
+    }
+
+    @Test
+    void testToTimeTable() {
+        TimeTableSnapshot version = timeTable.snapshot();
+        TimeTable restored = version.toTimeTable();
+        assertEquals(2, restored.getAllCourses().size());
+        assertSame(version, restored.snapshot());
+
+        Course clash = new Course("CLASH");
+        clash.addLectureTime(new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        TimeTableSnapshot clashing = version.with(clash);
+        TimeTable whole = clashing.toTimeTable();
+        assertEquals(3, whole.getAllCourses().size());
+        assertEquals("CLASH", whole.getAllCourses().get(2).getCourseCode());
+        assertSame(clashing, whole.snapshot());
+        whole.removeCourse(whole.getCourseByName("CLASH"));
+        assertNotNull(whole.findConflictingCourse(clash.getLectureTimes().get(0)));
+
+        restored.getCourseByName("CPSC210").setCredits(3);
+        assertEquals(0, version.getCourseByName("CPSC210").getCredits());
+    }
+
+    @Test
+    void testManyVersions() {
+        List<TimeTableSnapshot> versions = new ArrayList<>();
+        TimeTableSnapshot current = TimeTableSnapshot.empty();
+        for (int i = 0; i < 2000; i++) {
+            current = current.with(new Course("C" + i));
+            versions.add(current);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            current = current.without("C" + i);
+        }
+        assertEquals(1000, current.size());
+        assertEquals("C1", current.getAllCourses().get(0).getCourseCode());
+        for (int i = 0; i < 2000; i += 97) {
+            assertEquals(i + 1, versions.get(i).size());
+            assertTrue(versions.get(i).getCourseByName("c" + i) != null);
+            assertNull(versions.get(i).getCourseByName("C" + (i + 1)));
+        }
+    }
+}
@@ -2,9 +2,13 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -112,4 +116,198 @@ public class TimeTableTest {
         assertEquals(null, testTimeTable.getCourseByName("PHYS101"));
     }
 
+    @Test
+    void testFindConflictingCourse() {
+        testTimeTable.addCourse(testCourse1);
+        testTimeTable.addCourse(testCourse2);
+
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(
+                new TimeBlock("Monday", LocalTime.of(10, 29), LocalTime.of(11, 0))));
+        assertEquals(testCourse2, testTimeTable.findConflictingCourse(
+                new TimeBlock("Friday", LocalTime.of(14, 0), LocalTime.of(18, 0))));
+        assertNull(testTimeTable.findConflictingCourse(
+                new TimeBlock("Monday", LocalTime.of(10, 30), LocalTime.of(11, 0))));
+        assertNull(testTimeTable.findConflictingCourse(
+                new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 30))));
+        assertNull(testTimeTable.findConflictingCourse(null));
+    }
+
+    @Test
+    void testRemoveCourseFreesTimeBlocks() {
+        Course overlapping = new Course("PHYS101");
+        overlapping.addLectureTime(new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+        testTimeTable.addCourse(testCourse1);
+        assertFalse(testTimeTable.addCourse(overlapping));
+
+        testTimeTable.removeCourse(testCourse1);
+        assertTrue(testTimeTable.addCourse(overlapping));
+    }
+
+    @Test
+    void testEditedCourseIsReindexed() {
+        testTimeTable.addCourse(testCourse1);
+        testCourse1.setLectureTime(0, new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 30)));
+        testCourse1.setLabTime(new TimeBlock("Thursday", LocalTime.of(13, 0), LocalTime.of(15, 0)));
+
+        assertNull(testTimeTable.findConflictingCourse(testLectureBlock1));
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(
+                new TimeBlock("Tuesday", LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(
+                new TimeBlock("Thursday", LocalTime.of(14, 0), LocalTime.of(14, 30))));
+
+        testCourse1.removeLab();
+        assertNull(testTimeTable.findConflictingCourse(
+                new TimeBlock("Thursday", LocalTime.of(14, 0), LocalTime.of(14, 30))));
+    }
+
+    @Test
+    void testConflictWithLongEarlierBlock() {
+        Course longCourse = new Course("BIOL300");
+        longCourse.addLectureTime(new TimeBlock("Monday", LocalTime.of(11, 0), LocalTime.of(18, 0)));
+        Course shortCourse = new Course("CHEM121");
+        shortCourse.addLectureTime(new TimeBlock("Monday", LocalTime.of(12, 0), LocalTime.of(12, 30)));
+
+        testTimeTable.addCourse(testCourse1);
+        testTimeTable.addCourse(longCourse);
+
+        assertFalse(testTimeTable.addCourse(shortCourse));
+        assertEquals(longCourse, testTimeTable.findConflictingCourse(
+                new TimeBlock("Monday", LocalTime.of(17, 0), LocalTime.of(19, 0))));
+    }
+
+    @Test
+    void testFindConflictingCourseIgnoring() {
+        Course nextCourse = new Course("CPSC121");
+        nextCourse.addLectureTime(new TimeBlock("Monday", LocalTime.of(10, 30), LocalTime.of(11, 30)));
+        testTimeTable.addCourse(testCourse1);
+        testTimeTable.addCourse(nextCourse);
+
+        TimeBlock spanning = new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(spanning));
+        assertEquals(nextCourse, testTimeTable.findConflictingCourse(spanning, testCourse1));
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(spanning, nextCourse));
+        assertNull(testTimeTable.findConflictingCourse(testLectureBlock1, testCourse1));
+        assertNull(testTimeTable.findConflictingCourse(null, testCourse1));
+    }
+
+    @Test
+    void testIsFree() {
+        testTimeTable.addCourse(testCourse1);
+
+        assertFalse(testTimeTable.isFree(new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        assertTrue(testTimeTable.isFree(new TimeBlock("Monday", LocalTime.of(10, 30), LocalTime.of(11, 0))));
+        assertTrue(testTimeTable.isFree(null));
+
+        testTimeTable.removeCourse(testCourse1);
+        assertTrue(testTimeTable.isFree(testLectureBlock1));
+    }
+
+    @Test
+    void testAddCourseDuplicateCode() {
+        Course duplicate = new Course("cpsc210");
+        duplicate.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        assertTrue(testTimeTable.addCourse(testCourse1));
+        assertFalse(testTimeTable.addCourse(duplicate));
+        assertEquals(1, testTimeTable.getAllCourses().size());
+        assertEquals(testCourse1, testTimeTable.getCourseByName("CPSC210"));
+
+        testTimeTable.removeCourse(testCourse1);
+        assertTrue(testTimeTable.addCourse(duplicate));
+        assertEquals(duplicate, testTimeTable.getCourseByName("CPSC210"));
+    }
+
+    @Test
+    void testRemoveCourseNotInTimeTable() {
+        testTimeTable.addCourse(testCourse1);
+        testTimeTable.removeCourse(new Course("CPSC210"));
+
+        assertEquals(testCourse1, testTimeTable.getCourseByName("CPSC210"));
+        assertFalse(testTimeTable.isFree(testLectureBlock1));
+    }
+
+    @Test
+    void testListenerNotifications() {
+        List<String> seen = new ArrayList<>();
+        TimeTableListener listener = new TimeTableListener() {
+            @Override
+            public void courseAdded(Course course) {
+                seen.add("added " + course.getCourseCode());
+            }
+
+            @Override
+            public void courseRemoved(Course course) {
+                seen.add("removed " + course.getCourseCode());
+            }
+
+            @Override
+            public void courseChanged(Course course) {
+                seen.add("changed " + course.getCourseCode());
+            }
+        };
+        testTimeTable.addListener(listener);
+        testTimeTable.addCourse(testCourse1);
+        testCourse1.setInstructor("Felix");
+        testCourse1.setLabTime(new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        testTimeTable.removeCourse(testCourse1);
+        testCourse1.setCredits(4);
+        testTimeTable.removeListener(listener);
+        testTimeTable.addCourse(testCourse2);
+
+        assertEquals(List.of("added CPSC210", "changed CPSC210", "changed CPSC210", "removed CPSC210"), seen);
+    }
+
+    @Test
+    void testAddCourses() {
+        testTimeTable.addCourse(testCourse1);
+        Course clash = new Course("CPSC110");
+        clash.addLectureTime(new TimeBlock("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        Course duplicate = new Course("math200");
+        duplicate.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        Course free = new Course("CPSC121");
+        free.addLectureTime(new TimeBlock("Monday", LocalTime.of(11, 0), LocalTime.of(12, 0)));
+
+        ConflictReport report = testTimeTable.addCourses(List.of(testCourse2, clash, duplicate, free));
+
+        assertFalse(report.isClean());
+        assertEquals(List.of(testCourse2, free), report.getAccepted());
+        assertEquals(List.of(clash, duplicate), report.getRejected());
+        assertEquals(List.of(duplicate), report.getDuplicates());
+        assertEquals(1, report.getCollisions().size());
+        assertEquals(testCourse1, report.getCollisions().get(0).getFirst());
+        assertEquals(clash, report.getCollisions().get(0).getSecond());
+        assertEquals(List.of(testCourse1, testCourse2, free), testTimeTable.getAllCourses());
+        assertEquals(testCourse1, testTimeTable.findConflictingCourse(testLectureBlock1));
+        assertEquals(testCourse2, testTimeTable.findConflictingCourse(testLectureBlock2));
+        assertEquals(free, testTimeTable.findConflictingCourse(
+                new TimeBlock("Monday", LocalTime.of(11, 30), LocalTime.of(11, 45))));
+        assertFalse(testTimeTable.isFree(clash.getLectureTimes().get(0)));
+
+        free.setLabTime(new TimeBlock("Friday", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertEquals(free, testTimeTable.findConflictingCourse(
+                new TimeBlock("Friday", LocalTime.of(9, 30), LocalTime.of(10, 30))));
+        testTimeTable.removeCourse(testCourse1);
+        assertNull(testTimeTable.findConflictingCourse(testLectureBlock1));
+    }
+
+    @Test
+    void testAddCoursesReportsEveryCollision() {
+        Course a = new Course("A");
+        a.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        Course b = new Course("B");
+        b.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        b.setLabTime(new TimeBlock("Tuesday", LocalTime.of(11, 30), LocalTime.of(13, 0)));
+        Course c = new Course("C");
+        c.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(12, 30), LocalTime.of(14, 0)));
+        Course d = new Course("D");
+        d.addLectureTime(new TimeBlock("Tuesday", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+
+        ConflictReport report = testTimeTable.addCourses(List.of(a, b, c, d));
+
+        assertEquals(List.of(a, c, d), report.getAccepted());
+        assertEquals(List.of(b), report.getRejected());
+        assertEquals("[A / B, B / C]", report.getCollisions().toString());
+        assertTrue(testTimeTable.addCourses(new ArrayList<>()).isClean());
+    }
 }
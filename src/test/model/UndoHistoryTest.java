@@ -0,0 +1,237 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UndoHistoryTest {
+    private TimeTable timeTable;
+    private UndoHistory history;
+    private Course cpsc210;
+    private Course math200;
+    private TimeBlock monday;
+    private TimeBlock friday;
+
+    @BeforeEach
+    void runBefore() {
+        timeTable = new TimeTable();
+        history = timeTable.getHistory();
+        history.setCoalesceWindow(0);
+        monday = new TimeBlock("Monday", LocalTime.of(9, 0), LocalTime.of(10, 30));
+        friday = new TimeBlock("Friday", LocalTime.of(15, 0), LocalTime.of(16, 30));
+        cpsc210 = new Course("CPSC210");
+        cpsc210.addLectureTime(monday);
+        math200 = new Course("MATH200");
+        math200.addLectureTime(friday);
+    }
+
+    @Test
+    void testUndoRedoAddAndRemove() {
+        timeTable.addCourse(cpsc210);
+        timeTable.addCourse(math200);
+        timeTable.removeCourse(cpsc210);
+        assertEquals(3, history.getUndoCount());
+
+        assertTrue(history.undo());
+        assertEquals(List.of(cpsc210, math200), timeTable.getAllCourses());
+        assertEquals("CPSC210", timeTable.snapshot().getAllCourses().get(0).getCourseCode());
+        assertSame(cpsc210, timeTable.findConflictingCourse(monday));
+        assertTrue(history.undo());
+        assertTrue(history.undo());
+        assertTrue(timeTable.getAllCourses().isEmpty());
+        assertFalse(history.undo());
+
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertEquals(List.of(math200), timeTable.getAllCourses());
+        assertNull(timeTable.findConflictingCourse(monday));
+        assertFalse(history.redo());
+    }
+
+    @Test
+    void testUndoRemoveKeepsPlaceInRestoredVersion() {
+        Course cpsc110 = new Course("CPSC110");
+        timeTable.addCourse(cpsc210);
+        timeTable.addCourse(cpsc110);
+        timeTable.addCourse(math200);
+        timeTable.removeCourse(cpsc210);
+        TimeTable restored = timeTable.snapshot().toTimeTable();
+        restored.getHistory().setCoalesceWindow(0);
+        Course copy = restored.getCourseByName("CPSC110");
+        restored.removeCourse(copy);
+        restored.addCourse(new Course("CPSC121"));
+
+        assertTrue(restored.getHistory().undo());
+        assertTrue(restored.getHistory().undo());
+        assertEquals(List.of(copy, restored.getCourseByName("MATH200")), restored.getAllCourses());
+        assertEquals("CPSC110", restored.snapshot().getAllCourses().get(0).getCourseCode());
+        assertTrue(restored.getHistory().redo());
+        assertTrue(restored.getHistory().redo());
+        assertEquals("CPSC121", restored.getAllCourses().get(1).getCourseCode());
+        assertEquals("CPSC121", restored.snapshot().getAllCourses().get(1).getCourseCode());
+    }
+
+    @Test
+    void testUndoCourseEdits() {
+        timeTable.addCourse(cpsc210);
+        cpsc210.setInstructor("Felix");
+        cpsc210.setCredits(4);
+        cpsc210.setLocation("DMP 310");
+        cpsc210.setLabTime(friday);
+        cpsc210.setDiscussionTime(new TimeBlock("Tuesday", LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        cpsc210.addLectureTime(new TimeBlock("Wednesday", LocalTime.of(9, 0), LocalTime.of(10, 30)));
+        cpsc210.removeLectureTime(monday);
+        assertEquals(8, history.getUndoCount());
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(history.undo());
+        }
+        assertEquals("", cpsc210.getInstructor());
+        assertEquals(0, cpsc210.getCredits());
+        assertEquals("", cpsc210.getLocation());
+        assertNull(cpsc210.getLabTime());
+        assertNull(cpsc210.getDiscussionTime());
+        assertEquals(List.of(monday), cpsc210.getLectureTimes());
+        assertTrue(timeTable.isFree(friday));
+        assertEquals("", timeTable.snapshot().getCourseByName("CPSC210").getInstructor());
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(history.redo());
+        }
+        assertEquals("Felix", cpsc210.getInstructor());
+        assertEquals(4, cpsc210.getCredits());
+        assertSame(friday, cpsc210.getLabTime());
+        assertEquals(1, cpsc210.getLectureTimes().size());
+        assertTrue(timeTable.isFree(monday));
+    }
+
+    @Test
+    void testUndoClearingCourse() {
+        cpsc210.addLectureTime(new TimeBlock("Wednesday", LocalTime.of(9, 0), LocalTime.of(10, 30)));
+        cpsc210.setLabTime(friday);
+        List<TimeBlock> lectures = new ArrayList<>(cpsc210.getLectureTimes());
+        timeTable.addCourse(cpsc210);
+        cpsc210.removeCourse();
+        assertTrue(cpsc210.getAllTimeBlock().isEmpty());
+
+        history.undo();
+        assertEquals(lectures, cpsc210.getLectureTimes());
+        assertSame(friday, cpsc210.getLabTime());
+        assertSame(cpsc210, timeTable.findConflictingCourse(friday));
+        history.redo();
+        assertTrue(cpsc210.getAllTimeBlock().isEmpty());
+    }
+
+    @Test
+    void testNewEditClearsRedo() {
+        timeTable.addCourse(cpsc210);
+        cpsc210.setCredits(3);
+        history.undo();
+        assertTrue(history.canRedo());
+        cpsc210.setCredits(4);
+        assertFalse(history.canRedo());
+        assertEquals(2, history.getUndoCount());
+    }
+
+    @Test
+    void testBatchAddOneStepPerCourse() {
+        assertTrue(timeTable.addCourses(List.of(cpsc210, math200), false).isClean());
+        assertEquals(2, history.getUndoCount());
+        history.undo();
+        assertEquals(List.of(cpsc210), timeTable.getAllCourses());
+    }
+
+    @Test
+    void testRecordAsOne() {
+        timeTable.addCourse(cpsc210);
+        history.recordAsOne(() -> {
+            cpsc210.setInstructor("Felix");
+            cpsc210.removeLectureTime(monday);
+            cpsc210.addLectureTime(friday);
+            history.recordAsOne(() -> cpsc210.setLabTime(monday));
+        });
+        history.recordAsOne(() -> { });
+        assertEquals(2, history.getUndoCount());
+
+        history.undo();
+        assertEquals(List.of(monday), cpsc210.getLectureTimes());
+        assertNull(cpsc210.getLabTime());
+        assertEquals("", cpsc210.getInstructor());
+        history.redo();
+        assertEquals(List.of(friday), cpsc210.getLectureTimes());
+        assertEquals(monday, cpsc210.getLabTime());
+        assertEquals("Felix", cpsc210.getInstructor());
+    }
+
+    @Test
+    void testBatchAddIsOneStep() {
+        Course phys = new Course("PHYS101");
+        timeTable.addCourse(phys);
+        ConflictReport report = timeTable.addCourses(List.of(cpsc210, math200));
+        assertTrue(report.isClean());
+        assertEquals(2, history.getUndoCount());
+
+        history.undo();
+        assertEquals(List.of(phys), timeTable.getAllCourses());
+        history.redo();
+        assertEquals(List.of(phys, cpsc210, math200), timeTable.getAllCourses());
+    }
+
+    @Test
+    void testCoalescing() {
+        history.setCoalesceWindow(60_000);
+        timeTable.addCourse(cpsc210);
+        cpsc210.setInstructor("F");
+        cpsc210.setInstructor("Fe");
+        cpsc210.setInstructor("Felix");
+        cpsc210.setCredits(4);
+        assertEquals(3, history.getUndoCount());
+
+        history.undo();
+        history.undo();
+        assertEquals("", cpsc210.getInstructor());
+        history.redo();
+        assertEquals("Felix", cpsc210.getInstructor());
+        cpsc210.setInstructor("Gregor");
+        assertEquals(3, history.getUndoCount());
+    }
+
+    @Test
+    void testUnchangedValuesAreNotRecorded() {
+        timeTable.addCourse(cpsc210);
+        cpsc210.setInstructor("");
+        cpsc210.setLabTime(null);
+        cpsc210.removeLectureTime(friday);
+        assertEquals(1, history.getUndoCount());
+    }
+
+    @Test
+    void testBudget() {
+        timeTable.addCourse(cpsc210);
+        for (int i = 0; i < 100; i++) {
+            cpsc210.setCredits(i + 1);
+        }
+        long perEdit = history.getUsedBytes() / history.getUndoCount();
+        history.setBudget(perEdit * 10);
+        assertTrue(history.getUsedBytes() <= history.getBudget());
+        assertTrue(history.getUndoCount() >= 5 && history.getUndoCount() <= 10);
+
+        while (history.undo()) {
+            // undo everything that is still kept
+        }
+        assertTrue(cpsc210.getCredits() > 80);
+        history.clear();
+        assertEquals(0, history.getUsedBytes());
+        assertFalse(history.canRedo());
+    }
+}
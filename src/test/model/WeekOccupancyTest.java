@@ -0,0 +1,82 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WeekOccupancyTest {
+    private WeekOccupancy testOccupancy;
+    private TimeBlock testMondayBlock;
+    private TimeBlock testSundayBlock;
+
+    @BeforeEach
+    void runBefore() {
+        testOccupancy = new WeekOccupancy();
+        testMondayBlock = new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 30));
+        testSundayBlock = new TimeBlock("SUNDAY", LocalTime.of(22, 0), LocalTime.of(23, 59));
+    }
+
+    @Test
+    void testEmptyIsFree() {
+        assertTrue(testOccupancy.isFree(testMondayBlock));
+        assertTrue(testOccupancy.isFree(testSundayBlock));
+        assertTrue(testOccupancy.isFree(0, WeekOccupancy.MINUTES_PER_WEEK));
+    }
+
+    @Test
+    void testOccupy() {
+        testOccupancy.occupy(testMondayBlock);
+        testOccupancy.occupy(testSundayBlock);
+
+        assertFalse(testOccupancy.isFree(testMondayBlock));
+        assertFalse(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(10, 29), LocalTime.of(12, 0))));
+        assertFalse(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(7, 0), LocalTime.of(9, 1))));
+        assertFalse(testOccupancy.isFree(new TimeBlock("SUNDAY", LocalTime.of(23, 58), LocalTime.of(23, 59))));
+
+        // touching blocks and other days are free
+        assertTrue(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(10, 30), LocalTime.of(12, 0))));
+        assertTrue(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(7, 0), LocalTime.of(9, 0))));
+        assertTrue(testOccupancy.isFree(new TimeBlock("TUESDAY", LocalTime.of(9, 0), LocalTime.of(10, 30))));
+        assertFalse(testOccupancy.isFree(0, WeekOccupancy.MINUTES_PER_WEEK));
+    }
+
+    @Test
+    void testReleaseOverlappingBlocks() {
+        TimeBlock overlapping = new TimeBlock("MONDAY", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        testOccupancy.occupy(testMondayBlock);
+        testOccupancy.occupy(overlapping);
+
+        testOccupancy.release(testMondayBlock);
+        assertTrue(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        assertFalse(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(10, 15), LocalTime.of(10, 20))));
+
+        testOccupancy.release(overlapping);
+        assertTrue(testOccupancy.isFree(0, WeekOccupancy.MINUTES_PER_WEEK));
+    }
+
+    @Test
+    void testReleaseBlockCoveredThreeTimes() {
+        TimeBlock inner = new TimeBlock("MONDAY", LocalTime.of(9, 30), LocalTime.of(10, 0));
+        testOccupancy.occupy(testMondayBlock);
+        testOccupancy.occupy(testMondayBlock);
+        testOccupancy.occupy(inner);
+
+        testOccupancy.release(testMondayBlock);
+        testOccupancy.release(inner);
+        assertFalse(testOccupancy.isFree(inner));
+        assertFalse(testOccupancy.isFree(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(9, 1))));
+        testOccupancy.release(testMondayBlock);
+        assertTrue(testOccupancy.isFree(0, WeekOccupancy.MINUTES_PER_WEEK));
+    }
+
+    @Test
+    void testClear() {
+        testOccupancy.occupy(testMondayBlock);
+        testOccupancy.clear();
+        assertTrue(testOccupancy.isFree(testMondayBlock));
+    }
+}
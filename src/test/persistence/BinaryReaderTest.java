@@ -0,0 +1,130 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.Course;
+
+public class BinaryReaderTest extends JsonTest {
+
+    @Test
+    void testReaderNonExistentFile() {
+        BinaryReader reader = new BinaryReader("./data/noSuchFile.cft");
+        try {
+            reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testReaderNotBinaryTimeTable() {
+        BinaryReader reader = new BinaryReader("./data/testReaderGeneralTimeTable.json");
+        try {
+            reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testReaderVersion1File() {
+        BinaryReader reader = new BinaryReader("./data/testReaderBinaryVersion1.cft");
+        try {
+            List<Course> courses = reader.read().getAllCourses();
+            assertEquals(2, courses.size());
+            checkCourse("CPSC110", courses.get(0));
+            assertEquals("Gregor Kiczales", courses.get(0).getInstructor());
+            checkTimeBlock("FRIDAY", "13:00", "15:00", courses.get(0).getLabTime());
+            checkCourse("MATH200", courses.get(1));
+            assertTrue(reader.getConflictReport().isClean());
+            assertEquals(courses, reader.getConflictReport().getAccepted());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testMappedCatalogRejectsVersion1File() {
+        try {
+            new MappedCatalog("./data/testReaderBinaryVersion1.cft").open();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testReaderReportsProgress() {
+        long[] last = new long[2];
+        BinaryReader reader = new BinaryReader("./data/testReaderBinaryVersion1.cft");
+        reader.setProgressListener((done, total) -> {
+            last[0] = done;
+            last[1] = total;
+        });
+        try {
+            assertEquals(2, reader.read().getAllCourses().size());
+            assertTrue(last[0] > 0);
+            assertTrue(last[0] <= last[1]);
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderCorruptFiles(@TempDir Path dir) throws IOException {
+        byte[] good = Files.readAllBytes(Path.of("./data/testReaderBinaryVersion1.cft"));
+        int stringCount = 6;
+        int firstRecord = findFirstRecord(good);
+        Path credits = Files.write(dir.resolve("credits.cft"), patch(good, firstRecord + 12, 7));
+        assertEquals(7, new BinaryReader(credits.toString()).read().getAllCourses().get(0).getCredits());
+
+        assertCorrupt(dir, patch(good, stringCount, -1));
+        assertCorrupt(dir, patch(good, stringCount, Integer.MAX_VALUE));
+        assertCorrupt(dir, patch(good, firstRecord + 4, 9999));
+        assertCorrupt(dir, patch(good, firstRecord + 4, -3));
+        assertCorrupt(dir, patch(good, firstRecord, 0));
+        assertCorrupt(dir, patch(good, firstRecord + 28, (100 << 16) | 65535));
+        assertCorrupt(dir, Arrays.copyOf(good, good.length / 2));
+    }
+
+    // EFFECTS: returns the offset of the first course record of a binary timetable
+    private static int findFirstRecord(byte[] file) {
+        ByteBuffer buffer = ByteBuffer.wrap(file);
+        int pos = 6;
+        int strings = buffer.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < strings; i++) {
+            pos += 2 + buffer.getShort(pos);
+        }
+        return pos + 4;
+    }
+
+    // EFFECTS: returns a copy of file with the int at offset replaced by value
+    private static byte[] patch(byte[] file, int offset, int value) {
+        byte[] copy = file.clone();
+        ByteBuffer.wrap(copy).putInt(offset, value);
+        return copy;
+    }
+
+    // EFFECTS: fails unless reading contents as a binary timetable throws IOException
+    private static void assertCorrupt(Path dir, byte[] contents) throws IOException {
+        Path file = Files.write(dir.resolve("corrupt.cft"), contents);
+        try {
+            new BinaryReader(file.toString()).read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
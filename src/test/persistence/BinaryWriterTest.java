@@ -0,0 +1,85 @@
+package persistence;
+
+import model.Course;
+import model.TimeTable;
+import model.TimeBlock;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryWriterTest extends JsonTest {
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./not/exist/invalidFile.cft");
+            writer.open();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testWriterEmptyTimeTable() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/testBinaryWriterEmptyTimeTable.cft");
+            writer.open();
+            writer.write(new TimeTable());
+            writer.close();
+
+            BinaryReader reader = new BinaryReader("./data/testBinaryWriterEmptyTimeTable.cft");
+            assertEquals(0, reader.read().getAllCourses().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterGeneralTimeTable() {
+        try {
+            TimeTable timeTable = new TimeTable();
+            Course course1 = new Course("CPSC110");
+            course1.setInstructor("Gregor Kiczales");
+            course1.setCredits(4);
+            course1.setLocation("WOOD 2");
+            course1.addLectureTime(new TimeBlock("MONDAY", LocalTime.of(10, 0), LocalTime.of(11, 30)));
+            course1.addLectureTime(new TimeBlock("Wednesday", LocalTime.of(10, 0), LocalTime.of(11, 30)));
+            course1.setLabTime(new TimeBlock("FRIDAY", LocalTime.of(13, 0), LocalTime.of(15, 0)));
+            timeTable.addCourse(course1);
+            Course course2 = new Course("MATH200");
+            course2.setDiscussionTime(new TimeBlock("TUESDAY", LocalTime.of(14, 0), LocalTime.of(15, 30)));
+            timeTable.addCourse(course2);
+
+            BinaryWriter writer = new BinaryWriter("./data/testBinaryWriterGeneralTimeTable.cft");
+            writer.open();
+            writer.write(timeTable);
+            writer.close();
+
+            BinaryReader reader = new BinaryReader("./data/testBinaryWriterGeneralTimeTable.cft");
+            List<Course> courses = reader.read().getAllCourses();
+            assertEquals(2, courses.size());
+
+            Course loaded = courses.get(0);
+            checkCourse("CPSC110", loaded);
+            assertEquals("Gregor Kiczales", loaded.getInstructor());
+            assertEquals(4, loaded.getCredits());
+            assertEquals("WOOD 2", loaded.getLocation());
+            assertEquals(2, loaded.getLectureTimes().size());
+            checkTimeBlock("MONDAY", "10:00", "11:30", loaded.getLectureTimes().get(0));
+            checkTimeBlock("Wednesday", "10:00", "11:30", loaded.getLectureTimes().get(1));
+            checkTimeBlock("FRIDAY", "13:00", "15:00", loaded.getLabTime());
+            assertNull(loaded.getDiscussionTime());
+
+            checkCourse("MATH200", courses.get(1));
+            assertEquals("", courses.get(1).getInstructor());
+            assertNull(courses.get(1).getLabTime());
+            checkTimeBlock("TUESDAY", "14:00", "15:30", courses.get(1).getDiscussionTime());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
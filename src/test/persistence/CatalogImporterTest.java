@@ -0,0 +1,126 @@
+package persistence;
+
+import model.ConflictReport;
+import model.Course;
+import model.TimeTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogImporterTest extends JsonTest {
+
+    @Test
+    void testImporterNonExistentFile() {
+        try {
+            new CatalogImporter("./data/noSuchFile.csv").read();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testImporterMissingColumn() {
+        try {
+            new CatalogImporter("./data/testCatalogMissingColumn.csv").read();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testImporterGeneralCsv() {
+        try {
+            CatalogImporter importer = new CatalogImporter("./data/testCatalogGeneral.csv");
+            List<Course> courses = importer.read();
+            assertEquals(3, courses.size());
+
+            Course cpsc210 = courses.get(0);
+            checkCourse("CPSC210", cpsc210);
+            assertEquals("Felix Grund", cpsc210.getInstructor());
+            assertEquals(4, cpsc210.getCredits());
+            assertEquals("ESB 1013", cpsc210.getLocation());
+            checkTimeBlock("Monday", "09:00", "10:30", cpsc210.getLectureTimes().get(0));
+            checkTimeBlock("Wednesday", "09:00", "10:30", cpsc210.getLectureTimes().get(1));
+            checkTimeBlock("Friday", "13:00", "15:00", cpsc210.getLabTime());
+
+            Course math200 = courses.get(1);
+            assertEquals("Smith, Jane", math200.getInstructor());
+            checkTimeBlock("TUESDAY", "14:00", "15:30", math200.getLectureTimes().get(0));
+            checkTimeBlock("Thursday", "14:00", "15:00", math200.getDiscussionTime());
+
+            List<String> errors = importer.getErrors();
+            assertEquals(3, errors.size());
+            assertTrue(errors.get(0).startsWith("line 8:"));
+            assertTrue(errors.get(1).startsWith("line 9:"));
+            assertTrue(errors.get(2).startsWith("line 10:"));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testImporterTsv() {
+        try {
+            List<Course> courses = new CatalogImporter("./data/testCatalogGeneral.tsv").read();
+            assertEquals(1, courses.size());
+            checkCourse("cpsc210", courses.get(0));
+            checkTimeBlock("Mon", "09:00", "10:30", courses.get(0).getLectureTimes().get(0));
+            checkTimeBlock("Fri", "13:00", "15:00", courses.get(0).getLabTime());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testImportIntoReportsWholeBatch() {
+        try {
+            TimeTable timeTable = new TimeTable();
+            ConflictReport report = new CatalogImporter("./data/testCatalogGeneral.csv").importInto(timeTable);
+            assertEquals(2, timeTable.getAllCourses().size());
+            assertEquals(2, report.getAccepted().size());
+            assertEquals(1, report.getRejected().size());
+            checkCourse("CPSC110", report.getRejected().get(0));
+            assertEquals(1, report.getCollisions().size());
+            checkCourse("CPSC210", report.getCollisions().get(0).getFirst());
+            assertNotNull(timeTable.getCourseByName("MATH200"));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testImporterManyChunks() {
+        try {
+            Path file = Files.createTempFile("catalog", ".csv");
+            List<String> lines = new ArrayList<>();
+            lines.add("code,type,day,start,end,credits");
+            int courseCount = CatalogImporter.CHUNK_SIZE;
+            String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+            for (int i = 0; i < 3 * courseCount; i++) {
+                int c = i % courseCount;
+                lines.add("C" + c + ",LECTURE," + days[i / courseCount] + ",08:00,09:00,3");
+            }
+            Files.write(file, lines);
+
+            CatalogImporter importer = new CatalogImporter(file.toString());
+            List<Course> courses = importer.read();
+            Files.delete(file);
+            assertEquals(courseCount, courses.size());
+            assertTrue(importer.getErrors().isEmpty());
+            for (int c = 0; c < courseCount; c += 1000) {
+                checkCourse("C" + c, courses.get(c));
+                assertEquals(3, courses.get(c).getLectureTimes().size());
+                assertEquals("Wednesday", courses.get(c).getLectureTimes().get(2).getDay());
+                assertEquals(3, courses.get(c).getCredits());
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
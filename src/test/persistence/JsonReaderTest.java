@@ -3,13 +3,22 @@ package persistence;
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import model.ConflictReport;
 import model.Course;
 import model.TimeBlock;
 import model.TimeTable;
@@ -48,6 +57,9 @@ public class JsonReaderTest extends JsonTest {
 
             checkCourse("CPSC110", courses.get(0));
             checkCourse("MATH200", courses.get(1));
+            assertEquals("", courses.get(0).getInstructor());
+            assertEquals(0, courses.get(0).getCredits());
+            assertEquals("", courses.get(0).getLocation());
 
             List<TimeBlock> lectureTimes = courses.get(0).getLectureTimes();
             assertEquals(2, lectureTimes.size());
@@ -83,4 +95,116 @@ public class JsonReaderTest extends JsonTest {
             fail("Couldn't read from file");
         }
     }
+
+    @Test
+    void testReadStreamingNonExistentFile() {
+        JsonReader reader = new JsonReader("./data/noSuchFile.json");
+        try {
+            reader.readStreaming();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testReadStreamingCourseThatIsNotObject(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("notObject.json"), "{\"courses\":[1]}");
+        assertThrows(JSONException.class, () -> new JsonReader(file.toString()).readStreaming());
+    }
+
+    @Test
+    void testReadStreamingEmptyTimeTable() {
+        JsonReader reader = new JsonReader("./data/testReaderEmptyTimeTable.json");
+        try {
+            TimeTable timeTable = reader.readStreaming();
+            assertEquals(0, timeTable.getAllCourses().size());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReadStreamingGeneralTimeTable() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralTimeTable.json");
+        try {
+            TimeTable timeTable = reader.readStreaming();
+            List<Course> courses = timeTable.getAllCourses();
+            assertEquals(2, courses.size());
+
+            checkCourse("CPSC110", courses.get(0));
+            checkCourse("MATH200", courses.get(1));
+
+            List<TimeBlock> lectureTimes = courses.get(0).getLectureTimes();
+            assertEquals(2, lectureTimes.size());
+            checkTimeBlock("MONDAY", "10:00", "11:30", lectureTimes.get(0));
+            checkTimeBlock("WEDNESDAY", "14:00", "15:30", lectureTimes.get(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReadStreamingWithLabAndDiscussion() {
+        JsonReader reader = new JsonReader("./data/testReaderWithLabAndDiscussion.json");
+        try {
+            Course course = reader.readStreaming().getAllCourses().get(0);
+            assertEquals("CPSC210", course.getCourseCode());
+            checkTimeBlock("TUESDAY", "11:00", "12:00", course.getLabTime());
+            checkTimeBlock("WEDNESDAY", "13:00", "14:00", course.getDiscussionTime());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderReportsDroppedCourses() {
+        JsonReader reader = new JsonReader("./data/testReaderConflictingTimeTable.json");
+        try {
+            checkConflictingTimeTable(reader.read(), reader.getConflictReport());
+            checkConflictingTimeTable(reader.readStreaming(), reader.getConflictReport());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    private void checkConflictingTimeTable(TimeTable tt, ConflictReport report) {
+        assertEquals(2, tt.getAllCourses().size());
+        assertEquals(2, report.getRejected().size());
+        checkCourse("CPSC121", report.getRejected().get(0));
+        checkCourse("cpsc110", report.getDuplicates().get(0));
+        assertEquals("[CPSC110 / CPSC121]", report.getCollisions().toString());
+    }
+
+    @Test
+    void testReaderReportsProgress() throws IOException {
+        String file = "./data/testReaderGeneralTimeTable.json";
+        long size = Files.size(Paths.get(file));
+        long[] last = new long[2];
+        JsonReader reader = new JsonReader(file);
+        reader.setProgressListener((done, total) -> {
+            assertTrue(done > last[0]);
+            last[0] = done;
+            last[1] = total;
+        });
+        assertEquals(2, reader.readStreaming().getAllCourses().size());
+        assertEquals(size, last[0]);
+        assertEquals(size, last[1]);
+    }
+
+    @Test
+    void testReaderStopsWhenInterrupted() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralTimeTable.json");
+        reader.setProgressListener((done, total) -> { });
+        Thread.currentThread().interrupt();
+        try {
+            reader.readStreaming();
+            fail("InterruptedIOException expected");
+        } catch (InterruptedIOException e) {
+            // expected
+        } catch (IOException e) {
+            fail("InterruptedIOException expected");
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
 }
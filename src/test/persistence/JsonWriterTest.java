@@ -2,13 +2,19 @@ package persistence;
 
 import model.Course;
 import model.TimeTable;
+import model.TimeTableSnapshot;
 import model.TimeBlock;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class JsonWriterTest extends JsonTest {
 
@@ -22,6 +28,17 @@ class JsonWriterTest extends JsonTest {
         }
     }
 
+    @Test
+    void testCloseReportsWriteFailure() throws IOException {
+        assumeTrue(Files.isWritable(Paths.get("/dev/full")));
+        TimeTable timeTable = new TimeTable();
+        timeTable.addCourse(new Course("CPSC210"));
+        JsonWriter writer = new JsonWriter("/dev/full");
+        writer.open();
+        writer.write(timeTable);
+        assertThrows(IOException.class, writer::close);
+    }
+
     @Test
     void testWriterEmptyTimeTable() {
         try {
@@ -75,4 +92,99 @@ class JsonWriterTest extends JsonTest {
             fail("Exception should not have been thrown");
         }
     }
+
+    @Test
+    void testWriteStreamingEmptyTimeTable() {
+        try {
+            JsonWriter writer = new JsonWriter("./data/testWriterStreamingEmptyTimeTable.json");
+            writer.open();
+            writer.writeStreaming(new TimeTable());
+            writer.close();
+
+            JsonReader reader = new JsonReader("./data/testWriterStreamingEmptyTimeTable.json");
+            assertEquals(0, reader.read().getAllCourses().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriteStreamingGeneralTimeTable() {
+        checkStreamingRoundTrip("./data/testWriterStreamingGeneralTimeTable.json", 4);
+    }
+
+    @Test
+    void testWriteStreamingCompact() {
+        checkStreamingRoundTrip("./data/testWriterStreamingCompactTimeTable.json", 0);
+    }
+
+    // Helper method that writes a timetable with every component type and reads it back
+    private void checkStreamingRoundTrip(String file, int indentFactor) {
+        try {
+            TimeTable timeTable = new TimeTable();
+            Course course1 = new Course("CPSC110");
+            course1.setInstructor("Gregor Kiczales");
+            course1.setCredits(4);
+            course1.setLocation("WOOD 2");
+            course1.addLectureTime(new TimeBlock("MONDAY", LocalTime.of(10, 0), LocalTime.of(11, 30)));
+            course1.addLectureTime(new TimeBlock("WEDNESDAY", LocalTime.of(10, 0), LocalTime.of(11, 30)));
+            course1.setLabTime(new TimeBlock("FRIDAY", LocalTime.of(13, 0), LocalTime.of(15, 0)));
+            timeTable.addCourse(course1);
+            Course course2 = new Course("MATH \"200\"");
+            course2.setDiscussionTime(new TimeBlock("TUESDAY", LocalTime.of(14, 0), LocalTime.of(15, 30)));
+            timeTable.addCourse(course2);
+
+            JsonWriter writer = new JsonWriter(file, indentFactor);
+            writer.open();
+            writer.writeStreaming(timeTable);
+            writer.close();
+
+            List<Course> courses = new JsonReader(file).read().getAllCourses();
+            assertEquals(2, courses.size());
+            checkCourse("CPSC110", courses.get(0));
+            checkCourse("MATH \"200\"", courses.get(1));
+            assertEquals("Gregor Kiczales", courses.get(0).getInstructor());
+            assertEquals(4, courses.get(0).getCredits());
+            assertEquals("WOOD 2", courses.get(0).getLocation());
+            assertEquals("", courses.get(1).getInstructor());
+            assertEquals(2, courses.get(0).getLectureTimes().size());
+            checkTimeBlock("WEDNESDAY", "10:00", "11:30", courses.get(0).getLectureTimes().get(1));
+            checkTimeBlock("FRIDAY", "13:00", "15:00", courses.get(0).getLabTime());
+            assertNull(courses.get(0).getDiscussionTime());
+            assertTrue(courses.get(1).getLectureTimes().isEmpty());
+            checkTimeBlock("TUESDAY", "14:00", "15:30", courses.get(1).getDiscussionTime());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterStreamingSnapshotWithProgress() {
+        String file = "./data/testWriterStreamingSnapshot.json";
+        try {
+            TimeTable timeTable = new TimeTable();
+            timeTable.addCourse(new Course("CPSC110"));
+            timeTable.addCourse(new Course("MATH200"));
+            TimeTableSnapshot snapshot = timeTable.snapshot();
+            timeTable.addCourse(new Course("PHYS101"));
+
+            List<Long> reported = new ArrayList<>();
+            JsonWriter writer = new JsonWriter(file);
+            writer.setProgressListener((done, total) -> {
+                assertEquals(2, total);
+                reported.add(done);
+            });
+            writer.open();
+            writer.writeStreaming(snapshot);
+            writer.close();
+
+            assertEquals(List.of(1L, 2L), reported);
+            List<Course> courses = new JsonReader(file).read().getAllCourses();
+            assertEquals(2, courses.size());
+            checkCourse("MATH200", courses.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
 }
+
@@ -0,0 +1,168 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+
+public class MappedCatalogTest extends JsonTest {
+    private static final String CATALOG = "./data/testMappedCatalog.cft";
+    private MappedCatalog catalog;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        TimeTable timeTable = new TimeTable();
+        for (int i = 0; i < 20; i++) {
+            Course course = new Course("CPSC" + (100 + i));
+            course.setInstructor("Instructor " + i);
+            course.setCredits(i % 4 + 1);
+            course.addLectureTime(new TimeBlock("MONDAY", LocalTime.of(8 + i / 2, (i % 2) * 30),
+                    LocalTime.of(8 + i / 2, (i % 2) * 30 + 29)));
+            timeTable.addCourse(course);
+        }
+        Course lab = new Course("BIOL112");
+        lab.setLocation("BIOL 2000");
+        lab.setLabTime(new TimeBlock("Thursday", LocalTime.of(14, 0), LocalTime.of(17, 0)));
+        lab.setDiscussionTime(new TimeBlock("FRIDAY", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        timeTable.addCourse(lab);
+
+        BinaryWriter writer = new BinaryWriter(CATALOG);
+        writer.open();
+        writer.write(timeTable);
+        writer.close();
+
+        catalog = new MappedCatalog(CATALOG);
+        catalog.open();
+    }
+
+    @Test
+    void testOpenNonExistentFile() {
+        try {
+            new MappedCatalog("./data/noSuchFile.cft").open();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testOpenJsonFile() {
+        try {
+            new MappedCatalog("./data/testReaderGeneralTimeTable.json").open();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testOpenNewerVersion(@TempDir Path dir) throws IOException {
+        byte[] contents = Files.readAllBytes(Path.of(CATALOG));
+        ByteBuffer.wrap(contents).putShort(Integer.BYTES, (short) (BinaryWriter.VERSION + 1));
+        Path newer = Files.write(dir.resolve("newer.cft"), contents);
+        try {
+            new MappedCatalog(newer.toString()).open();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("version"));
+        }
+    }
+
+    @Test
+    void testGetAllCourses() {
+        List<Course> courses = catalog.getAllCourses();
+        assertEquals(21, catalog.size());
+        assertEquals(21, courses.size());
+        checkCourse("CPSC100", courses.get(0));
+        checkCourse("BIOL112", courses.get(20));
+
+        Course course = courses.get(3);
+        checkCourse("CPSC103", course);
+        assertEquals("Instructor 3", course.getInstructor());
+        assertEquals(4, course.getCredits());
+        checkTimeBlock("MONDAY", "09:30", "09:59", course.getLectureTimes().get(0));
+    }
+
+    @Test
+    void testGetCourseByName() {
+        for (int i = 0; i < 20; i++) {
+            checkCourse("CPSC" + (100 + i), catalog.getCourseByName("cpsc" + (100 + i)));
+        }
+        Course lab = catalog.getCourseByName("BIOL112");
+        assertEquals("BIOL 2000", lab.getLocation());
+        checkTimeBlock("Thursday", "14:00", "17:00", lab.getLabTime());
+        checkTimeBlock("FRIDAY", "09:00", "10:00", lab.getDiscussionTime());
+
+        assertNull(catalog.getCourseByName("MATH100"));
+        assertNull(catalog.getCourseByName(null));
+    }
+
+    @Test
+    void testFindConflictingCourse() {
+        checkCourse("CPSC105", catalog.findConflictingCourse(
+                new TimeBlock("MONDAY", LocalTime.of(10, 45), LocalTime.of(10, 50))));
+        checkCourse("BIOL112", catalog.findConflictingCourse(
+                new TimeBlock("FRIDAY", LocalTime.of(9, 30), LocalTime.of(11, 0))));
+        checkCourse("BIOL112", catalog.findConflictingCourse(
+                new TimeBlock("THURSDAY", LocalTime.of(16, 59), LocalTime.of(18, 0))));
+
+        assertTrue(catalog.isFree(new TimeBlock("MONDAY", LocalTime.of(18, 0), LocalTime.of(20, 0))));
+        assertTrue(catalog.isFree(new TimeBlock("TUESDAY", LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        assertFalse(catalog.isFree(new TimeBlock("MONDAY", LocalTime.of(8, 0), LocalTime.of(8, 1))));
+    }
+
+    @Test
+    void testEmptyCatalog() throws IOException {
+        BinaryWriter writer = new BinaryWriter("./data/testMappedEmptyCatalog.cft");
+        writer.open();
+        writer.write(new TimeTable());
+        writer.close();
+
+        MappedCatalog empty = new MappedCatalog("./data/testMappedEmptyCatalog.cft");
+        empty.open();
+        assertEquals(0, empty.size());
+        assertNull(empty.getCourseByName("CPSC110"));
+        assertTrue(empty.isFree(new TimeBlock("MONDAY", LocalTime.of(8, 0), LocalTime.of(9, 0))));
+    }
+
+    @Test
+    void testFindConflictingCourseBehindLongBlock(@TempDir Path dir) throws IOException {
+        TimeTable timeTable = new TimeTable();
+        Course lng = new Course("LONG100");
+        lng.addLectureTime(new TimeBlock("TUESDAY", LocalTime.of(8, 0), LocalTime.of(12, 0)));
+        Course shorter = new Course("SHORT100");
+        shorter.addLectureTime(new TimeBlock("TUESDAY", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+        timeTable.addCourse(lng);
+        timeTable.addCourse(shorter);
+        String file = dir.resolve("long.cft").toString();
+        BinaryWriter writer = new BinaryWriter(file);
+        writer.open();
+        writer.write(timeTable);
+        writer.close();
+        MappedCatalog mapped = new MappedCatalog(file);
+        mapped.open();
+
+        checkCourse("LONG100", mapped.findConflictingCourse(
+                new TimeBlock("TUESDAY", LocalTime.of(11, 0), LocalTime.of(14, 30))));
+        checkCourse("SHORT100", mapped.findConflictingCourse(
+                new TimeBlock("TUESDAY", LocalTime.of(12, 10), LocalTime.of(14, 1))));
+        assertTrue(mapped.isFree(new TimeBlock("TUESDAY", LocalTime.of(12, 0), LocalTime.of(14, 0))));
+        assertTrue(mapped.isFree(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        assertEquals(1, mapped.indexOf("short100"));
+        assertEquals(-1, mapped.indexOf("MID100"));
+    }
+}
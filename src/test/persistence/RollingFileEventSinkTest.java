@@ -0,0 +1,96 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingFileEventSinkTest {
+    @TempDir
+    Path dir;
+    private String destination;
+
+    @BeforeEach
+    void runBefore() {
+        destination = dir.resolve("testEvents.log").toString();
+    }
+
+    @Test
+    void testInvalidFile() {
+        try {
+            new RollingFileEventSink("./not/exist/events.log").open();
+            fail("IOException expected");
+        } catch (IOException e) {
+        }
+    }
+
+    @Test
+    void testWriteAppendsLines() {
+        try {
+            RollingFileEventSink sink = new RollingFileEventSink(destination);
+            sink.open();
+            sink.write(List.of(new Event("Added course: CPSC210"), new Event("Removed course: CPSC210")));
+            sink.close();
+            sink.open();
+            sink.write(List.of(new Event("Added course: MATH200")));
+            sink.close();
+
+            List<String> lines = Files.readAllLines(Paths.get(destination));
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(0).endsWith("\tAdded course: CPSC210"));
+            assertTrue(lines.get(1).endsWith("\tRemoved course: CPSC210"));
+            assertTrue(lines.get(2).endsWith("\tAdded course: MATH200"));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testRolling() {
+        try {
+            RollingFileEventSink sink = new RollingFileEventSink(destination, 100, 3);
+            sink.open();
+            for (int i = 0; i < 5; i++) {
+                sink.write(List.of(new Event("Added course: COURSE" + i), new Event("Removed course: COURSE" + i)));
+            }
+            sink.close();
+
+            assertTrue(Files.readAllLines(Paths.get(destination)).get(0).endsWith("COURSE4"));
+            assertTrue(Files.readAllLines(Paths.get(destination + ".1")).get(0).endsWith("COURSE3"));
+            assertTrue(Files.readAllLines(Paths.get(destination + ".2")).get(0).endsWith("COURSE2"));
+            assertFalse(Files.exists(Paths.get(destination + ".3")));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testAttachedToEventLog() {
+        try {
+            RollingFileEventSink sink = new RollingFileEventSink(destination);
+            sink.open();
+            EventLog log = EventLog.getInstance();
+            log.addSink(sink);
+            log.logEvent(new Event("Added course: CPSC210"));
+            log.logEvent(new Event("Added course: MATH200"));
+            assertTrue(log.flush(5000));
+            log.removeSink(sink);
+            sink.close();
+
+            List<String> lines = Files.readAllLines(Paths.get(destination));
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(1).endsWith("\tAdded course: MATH200"));
+        } catch (IOException | InterruptedException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package persistence;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeTableJournalTest extends JsonTest {
+    private static final String SNAPSHOT = "./data/testJournal.cft";
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(SNAPSHOT));
+        Files.deleteIfExists(Paths.get(SNAPSHOT + ".log"));
+        Files.deleteIfExists(Paths.get(SNAPSHOT + ".log.compacting"));
+    }
+
+    @Test
+    void testOpenEmpty() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            assertEquals(0, timeTable.getAllCourses().size());
+            journal.close();
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplayAddEditRemove() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            Course course1 = makeCourse("CPSC110", "MONDAY", 10);
+            Course course2 = makeCourse("MATH200", "TUESDAY", 14);
+            timeTable.addCourse(course1);
+            timeTable.addCourse(course2);
+            course1.setInstructor("Gregor Kiczales");
+            course1.setLabTime(new TimeBlock("FRIDAY", LocalTime.of(13, 0), LocalTime.of(15, 0)));
+            timeTable.removeCourse(course2);
+            journal.close();
+
+            TimeTable loaded = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(1, loaded.getAllCourses().size());
+            Course c = loaded.getCourseByName("CPSC110");
+            checkCourse("CPSC110", c);
+            assertEquals("Gregor Kiczales", c.getInstructor());
+            checkTimeBlock("MONDAY", "10:00", "11:30", c.getLectureTimes().get(0));
+            checkTimeBlock("FRIDAY", "13:00", "15:00", c.getLabTime());
+            assertNull(loaded.getCourseByName("MATH200"));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplayKeepsCourseEditedIntoClash() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            Course course1 = makeCourse("CPSC110", "MONDAY", 10);
+            Course course2 = makeCourse("MATH200", "TUESDAY", 14);
+            timeTable.addCourse(course1);
+            timeTable.addCourse(course2);
+            course1.setLabTime(new TimeBlock("TUESDAY", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+            course1.setInstructor("Gregor Kiczales");
+            journal.close();
+
+            TimeTable loaded = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(2, loaded.getAllCourses().size());
+            Course c = loaded.getAllCourses().get(0);
+            checkCourse("CPSC110", c);
+            assertEquals("Gregor Kiczales", c.getInstructor());
+            checkTimeBlock("TUESDAY", "14:00", "15:00", c.getLabTime());
+            checkCourse("MATH200", loaded.getAllCourses().get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testSnapshotKeepsCourseEditedIntoClash() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            Course course1 = makeCourse("CPSC110", "MONDAY", 10);
+            timeTable.addCourse(course1);
+            timeTable.addCourse(makeCourse("MATH200", "TUESDAY", 14));
+            course1.setLabTime(new TimeBlock("TUESDAY", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+            journal.compact();
+            journal.awaitCompaction();
+            journal.close();
+            assertEquals(2, new TimeTableJournal(SNAPSHOT).open().getAllCourses().size());
+
+            TimeTableJournal attached = new TimeTableJournal(SNAPSHOT);
+            attached.attach(timeTable);
+            attached.close();
+            TimeTable loaded = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(2, loaded.getAllCourses().size());
+            checkTimeBlock("TUESDAY", "14:00", "15:00", loaded.getCourseByName("CPSC110").getLabTime());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testAttach() {
+        try {
+            TimeTableJournal old = new TimeTableJournal(SNAPSHOT);
+            old.open().addCourse(makeCourse("MATH200", "TUESDAY", 14));
+            old.close();
+
+            TimeTable timeTable = new TimeTable();
+            timeTable.addCourse(makeCourse("CPSC110", "MONDAY", 10));
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            journal.attach(timeTable);
+            assertEquals(1, new BinaryReader(SNAPSHOT).read().getAllCourses().size());
+            timeTable.addCourse(makeCourse("CPSC121", "WEDNESDAY", 9));
+            journal.close();
+
+            TimeTable loaded = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(2, loaded.getAllCourses().size());
+            checkCourse("CPSC110", loaded.getAllCourses().get(0));
+            checkCourse("CPSC121", loaded.getAllCourses().get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testTornTailIsDropped() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            timeTable.addCourse(makeCourse("CPSC110", "MONDAY", 10));
+            timeTable.addCourse(makeCourse("MATH200", "TUESDAY", 14));
+            journal.close();
+
+            try (RandomAccessFile log = new RandomAccessFile(SNAPSHOT + ".log", "rw")) {
+                log.setLength(log.length() - 3);
+            }
+
+            TimeTableJournal reopened = new TimeTableJournal(SNAPSHOT);
+            TimeTable loaded = reopened.open();
+            assertEquals(1, loaded.getAllCourses().size());
+            checkCourse("CPSC110", loaded.getAllCourses().get(0));
+
+            loaded.addCourse(makeCourse("CPSC121", "WEDNESDAY", 9));
+            reopened.close();
+            TimeTable again = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(2, again.getAllCourses().size());
+            checkCourse("CPSC121", again.getAllCourses().get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testCompaction() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT, 64);
+            TimeTable timeTable = journal.open();
+            timeTable.addCourse(makeCourse("CPSC110", "MONDAY", 10));
+            timeTable.addCourse(makeCourse("MATH200", "TUESDAY", 14));
+            journal.awaitCompaction();
+            timeTable.addCourse(makeCourse("CPSC121", "WEDNESDAY", 9));
+            journal.close();
+
+            assertTrue(Files.exists(Paths.get(SNAPSHOT)));
+            assertFalse(Files.exists(Paths.get(SNAPSHOT + ".log.compacting")));
+            assertTrue(new BinaryReader(SNAPSHOT).read().getAllCourses().size() >= 2);
+
+            TimeTable loaded = new TimeTableJournal(SNAPSHOT).open();
+            assertEquals(3, loaded.getAllCourses().size());
+            checkCourse("CPSC110", loaded.getAllCourses().get(0));
+            checkCourse("MATH200", loaded.getAllCourses().get(1));
+            checkCourse("CPSC121", loaded.getAllCourses().get(2));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testResumeInterruptedCompaction() {
+        try {
+            TimeTableJournal journal = new TimeTableJournal(SNAPSHOT);
+            TimeTable timeTable = journal.open();
+            timeTable.addCourse(makeCourse("CPSC110", "MONDAY", 10));
+            journal.close();
+            Files.move(Paths.get(SNAPSHOT + ".log"), Paths.get(SNAPSHOT + ".log.compacting"));
+
+            TimeTableJournal reopened = new TimeTableJournal(SNAPSHOT);
+            TimeTable loaded = reopened.open();
+            assertEquals(1, loaded.getAllCourses().size());
+            reopened.awaitCompaction();
+            reopened.close();
+
+            assertFalse(Files.exists(Paths.get(SNAPSHOT + ".log.compacting")));
+            assertEquals(1, new BinaryReader(SNAPSHOT).read().getAllCourses().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    private Course makeCourse(String code, String day, int hour) {
+        Course course = new Course(code);
+        course.addLectureTime(new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 30)));
+        return course;
+    }
+}
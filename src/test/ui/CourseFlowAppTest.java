@@ -0,0 +1,50 @@
+package ui;
+
+import model.Course;
+import model.TimeBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseFlowAppTest {
+    @TempDir
+    Path dir;
+
+    private CourseFlowApp app;
+
+    @BeforeEach
+    void runBefore() {
+        app = new CourseFlowApp();
+        Course course = new Course("CPSC210");
+        course.addLectureTime(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        app.getTimeTable().addCourse(course);
+    }
+
+    @Test
+    void testJournalRoundTrip() throws IOException {
+        String snapshot = dir.resolve("timetable.cft").toString();
+        app.startJournal(snapshot);
+        app.getTimeTable().addCourse(new Course("MATH200"));
+        app.closeJournal();
+
+        CourseFlowApp reopened = new CourseFlowApp();
+        reopened.openJournal(snapshot);
+        assertEquals(2, reopened.getTimeTable().getAllCourses().size());
+        assertFalse(reopened.loadTimeTable(dir.resolve("missing.json").toString()));
+        assertEquals(2, reopened.getTimeTable().getAllCourses().size());
+    }
+
+    @Test
+    void testJournalFailuresAreReported() {
+        String unwritable = dir.resolve("missing").resolve("timetable.cft").toString();
+        assertThrows(IOException.class, () -> app.startJournal(unwritable));
+        assertThrows(IOException.class, () -> app.openJournal(unwritable));
+        assertEquals(1, app.getTimeTable().getAllCourses().size());
+    }
+}
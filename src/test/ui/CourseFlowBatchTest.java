@@ -0,0 +1,223 @@
+package ui;
+
+import model.Course;
+import model.TimeBlock;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseFlowBatchTest {
+    private CourseFlowApp app;
+    private int failures;
+
+    @BeforeEach
+    void runBefore() {
+        app = new CourseFlowApp();
+    }
+
+    @Test
+    void testAddQueryRemove() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), add("MATH200", "TUESDAY", 9),
+                "{\"op\":\"query\",\"code\":\"cpsc210\"}", "{\"op\":\"query\"}",
+                "{\"op\":\"remove\",\"code\":\"CPSC210\"}", "{\"op\":\"query\",\"code\":\"CPSC210\"}");
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).getBoolean("ok"));
+        assertTrue(results.get(1).getBoolean("ok"));
+        assertEquals("CPSC210", results.get(2).getJSONObject("course").getString("courseCode"));
+        assertEquals(2, results.get(3).getJSONArray("courses").length());
+        assertTrue(results.get(4).getBoolean("ok"));
+        assertFalse(results.get(5).getBoolean("ok"));
+        assertEquals(1, failures);
+        assertEquals(List.of("MATH200"), codes());
+    }
+
+    @Test
+    void testSingleAddReportsCollisionAndDuplicate() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), "{\"op\":\"query\"}",
+                add("MATH200", "MONDAY", 9), "{\"op\":\"query\"}", add("cpsc210", "FRIDAY", 9));
+        assertTrue(results.get(0).getBoolean("ok"));
+        assertFalse(results.get(2).getBoolean("ok"));
+        assertEquals("CPSC210", results.get(2).getJSONArray("with").getString(0));
+        assertFalse(results.get(4).getBoolean("ok"));
+        assertTrue(results.get(4).getString("error").contains("already"));
+        assertEquals(List.of("CPSC210"), codes());
+    }
+
+    @Test
+    void testBatchAddReportsCollisionAndDuplicate() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), add("MATH200", "MONDAY", 9),
+                add("cpsc210", "FRIDAY", 9), add("CPSC121", "FRIDAY", 9));
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).getBoolean("ok"));
+        assertEquals(new JSONArray().put("CPSC210").toString(), results.get(1).getJSONArray("with").toString());
+        assertTrue(results.get(2).getString("error").contains("already"));
+        assertTrue(results.get(3).getBoolean("ok"));
+        assertEquals(2, results.get(3).getLong("line") - results.get(1).getLong("line"));
+        assertEquals(List.of("CPSC210", "CPSC121"), codes());
+    }
+
+    @Test
+    void testEdit() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9),
+                "{\"op\":\"edit\",\"code\":\"CPSC210\",\"instructor\":\"Felix\",\"credits\":4,"
+                        + "\"lectureTimes\":[" + block("TUESDAY", 10) + "," + block("THURSDAY", 10) + "],"
+                        + "\"labTime\":" + block("FRIDAY", 13) + "}",
+                "{\"op\":\"edit\",\"code\":\"CPSC210\",\"labTime\":null}");
+        assertTrue(results.get(1).getBoolean("ok"));
+        assertTrue(results.get(2).getBoolean("ok"));
+        Course course = app.getTimeTable().getCourseByName("CPSC210");
+        assertEquals("Felix", course.getInstructor());
+        assertEquals(4, course.getCredits());
+        assertEquals(2, course.getLectureTimes().size());
+        assertNull(course.getLabTime());
+        assertTrue(app.getTimeTable().isFree(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        assertSame(course, app.getTimeTable().findConflictingCourse(
+                new TimeBlock("THURSDAY", LocalTime.of(10, 0), LocalTime.of(10, 30))));
+    }
+
+    @Test
+    void testEditChecksBlocksBehindTheCourseItself() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), add("MATH200", "MONDAY", 10),
+                "{\"op\":\"edit\",\"code\":\"CPSC210\",\"instructor\":\"Felix\",\"labTime\":"
+                        + "{\"day\":\"MONDAY\",\"startTime\":\"09:30\",\"endTime\":\"10:30\"}}");
+        assertFalse(results.get(2).getBoolean("ok"));
+        assertTrue(results.get(2).getString("error").contains("MATH200"));
+        Course course = app.getTimeTable().getCourseByName("CPSC210");
+        assertNull(course.getLabTime());
+        assertEquals("", course.getInstructor());
+    }
+
+    @Test
+    void testEditRejectsBlocksThatClashWithEachOther() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9),
+                "{\"op\":\"edit\",\"code\":\"CPSC210\",\"lectureTimes\":[" + block("TUESDAY", 10) + "],"
+                        + "\"discussionTime\":" + block("TUESDAY", 10) + "}",
+                "{\"op\":\"edit\",\"code\":\"CPSC210\",\"instructor\":\"Felix\",\"credits\":\"four\"}");
+        assertFalse(results.get(1).getBoolean("ok"));
+        assertFalse(results.get(2).getBoolean("ok"));
+        Course course = app.getTimeTable().getCourseByName("CPSC210");
+        assertEquals("MONDAY", course.getLectureTimes().get(0).getDay());
+        assertNull(course.getDiscussionTime());
+        assertEquals("", course.getInstructor());
+    }
+
+    @Test
+    void testFree() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9),
+                "{\"op\":\"free\",\"time\":" + block("MONDAY", 9) + "}",
+                "{\"op\":\"free\",\"time\":" + block("MONDAY", 11) + "}");
+        assertFalse(results.get(1).getBoolean("free"));
+        assertEquals("CPSC210", results.get(1).getString("with"));
+        assertTrue(results.get(2).getBoolean("free"));
+    }
+
+    @Test
+    void testSaveAndLoad(@TempDir Path dir) throws IOException {
+        for (String name : new String[] { "timetable.json", "timetable.cft" }) {
+            String file = JSONObject.quote(dir.resolve(name).toString());
+            app = new CourseFlowApp();
+            List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), add("MATH200", "TUESDAY", 9),
+                    "{\"op\":\"save\",\"file\":" + file + "}", "{\"op\":\"remove\",\"code\":\"MATH200\"}",
+                    "{\"op\":\"load\",\"file\":" + file + "}");
+            assertTrue(results.get(2).getBoolean("ok"));
+            assertEquals(2, results.get(4).getInt("courses"));
+            assertEquals(0, results.get(4).getJSONArray("rejected").length());
+            assertEquals(List.of("CPSC210", "MATH200"), codes());
+        }
+        List<JSONObject> results = run("{\"op\":\"load\",\"file\":\"./data/testReaderConflictingTimeTable.json\"}",
+                "{\"op\":\"load\",\"file\":" + JSONObject.quote(dir.resolve("missing.json").toString()) + "}");
+        assertTrue(results.get(0).getJSONArray("rejected").length() > 0);
+        assertFalse(results.get(1).getBoolean("ok"));
+    }
+
+    @Test
+    void testUndoRedo() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), "{\"op\":\"undo\"}", "{\"op\":\"undo\"}",
+                "{\"op\":\"redo\"}");
+        assertTrue(results.get(1).getBoolean("changed"));
+        assertFalse(results.get(2).getBoolean("changed"));
+        assertTrue(results.get(3).getBoolean("changed"));
+        assertEquals(List.of("CPSC210"), codes());
+    }
+
+    @Test
+    void testUndoBatchedAddsOneAtATime() throws IOException {
+        List<JSONObject> results = run(add("CPSC210", "MONDAY", 9), add("MATH200", "TUESDAY", 9),
+                "{\"op\":\"undo\"}", "{\"op\":\"query\"}");
+        assertTrue(results.get(2).getBoolean("changed"));
+        assertEquals(1, results.get(3).getJSONArray("courses").length());
+        assertEquals(List.of("CPSC210"), codes());
+    }
+
+    @Test
+    void testUndoEditAsAWhole() throws IOException {
+        Course course = new Course("CPSC210");
+        course.addLectureTime(new TimeBlock("MONDAY", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        course.addLectureTime(new TimeBlock("WEDNESDAY", LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        String edit = new JSONObject().put("op", "edit").put("code", "CPSC210").put("instructor", "Felix")
+                .put("lectureTimes", new JSONArray().put(new JSONObject(block("FRIDAY", 9)))
+                        .put(new JSONObject(block("FRIDAY", 11))))
+                .put("labTime", new JSONObject(block("TUESDAY", 13))).toString();
+        List<JSONObject> results = run(new JSONObject().put("op", "add").put("course", course.toJson()).toString(),
+                edit, "{\"op\":\"undo\"}", "{\"op\":\"redo\"}", "{\"op\":\"undo\"}");
+        assertTrue(results.get(1).getBoolean("ok"));
+        assertTrue(results.get(2).getBoolean("changed"));
+        assertTrue(results.get(4).getBoolean("changed"));
+        assertEquals(course.toJson().toString(), app.getTimeTable().getCourseByName("CPSC210").toJson().toString());
+        assertEquals(1, app.getTimeTable().getHistory().getUndoCount());
+    }
+
+    @Test
+    void testMalformedCommands() throws IOException {
+        List<JSONObject> results = run("# a comment", "", "not json", "{\"op\":\"fly\"}", "{\"code\":\"X\"}",
+                "{\"op\":\"add\",\"course\":{}}");
+        assertEquals(4, results.size());
+        assertEquals(3, results.get(0).getLong("line"));
+        assertEquals("fly", results.get(1).getString("op"));
+        assertEquals(4, failures);
+        for (JSONObject result : results) {
+            assertFalse(result.getBoolean("ok"));
+        }
+    }
+
+    private List<JSONObject> run(String... lines) throws IOException {
+        StringWriter out = new StringWriter();
+        failures = new CourseFlowBatch(app, out).run(new BufferedReader(new StringReader(String.join("\n", lines))));
+        List<JSONObject> results = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            results.add(new JSONObject(line));
+        }
+        return results;
+    }
+
+    private List<String> codes() {
+        List<String> codes = new ArrayList<>();
+        for (Course c : app.getTimeTable().getAllCourses()) {
+            codes.add(c.getCourseCode());
+        }
+        return codes;
+    }
+
+    private String add(String code, String day, int hour) {
+        Course course = new Course(code);
+        course.addLectureTime(new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)));
+        return new JSONObject().put("op", "add").put("course", course.toJson()).toString();
+    }
+
+    private String block(String day, int hour) {
+        return new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)).toJson().toString();
+    }
+}
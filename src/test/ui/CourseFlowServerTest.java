@@ -0,0 +1,159 @@
+package ui;
+
+import model.Course;
+import model.TimeBlock;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseFlowServerTest {
+    @TempDir
+    Path dir;
+
+    private CourseFlowApp app;
+    private CourseFlowServer server;
+    private HttpClient client;
+    private int status;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        app = new CourseFlowApp();
+        server = new CourseFlowServer(app, 0, dir.resolve("timetable.json"));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void runAfter() {
+        server.stop(0);
+    }
+
+    @Test
+    void testAddGetRemove() throws Exception {
+        send("POST", "/courses", course("CPSC210", "MONDAY", 9));
+        assertEquals(200, status);
+        assertEquals(1, app.getTimeTable().getAllCourses().size());
+        assertEquals(1, send("GET", "/courses", null).getJSONArray("courses").length());
+        assertEquals("CPSC210", send("GET", "/courses/CPSC210", null).getString("courseCode"));
+        assertEquals("CPSC210", send("DELETE", "/courses/CPSC210", null).getString("removed"));
+        assertTrue(send("GET", "/courses/CPSC210", null).has("error"));
+        assertEquals(404, status);
+    }
+
+    @Test
+    void testAddSeveralReportsCollision() throws Exception {
+        JSONObject body = new JSONObject().put("courses", new JSONArray()
+                .put(course("CPSC210", "MONDAY", 9)).put(course("MATH200", "MONDAY", 9)));
+        JSONObject report = send("POST", "/courses", body);
+        assertEquals(409, status);
+        assertEquals("CPSC210", report.getJSONArray("accepted").getString(0));
+        assertEquals("MATH200", report.getJSONArray("collisions").getJSONObject(0).getString("course"));
+    }
+
+    @Test
+    void testFree() throws Exception {
+        send("POST", "/courses", course("CPSC210", "MONDAY", 9));
+        JSONObject taken = send("GET", "/free?day=MONDAY&start=09:30&end=10:30", null);
+        assertFalse(taken.getBoolean("free"));
+        assertEquals("CPSC210", taken.getString("with"));
+        assertTrue(send("GET", "/free?day=MONDAY&start=10:00&end=11:00", null).getBoolean("free"));
+        JSONArray gaps = send("GET", "/free?day=MONDAY&minutes=60&from=08:00&to=12:00", null).getJSONArray("slots");
+        assertEquals(2, gaps.length());
+        assertEquals("10:00", gaps.getJSONObject(1).getString("startTime"));
+        send("GET", "/free?day=MONDAY", null);
+        assertEquals(400, status);
+    }
+
+    @Test
+    void testSaveAndLoad() throws Exception {
+        send("POST", "/courses", course("CPSC210", "MONDAY", 9));
+        assertEquals(1, send("POST", "/save", new JSONObject()).getInt("saved"));
+        assertTrue(Files.exists(dir.resolve("timetable.json")));
+        send("POST", "/save", new JSONObject().put("file", "copy.json"));
+        assertTrue(Files.exists(dir.resolve("copy.json")));
+        send("DELETE", "/courses/CPSC210", null);
+        JSONObject loaded = send("POST", "/load", new JSONObject().put("file", "copy.json"));
+        assertEquals(200, status);
+        assertEquals(1, loaded.getInt("loaded"));
+        assertEquals(0, loaded.getJSONArray("rejected").length());
+        assertNotNull(app.getTimeTable().getCourseByName("CPSC210"));
+    }
+
+    @Test
+    void testSaveAndLoadStayInDirectory() throws Exception {
+        Path outside = dir.getParent().resolve("outside.json");
+        send("POST", "/save", new JSONObject().put("file", "../outside.json"));
+        assertEquals(400, status);
+        send("POST", "/save", new JSONObject().put("file", outside.toString()));
+        assertEquals(400, status);
+        assertFalse(Files.exists(outside));
+        send("POST", "/load", new JSONObject().put("file", "sub/../../timetable.json"));
+        assertEquals(400, status);
+    }
+
+    @Test
+    void testUndoRedo() throws Exception {
+        send("POST", "/courses", course("CPSC210", "MONDAY", 9));
+        assertTrue(send("POST", "/undo", null).getBoolean("changed"));
+        assertTrue(app.getTimeTable().getAllCourses().isEmpty());
+        assertTrue(send("POST", "/redo", null).getBoolean("changed"));
+        assertEquals(1, app.getTimeTable().getAllCourses().size());
+        assertFalse(send("POST", "/redo", null).getBoolean("changed"));
+    }
+
+    @Test
+    void testRejectsRequestsFromWebPages() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/save")).header("Origin", "http://example.com")
+                .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString("{}")).build();
+        assertEquals(403, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertFalse(Files.exists(dir.resolve("timetable.json")));
+    }
+
+    @Test
+    void testRejectsBodiesThatAreNotJson() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/courses")).header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(course("CPSC210", "MONDAY", 9).toString())).build();
+        assertEquals(415, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertTrue(app.getTimeTable().getAllCourses().isEmpty());
+    }
+
+    @Test
+    void testRejectsUnsupportedMethod() throws Exception {
+        send("GET", "/save", null);
+        assertEquals(405, status);
+    }
+
+    private JSONObject send(String method, String path, JSONObject body) throws Exception {
+        HttpRequest.BodyPublisher publisher = (body == null) ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body.toString());
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+                .method(method, publisher).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        status = response.statusCode();
+        return new JSONObject(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    private JSONObject course(String code, String day, int hour) {
+        Course course = new Course(code);
+        course.addLectureTime(new TimeBlock(day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)));
+        return course.toJson();
+    }
+}
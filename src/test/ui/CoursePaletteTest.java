@@ -0,0 +1,28 @@
+package ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoursePaletteTest {
+
+    @Test
+    void testSameCodeSameColor() {
+        assertEquals(CoursePalette.colorOf("CPSC210"), CoursePalette.colorOf("cpsc210"));
+        assertNotNull(CoursePalette.colorOf(""));
+    }
+
+    @Test
+    void testColorsAreSpread() {
+        Set<Color> used = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            used.add(CoursePalette.colorOf("CPSC" + (100 + i)));
+        }
+        assertTrue(used.size() > CoursePalette.SIZE / 2);
+        assertTrue(used.size() <= CoursePalette.SIZE);
+    }
+}
@@ -0,0 +1,25 @@
+package ui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.ImageIcon;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageLoaderTest {
+
+    @Test
+    void testLoadsScalesAndCaches() {
+        ImageIcon icon = ImageLoader.loadIcon("saveicon.png", 40, 30);
+        assertNotNull(icon);
+        assertEquals(40, icon.getIconWidth());
+        assertEquals(30, icon.getIconHeight());
+        assertSame(icon, ImageLoader.loadIcon("saveicon.png", 40, 30));
+        assertNotSame(icon, ImageLoader.loadIcon("saveicon.png", 20, 20));
+    }
+
+    @Test
+    void testMissingImage() {
+        assertNull(ImageLoader.loadIcon("noSuchIcon.png", 40, 40));
+    }
+}
@@ -0,0 +1,73 @@
+package ui;
+
+import model.TimeBlock;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeGridTest {
+
+    @Test
+    void testRowsAndLabels() {
+        TimeGrid grid = new TimeGrid(LocalTime.of(8, 0), LocalTime.of(22, 0), 30, false);
+        assertEquals(28, grid.getRowCount());
+        assertEquals(5, grid.getDayCount());
+        assertEquals("08:00", grid.getRowLabel(0));
+        assertEquals("21:30", grid.getRowLabel(27));
+        assertEquals("Friday", grid.getDayName(4));
+    }
+
+    @Test
+    void testRangeIsRoundedOutToWholeRows() {
+        TimeGrid grid = new TimeGrid(LocalTime.of(8, 10), LocalTime.of(9, 50), 30, false);
+        assertEquals(LocalTime.of(8, 0), grid.getStart());
+        assertEquals(LocalTime.of(10, 0), grid.getEnd());
+        assertEquals(4, grid.getRowCount());
+
+        TimeGrid wholeDay = new TimeGrid(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, 15, true);
+        assertEquals(96, wholeDay.getRowCount());
+        assertEquals(LocalTime.MIDNIGHT, wholeDay.getEnd());
+    }
+
+    @Test
+    void testRowsOfBlock() {
+        TimeGrid grid = new TimeGrid(LocalTime.of(8, 0), LocalTime.of(12, 0), 30, false);
+        TimeBlock offSlot = new TimeBlock("Monday", LocalTime.of(9, 10), LocalTime.of(10, 5));
+        assertEquals(2, grid.firstRowOf(offSlot));
+        assertEquals(5, grid.endRowOf(offSlot));
+        assertEquals(2, grid.withResolution(5).firstRowOf(offSlot) / 6);
+
+        TimeBlock early = new TimeBlock("Monday", LocalTime.of(7, 0), LocalTime.of(8, 30));
+        assertEquals(0, grid.firstRowOf(early));
+        assertEquals(1, grid.endRowOf(early));
+        TimeBlock late = new TimeBlock("Monday", LocalTime.of(13, 0), LocalTime.of(14, 0));
+        assertTrue(grid.endRowOf(late) <= grid.firstRowOf(late));
+    }
+
+    @Test
+    void testWeekendColumns() {
+        TimeGrid weekdays = new TimeGrid(LocalTime.of(8, 0), LocalTime.of(22, 0), 30, false);
+        TimeBlock friday = new TimeBlock("Friday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        TimeBlock sunday = new TimeBlock("Sunday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        assertEquals(4, weekdays.columnOf(friday));
+        assertEquals(-1, weekdays.columnOf(sunday));
+
+        TimeGrid week = weekdays.withWeekends(true);
+        assertTrue(week.showsWeekends());
+        assertEquals(7, week.getDayCount());
+        assertEquals(6, week.columnOf(sunday));
+        assertEquals("Sunday", week.getDayName(6));
+    }
+
+    @Test
+    void testInvalidGrids() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeGrid(LocalTime.of(8, 0), LocalTime.of(22, 0), 20, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeGrid(LocalTime.of(10, 0), LocalTime.of(9, 0), 30, false));
+        assertTrue(TimeGrid.isSupported(5));
+        assertFalse(TimeGrid.isSupported(60));
+    }
+}
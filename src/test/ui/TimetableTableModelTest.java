@@ -0,0 +1,112 @@
+package ui;
+
+import model.Course;
+import model.TimeBlock;
+import model.TimeTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableTableModelTest {
+    private TimeTable timeTable;
+    private TimetableTableModel model;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void runBefore() {
+        timeTable = new TimeTable();
+        model = new TimetableTableModel(timeTable, new TimeGrid(LocalTime.of(8, 0), LocalTime.of(12, 0), 30, false));
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    void testPaintsBlockRange() {
+        Course cpsc210 = course("CPSC210", "Tuesday", 9, 0, 10, 30);
+        timeTable.addCourse(cpsc210);
+        assertEquals(8, model.getRowCount());
+        assertEquals(6, model.getColumnCount());
+        assertEquals("Tuesday", model.getColumnName(2));
+        assertEquals("09:00", model.getValueAt(2, 0));
+        assertEquals("", model.getValueAt(1, 2));
+        for (int row = 2; row < 5; row++) {
+            assertSame(cpsc210, model.getCourseAt(row, 2));
+            assertEquals("CPSC210 (Lecture)", model.getValueAt(row, 2));
+            assertEquals(CoursePalette.colorOf("CPSC210"), model.getColorAt(row, 2));
+        }
+        assertNull(model.getCourseAt(5, 2));
+        assertNull(model.getColorAt(2, 0));
+    }
+
+    @Test
+    void testFiresOneEventPerChangedDay() {
+        Course cpsc210 = course("CPSC210", "Tuesday", 9, 0, 10, 30);
+        cpsc210.setLabTime(new TimeBlock("Thursday", LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        timeTable.addCourse(cpsc210);
+        assertEquals(2, events.size());
+        assertEvent(events.get(0), 2, 4, 2);
+        assertEvent(events.get(1), 6, 7, 4);
+
+        events.clear();
+        cpsc210.setInstructor("Felix");
+        assertTrue(events.isEmpty());
+        cpsc210.setLabTime(new TimeBlock("Thursday", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertEvent(events.get(events.size() - 1), 4, 7, 4);
+        assertSame(cpsc210, model.getCourseAt(4, 4));
+        assertNull(model.getCourseAt(6, 4));
+    }
+
+    @Test
+    void testRemovingOneOfTwoOverlappingCourses() {
+        Course first = course("CPSC210", "Monday", 9, 0, 9, 20);
+        Course second = course("MATH200", "Monday", 9, 20, 10, 0);
+        timeTable.addCourse(first);
+        timeTable.addCourse(second);
+        assertSame(second, model.getCourseAt(2, 1));
+
+        timeTable.removeCourse(second);
+        assertSame(first, model.getCourseAt(2, 1));
+        assertEquals("CPSC210 (Lecture)", model.getValueAt(2, 1));
+        assertEquals(CoursePalette.colorOf("CPSC210"), model.getColorAt(2, 1));
+        assertNull(model.getCourseAt(3, 1));
+
+        timeTable.removeCourse(first);
+        assertNull(model.getCourseAt(2, 1));
+    }
+
+    @Test
+    void testSetGridAndTimeTable() {
+        timeTable.addCourse(course("CPSC210", "Saturday", 9, 0, 10, 0));
+        assertEquals(6, model.getColumnCount());
+        model.setGrid(model.getGrid().withWeekends(true));
+        assertEquals(8, model.getColumnCount());
+        assertEquals("CPSC210", model.getCourseAt(2, 6).getCourseCode());
+
+        TimeTable other = new TimeTable();
+        model.setTimeTable(other);
+        assertSame(other, model.getTimeTable());
+        assertNull(model.getCourseAt(2, 6));
+        timeTable.addCourse(course("MATH200", "Monday", 9, 0, 10, 0));
+        assertNull(model.getCourseAt(2, 1));
+    }
+
+    private static void assertEvent(TableModelEvent event, int firstRow, int lastRow, int column) {
+        assertEquals(firstRow, event.getFirstRow());
+        assertEquals(lastRow, event.getLastRow());
+        assertEquals(column, event.getColumn());
+    }
+
+    private static Course course(String code, String day, int startHour, int startMinute, int endHour,
+                                 int endMinute) {
+        Course course = new Course(code);
+        course.addLectureTime(new TimeBlock(day, LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute)));
+        return course;
+    }
+}